@@ -0,0 +1,82 @@
+package com.kutuphane.otomasyon.benchmark;
+
+import com.kutuphane.otomasyon.arama.KitapAramaIndeksi;
+import com.kutuphane.otomasyon.arama.OneriAgaci;
+import com.kutuphane.otomasyon.dto.AramaSonucu;
+import com.kutuphane.otomasyon.dto.Oneri;
+import com.kutuphane.otomasyon.model.Kitap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bellek içi arama indeksini (tam ve bulanık arama) ve otomatik tamamlama
+ * ağacını sabit tohumlu sentetik bir katalog üzerinde ölçer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AramaBenchmark {
+
+    private static final String[] KELIMELER = { "suç", "ceza", "kürk", "mantolu", "madonna", "tutunamayanlar",
+            "saatleri", "ayarlama", "enstitüsü", "çalıkuşu", "sefiller", "savaş", "barış", "yaban", "ince",
+            "memed", "masumiyet", "müzesi", "kar", "benim", "adım", "kırmızı", "şeker", "portakal", "yüzyıllık",
+            "yalnızlık", "simyacı", "dönüşüm", "serenad", "aşk" };
+    private static final String[] YAZARLAR = { "Dostoyevski", "Sabahattin Ali", "Oğuz Atay", "Tanpınar",
+            "Reşat Nuri", "Victor Hugo", "Tolstoy", "Yakup Kadri", "Yaşar Kemal", "Orhan Pamuk", "Vasconcelos",
+            "Marquez", "Coelho", "Kafka", "Zülfü Livaneli" };
+
+    @Param({ "10000", "100000" })
+    public int kitapSayisi;
+
+    private KitapAramaIndeksi indeks;
+    private OneriAgaci oneriAgaci;
+
+    @Setup
+    public void kur() {
+        Random rastgele = new Random(42);
+        indeks = new KitapAramaIndeksi();
+        oneriAgaci = new OneriAgaci();
+        for (int i = 0; i < kitapSayisi; i++) {
+            Kitap kitap = new Kitap();
+            kitap.setId((long) i);
+            kitap.setBaslik(KELIMELER[rastgele.nextInt(KELIMELER.length)] + " "
+                    + KELIMELER[rastgele.nextInt(KELIMELER.length)] + " " + i);
+            kitap.setYazar(YAZARLAR[rastgele.nextInt(YAZARLAR.length)]);
+            kitap.setIsbn("978-" + i);
+            indeks.ekle(kitap);
+            oneriAgaci.yukle(kitap);
+        }
+        oneriAgaci.yuklemeyiTamamla();
+    }
+
+    @Benchmark
+    public List<AramaSonucu> tamArama() {
+        return indeks.ara("kürk madonna", 20, false);
+    }
+
+    @Benchmark
+    public List<AramaSonucu> bulanikArama() {
+        return indeks.ara("dostoyevksi suc", 20, true); // Yazım hatalı sorgu
+    }
+
+    @Benchmark
+    public List<Oneri> onekOnerisi() {
+        return oneriAgaci.oner("ma", 5);
+    }
+}
@@ -0,0 +1,22 @@
+package com.kutuphane.otomasyon.benchmark;
+
+import com.kutuphane.otomasyon.OtomasyonApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Ölçümlerde kullanılan uygulama bağlamını "jmh" profiliyle (bellek içi H2,
+ * rastgele port) başlatan yardımcı sınıf.
+ */
+final class BenchmarkUygulamasi {
+
+    private BenchmarkUygulamasi() {
+    }
+
+    static ConfigurableApplicationContext baslat() {
+        return new SpringApplicationBuilder(OtomasyonApplication.class)
+                .profiles("jmh")
+                .logStartupInfo(false)
+                .run();
+    }
+}
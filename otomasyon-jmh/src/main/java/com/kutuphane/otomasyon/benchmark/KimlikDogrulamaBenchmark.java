@@ -0,0 +1,87 @@
+package com.kutuphane.otomasyon.benchmark;
+
+import com.kutuphane.otomasyon.dto.GirisIstegi;
+import com.kutuphane.otomasyon.guvenlik.OturumTokeniService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * İstek başına kimlik doğrulama maliyetini üç yolda ölçer:
+ * <ul>
+ * <li>httpBasicBcrypt: önbelleksiz HTTP Basic'in her istekte yaptığı bcrypt
+ * karşılaştırması,</li>
+ * <li>httpBasicOnbellekli: doğrulama önbelleği isabet ettiğinde HTTP Basic
+ * (kullanıcı arama + HMAC),</li>
+ * <li>bearerToken: imzalı oturum tokeninin doğrulanması (yalnızca HMAC).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KimlikDogrulamaBenchmark {
+
+    private static final String KULLANICI = "admin";
+    private static final String SIFRE = "123456";
+
+    private ConfigurableApplicationContext context;
+    private PasswordEncoder passwordEncoder;
+    private AuthenticationProvider authenticationProvider;
+    private OturumTokeniService oturumTokeniService;
+    private String sifreOzeti;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void kur() {
+        context = BenchmarkUygulamasi.baslat();
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+        authenticationProvider = context.getBean(AuthenticationProvider.class);
+        oturumTokeniService = context.getBean(OturumTokeniService.class);
+        sifreOzeti = passwordEncoder.encode(SIFRE);
+
+        GirisIstegi giris = new GirisIstegi();
+        giris.setKullaniciAdi(KULLANICI);
+        giris.setSifre(SIFRE);
+        token = oturumTokeniService.girisYap(giris).getToken(); // Doğrulama önbelleğini de doldurur
+    }
+
+    @TearDown(Level.Trial)
+    public void kapat() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean httpBasicBcrypt() {
+        return passwordEncoder.matches(SIFRE, sifreOzeti);
+    }
+
+    @Benchmark
+    public Authentication httpBasicOnbellekli() {
+        return authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(KULLANICI, SIFRE));
+    }
+
+    @Benchmark
+    public Authentication bearerToken() {
+        return oturumTokeniService.dogrula(token);
+    }
+}
@@ -0,0 +1,133 @@
+package com.kutuphane.otomasyon.benchmark;
+
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Kullanici;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import com.kutuphane.otomasyon.service.KitapService;
+import com.kutuphane.otomasyon.service.KullaniciService;
+import com.kutuphane.otomasyon.service.OduncService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ödünç verme/iade ve masadaki okuma yollarını (ISBN çözümleme, kullanıcı
+ * bulma) gerçek servisler ve bellek içi H2 üzerinde ölçer.
+ * Çok iş parçacıklı ölçüm için: -t 8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OduncBenchmark {
+
+    private static final int KULLANICI_SAYISI = 256;
+
+    @Param({ "1000" })
+    public int kitapSayisi;
+
+    private ConfigurableApplicationContext context;
+    private OduncService oduncService;
+    private KitapService kitapService;
+    private KullaniciService kullaniciService;
+    private final List<Long> kitapIdleri = new ArrayList<>();
+    private final List<String> isbnler = new ArrayList<>();
+    private final List<Long> kullaniciIdleri = new ArrayList<>();
+    private final AtomicInteger siradakiKullanici = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void kur() {
+        context = BenchmarkUygulamasi.baslat();
+        oduncService = context.getBean(OduncService.class);
+        kitapService = context.getBean(KitapService.class);
+        kullaniciService = context.getBean(KullaniciService.class);
+
+        List<Kitap> kitaplar = new ArrayList<>(kitapSayisi);
+        for (int i = 0; i < kitapSayisi; i++) {
+            Kitap kitap = new Kitap();
+            kitap.setBaslik("Kitap " + i);
+            kitap.setYazar("Yazar " + (i % 100));
+            kitap.setIsbn("JMH-" + i);
+            kitaplar.add(kitap);
+        }
+        for (Kitap kitap : context.getBean(KitapRepository.class).saveAll(kitaplar)) {
+            kitapIdleri.add(kitap.getId());
+            isbnler.add(kitap.getIsbn());
+        }
+
+        List<Kullanici> kullanicilar = new ArrayList<>(KULLANICI_SAYISI);
+        for (int i = 0; i < KULLANICI_SAYISI; i++) {
+            kullanicilar.add(new Personel("Personel " + i, "jmh" + i + "@kutuphane.com", "JMH-" + i, "Ölçüm"));
+        }
+        for (Kullanici kullanici : context.getBean(KullaniciRepository.class).saveAll(kullanicilar)) {
+            kullaniciIdleri.add(kullanici.getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void kapat() {
+        context.close();
+    }
+
+    /**
+     * Her iş parçacığı kendi kullanıcısıyla çalışır; ölçülen, limit değil
+     * kitap üzerindeki çakışmadır.
+     */
+    @State(Scope.Thread)
+    public static class IsParcacigi {
+        Long kullaniciId;
+        SplittableRandom rastgele;
+
+        @Setup(Level.Trial)
+        public void kur(OduncBenchmark benchmark) {
+            int sira = benchmark.siradakiKullanici.getAndIncrement();
+            kullaniciId = benchmark.kullaniciIdleri.get(sira % KULLANICI_SAYISI);
+            rastgele = new SplittableRandom(sira);
+        }
+    }
+
+    @Benchmark
+    public Odunc oduncVerIadeAl(IsParcacigi is) {
+        Long kitapId = kitapIdleri.get(is.rastgele.nextInt(kitapIdleri.size()));
+        try {
+            Odunc odunc = oduncService.kitapOduncVer(is.kullaniciId, kitapId);
+            return oduncService.kitapIadeAl(odunc.getId());
+        } catch (IsKuraliException e) {
+            return null; // Kitap başka bir iş parçacığında (çok iş parçacıklı ölçümde beklenir)
+        }
+    }
+
+    @Benchmark
+    public Optional<Kitap> isbnCozumle(IsParcacigi is) {
+        return kitapService.kitapBulByIsbn(isbnler.get(is.rastgele.nextInt(isbnler.size())));
+    }
+
+    @Benchmark
+    public Optional<Kullanici> kullaniciBul(IsParcacigi is) {
+        return kullaniciService.kullaniciBulById(kullaniciIdleri.get(is.rastgele.nextInt(KULLANICI_SAYISI)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.kutuphane.otomasyon.benchmark;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Kullanici;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.model.Uye;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/kitaplar ve GET /api/kullanicilar yanıtlarının JSON'a
+ * dönüştürülmesini ölçer. Kullanıcı listesi, yanıttaki gibi List&lt;Kullanici&gt;
+ * olarak yazılır; elemanlar Uye ve Personel karışıktır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerilestirmeBenchmark {
+
+    @Param({ "100", "10000" })
+    public int boyut;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter kullaniciYazici;
+    private List<Kitap> kitaplar;
+    private List<Kullanici> kullanicilar;
+
+    @Setup
+    public void kur() {
+        objectMapper = JsonMapper.builder().build();
+        kullaniciYazici = objectMapper.writerFor(new TypeReference<List<Kullanici>>() {
+        });
+
+        kitaplar = new ArrayList<>(boyut);
+        kullanicilar = new ArrayList<>(boyut);
+        for (int i = 0; i < boyut; i++) {
+            Kitap kitap = new Kitap();
+            kitap.setId((long) i);
+            kitap.setBaslik("Kürk Mantolu Madonna " + i);
+            kitap.setYazar("Sabahattin Ali");
+            kitap.setIsbn("978-975-" + i);
+            kitap.setMevcut(i % 3 != 0);
+            kitaplar.add(kitap);
+
+            Kullanici kullanici = i % 2 == 0
+                    ? new Uye("Üye " + i, "uye" + i + "@mail.com", "U" + i)
+                    : new Personel("Personel " + i, "p" + i + "@kutuphane.com", "S" + i, "Arşiv");
+            kullanici.setId((long) i);
+            kullanicilar.add(kullanici);
+        }
+    }
+
+    @Benchmark
+    public byte[] kitapListesi() {
+        return objectMapper.writeValueAsBytes(kitaplar);
+    }
+
+    @Benchmark
+    public byte[] kullaniciListesi() {
+        return kullaniciYazici.writeValueAsBytes(kullanicilar);
+    }
+}
@@ -0,0 +1,197 @@
+package com.kutuphane.otomasyon.akis;
+
+import com.kutuphane.otomasyon.dto.StokDegisikligi;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stok akışına bağlı tek bir istemci. Gönderilmeyi bekleyen değişiklikleri
+ * kitap ID'sine göre birleştirerek sınırlı bir tamponda tutar; tampon taşarsa
+ * bekleyenler atılır ve istemciye listeyi yeniden çekmesini söyleyen tek bir
+ * "yenile" olayı gönderilir.
+ *
+ * Yayına yazma (ekle) çağıranı hiç bekletmez. Gönderim StokAkisi'nin gönderici
+ * thread'lerinde, abone başına aynı anda en fazla bir thread tarafından
+ * yapılır (bkz. planla/gonder). Emitter'a yazma ise yazıcı thread'de yapılır ve
+ * gönderici en fazla tıkalı eşiği kadar bekler: istemci okumuyorsa (TCP
+ * tamponu dolu) bloklanan yazma, konteyner kendi yazma zaman aşımıyla
+ * kesene kadar yazıcı thread'de kalır; gönderici serbest kalır ve abone
+ * tahliye edilir. Konteyner bloklanmış bir yazmayı başka bir thread'den
+ * kesmeye izin vermez (completeWithError da aynı emitter kilidini bekler).
+ */
+final class StokAbonesi {
+
+    /** Bir gönderim turunun sonucu. */
+    enum Sonuc {
+        /** Bekleyen her şey gönderildi; abone bağlı. */
+        GONDERILDI,
+        /** Bağlantı koptu veya abone kapatıldı. */
+        KAPANDI,
+        /** Yazma eşik içinde bitmedi; abone terk edildi. */
+        TIKANDI
+    }
+
+    private static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    private final SseEmitter emitter;
+    private final int tamponBoyutu;
+    private final Executor yazici;
+    private final long tikaliEsigiNanos;
+
+    // Aşağıdaki alanlar "this" kilidiyle korunur.
+    private final Map<Long, StokDegisikligi> bekleyenler = new LinkedHashMap<>(); // Kitap ID -> son durum
+    private boolean yenilemeGerekli; // Tampon taştı; ayrıntı yerine "yenile" gönderilecek
+    private boolean nabizBekliyor;
+    private boolean gonderimPlanli; // Bir gönderici thread bu abone için çalışıyor veya kuyrukta
+    private boolean kapali;
+    private CompletableFuture<Void> terkEdilenYazma; // TIKANDI sonrası hâlâ süren yazma
+
+    StokAbonesi(SseEmitter emitter, int tamponBoyutu, Executor yazici, long tikaliEsigiNanos) {
+        this.emitter = emitter;
+        this.tamponBoyutu = tamponBoyutu;
+        this.yazici = yazici;
+        this.tikaliEsigiNanos = tikaliEsigiNanos;
+    }
+
+    /**
+     * Değişiklikleri tampona ekler; aynı kitabın bekleyen değişikliğinin üzerine
+     * yazılır.
+     */
+    synchronized void ekle(List<StokDegisikligi> olaylar) {
+        if (kapali || yenilemeGerekli) {
+            return; // Kalanlar da "yenile" ile kapsanır
+        }
+        for (StokDegisikligi olay : olaylar) {
+            bekleyenler.put(olay.getKitapId(), olay);
+            if (bekleyenler.size() > tamponBoyutu) {
+                bekleyenler.clear();
+                yenilemeGerekli = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bağlantıyı canlı tutmak için bir nabız (SSE yorumu) ister.
+     */
+    synchronized void nabizIste() {
+        nabizBekliyor = true;
+    }
+
+    /**
+     * Aboneyi kapatılmak üzere işaretler. Emitter'ı gönderici thread kapatır;
+     * böylece süren bir yazma çağıranı da bekletmez.
+     */
+    synchronized void kapat() {
+        kapali = true;
+        bekleyenler.clear();
+    }
+
+    /**
+     * Yapılacak iş varsa ve bu abone için gönderim planlı değilse planlı olarak
+     * işaretler. Tıkanıp terk edilen abone bir daha planlanmaz.
+     *
+     * @return true ise çağıran gonder()'i bir gönderici thread'de çalıştırmalıdır.
+     */
+    synchronized boolean planla() {
+        if (gonderimPlanli || (!kapali && !yenilemeGerekli && bekleyenler.isEmpty() && !nabizBekliyor)) {
+            return false;
+        }
+        gonderimPlanli = true;
+        return true;
+    }
+
+    /**
+     * Bekleyen her şeyi gönderir; gönderim sürerken gelenler de aynı turda
+     * gönderilir. Yalnızca planla() true döndükten sonra çağrılır.
+     */
+    Sonuc gonder() {
+        while (true) {
+            List<SseEmitter.SseEventBuilder> olaylar = new ArrayList<>(2);
+            synchronized (this) {
+                if (kapali) {
+                    break;
+                }
+                if (!yenilemeGerekli && bekleyenler.isEmpty() && !nabizBekliyor) {
+                    gonderimPlanli = false;
+                    return Sonuc.GONDERILDI;
+                }
+                if (yenilemeGerekli) {
+                    olaylar.add(SseEmitter.event().name("yenile").data("{}", JSON));
+                }
+                if (!bekleyenler.isEmpty()) {
+                    olaylar.add(SseEmitter.event().name("stok").data(new ArrayList<>(bekleyenler.values()), JSON));
+                } else if (nabizBekliyor && !yenilemeGerekli) {
+                    olaylar.add(SseEmitter.event().comment("nabiz"));
+                }
+                bekleyenler.clear();
+                yenilemeGerekli = false;
+                nabizBekliyor = false;
+            }
+            CompletableFuture<Void> yazma;
+            try {
+                yazma = CompletableFuture.runAsync(() -> yaz(olaylar), yazici);
+            } catch (RejectedExecutionException e) {
+                // Yazıcı thread sınırı dolu (abone sınırına yarışla aşılmış) veya
+                // kapanış sürüyor; bu abone için süren bir yazma yok.
+                kapat();
+                emitter.complete();
+                return Sonuc.KAPANDI;
+            }
+            try {
+                yazma.get(tikaliEsigiNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Yazma yazıcı thread'de sürer; konteyner onu kestiğinde (veya
+                // istemci yeniden okumaya başladığında) bağlantı kapatılır.
+                kapat();
+                synchronized (this) {
+                    terkEdilenYazma = yazma;
+                }
+                yazma.whenComplete((sonuc, hata) -> emitter.complete());
+                return Sonuc.TIKANDI; // gonderimPlanli true kalır
+            } catch (ExecutionException e) {
+                // İstemci bağlantıyı kapattı; konteyner emitter'ın onError/onCompletion
+                // geri çağrılarını tetikler.
+                kapat();
+                return Sonuc.KAPANDI;
+            } catch (InterruptedException e) { // Kapanış sırasında
+                Thread.currentThread().interrupt();
+                kapat();
+                yazma.whenComplete((sonuc, hata) -> emitter.complete());
+                return Sonuc.KAPANDI;
+            }
+        }
+        emitter.complete();
+        return Sonuc.KAPANDI;
+    }
+
+    /**
+     * gonder() TIKANDI döndükten sonra, hâlâ yazıcı thread'de süren yazma.
+     */
+    synchronized CompletableFuture<Void> terkEdilenYazma() {
+        return terkEdilenYazma;
+    }
+
+    private void yaz(List<SseEmitter.SseEventBuilder> olaylar) {
+        try {
+            for (SseEmitter.SseEventBuilder olay : olaylar) {
+                emitter.send(olay);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
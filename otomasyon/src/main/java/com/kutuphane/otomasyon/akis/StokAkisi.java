@@ -0,0 +1,226 @@
+package com.kutuphane.otomasyon.akis;
+
+import com.kutuphane.otomasyon.dto.StokDegisikligi;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kitapların raf durumu değişikliklerini Server-Sent Events ile bağlı
+ * istemcilere (kiosklar, ön yüz) ileten süreç içi olay yolu.
+ *
+ * KitapService değişiklikleri commit sonrasında yayinla() ile bırakır; bu
+ * çağrı yalnızca her abonenin tamponuna yazar ve hiçbir zaman ağ beklemez.
+ * Toplu içe aktarmayla eklenen kitaplar yayınlanmaz; katalog sürümünü (ETag)
+ * değiştirdikleri için listeyi yeniden çeken istemci onları görür.
+ * Gönderimi sabit sayıda gönderici thread yapar; bağlı istemciler boştayken
+ * thread tutmaz (SseEmitter asenkron istektir). Her abonenin tamponu sınırlı ve
+ * kitap bazında birleştirilmiştir (bkz. StokAbonesi). Her yazma tıkalı eşiğiyle
+ * sınırlıdır: eşikte bitmeyen yazma yazıcı thread'e bırakılır, istemci tahliye
+ * edilir ve gönderici diğer abonelere devam eder. Bırakılan yazmalar
+ * konteynerin yazma zaman aşımına (server.tomcat.connection-timeout) kadar
+ * birer yazıcı thread tutar ve bitene kadar abone sınırından düşülür; böylece
+ * yazıcı thread sayısı en fazla abone sayısı kadar olur.
+ *
+ * İstemci her bağlantıda (yeniden bağlanma dahil) listeyi GET /api/kitaplar
+ * ile (ETag ile ucuzca) yeniden çekmeli, ardından "stok" olaylarını
+ * uygulamalıdır; "yenile" olayı aradaki değişikliklerin atlandığını bildirir.
+ * Olaylar yalnızca bu uygulama örneğinde yapılan değişiklikleri taşır.
+ */
+@Component
+public class StokAkisi {
+
+    private static final Logger log = LoggerFactory.getLogger(StokAkisi.class);
+
+    private static final long YENIDEN_BAGLANMA_MS = 3000; // EventSource'a önerilen bekleme
+
+    private final Set<StokAbonesi> aboneler = ConcurrentHashMap.newKeySet();
+    private final int tamponBoyutu;
+    private final int enFazlaAbone;
+    private final Duration zamanAsimi;
+    private final long tikaliEsigiNanos;
+    private final ExecutorService gondericiler;
+    // Emitter'a yazan thread'ler; tıkanan yazmalar burada kalır. En fazla
+    // enFazlaAbone thread: her abonenin (veya terk edilen yazmanın) en fazla bir
+    // yazması sürer.
+    private final ThreadPoolExecutor yazicilar;
+    private final AtomicInteger terkEdilenYazmalar = new AtomicInteger(); // Tahliye sonrası hâlâ süren yazmalar
+    private final ScheduledExecutorService nabizZamanlayici;
+    private final Counter tahliyeSayaci;
+
+    public StokAkisi(MeterRegistry meterRegistry,
+            @Value("${kutuphane.stok-akisi.tampon-boyutu:256}") int tamponBoyutu,
+            @Value("${kutuphane.stok-akisi.en-fazla-abone:5000}") int enFazlaAbone,
+            @Value("${kutuphane.stok-akisi.zaman-asimi:30m}") Duration zamanAsimi,
+            @Value("${kutuphane.stok-akisi.nabiz-araligi:20s}") Duration nabizAraligi,
+            @Value("${kutuphane.stok-akisi.tikali-esigi:10s}") Duration tikaliEsigi,
+            @Value("${kutuphane.stok-akisi.gonderici-sayisi:4}") int gondericiSayisi) {
+        this.tamponBoyutu = tamponBoyutu;
+        this.enFazlaAbone = enFazlaAbone;
+        this.zamanAsimi = zamanAsimi;
+        this.tikaliEsigiNanos = tikaliEsigi.toNanos();
+        this.gondericiler = Executors.newFixedThreadPool(gondericiSayisi, threadUretici("stok-akisi-"));
+        this.yazicilar = new ThreadPoolExecutor(0, enFazlaAbone, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                threadUretici("stok-akisi-yazici-"));
+        this.nabizZamanlayici = Executors.newSingleThreadScheduledExecutor(threadUretici("stok-akisi-nabiz-"));
+        nabizZamanlayici.scheduleWithFixedDelay(this::nabizGonder, nabizAraligi.toMillis(),
+                nabizAraligi.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("kutuphane.stok.akisi.aboneler", aboneler, Set::size)
+                .description("Stok akışına bağlı istemci sayısı")
+                .register(meterRegistry);
+        Gauge.builder("kutuphane.stok.akisi.terk.edilen.yazmalar", terkEdilenYazmalar, AtomicInteger::get)
+                .description("Tahliye edilen istemcilerin hâlâ yazıcı thread tutan yazma sayısı")
+                .register(meterRegistry);
+        this.tahliyeSayaci = Counter.builder("kutuphane.stok.akisi.tahliye")
+                .description("Yazması tıkandığı için bağlantısı kesilen istemci sayısı")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Yeni bir istemciyi akışa bağlar.
+     *
+     * @return İstemciye döndürülecek emitter; abone sınırı (terk edilen
+     *         yazmalar dahil) doluysa boş.
+     */
+    public Optional<SseEmitter> aboneOl() {
+        if (aboneler.size() + terkEdilenYazmalar.get() >= enFazlaAbone) {
+            return Optional.empty();
+        }
+        return Optional.of(aboneOl(new SseEmitter(zamanAsimi.toMillis())));
+    }
+
+    // Verilen emitter'ı akışa bağlar (testler kendi emitter'larını verir).
+    SseEmitter aboneOl(SseEmitter emitter) {
+        StokAbonesi abone = new StokAbonesi(emitter, tamponBoyutu, yazicilar, tikaliEsigiNanos);
+        emitter.onCompletion(() -> ayril(abone));
+        emitter.onError(hata -> ayril(abone));
+        emitter.onTimeout(() -> {
+            ayril(abone);
+            emitter.complete(); // İstemci yeniden bağlanır
+        });
+        try {
+            // Yanıt başlıklarını hemen gönderir ve yeniden bağlanma süresini bildirir.
+            emitter.send(SseEmitter.event().comment("baglandi").reconnectTime(YENIDEN_BAGLANMA_MS));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        aboneler.add(abone);
+        return emitter;
+    }
+
+    /**
+     * Değişiklikleri tüm abonelere iletir. Değişiklik commit edildikten sonra
+     * çağrılmalıdır (bkz. KitapService.stokDegisti); geri alınacak bir
+     * değişiklik istemcilere ulaşmamalıdır.
+     *
+     * @param olaylar Değişiklikler (boşsa hiçbir şey yapılmaz).
+     */
+    public void yayinla(List<StokDegisikligi> olaylar) {
+        if (olaylar.isEmpty()) {
+            return;
+        }
+        for (StokAbonesi abone : aboneler) {
+            abone.ekle(olaylar);
+            planla(abone);
+        }
+    }
+
+    /**
+     * Bağlı istemci sayısını döndürür.
+     */
+    public int aboneSayisi() {
+        return aboneler.size();
+    }
+
+    @PreDestroy
+    void kapat() {
+        nabizZamanlayici.shutdownNow();
+        for (StokAbonesi abone : aboneler) {
+            if (aboneler.remove(abone)) {
+                abone.kapat();
+                planla(abone); // Emitter gönderici thread'de kapatılır
+            }
+        }
+        gondericiler.shutdown();
+        yazicilar.shutdownNow(); // Tıkalı yazmalar beklenmez
+    }
+
+    // --- Yardımcı Metotlar ---
+
+    private void nabizGonder() {
+        try {
+            for (StokAbonesi abone : aboneler) {
+                abone.nabizIste();
+                planla(abone);
+            }
+        } catch (RuntimeException e) { // Zamanlayıcı bir istisnadan sonra durur
+            log.warn("Stok akışı nabzı gönderilemedi", e);
+        }
+    }
+
+    private void planla(StokAbonesi abone) {
+        if (abone.planla()) {
+            try {
+                gondericiler.execute(() -> {
+                    switch (abone.gonder()) {
+                        case KAPANDI -> ayril(abone);
+                        case TIKANDI -> tahliyeEt(abone);
+                        default -> {
+                        }
+                    }
+                });
+            } catch (RuntimeException e) { // Kapanış sırasında (RejectedExecutionException)
+                ayril(abone);
+            }
+        }
+    }
+
+    private void tahliyeEt(StokAbonesi abone) {
+        // Yazma, konteyner onu kesene kadar bir yazıcı thread tutar; o zamana
+        // kadar abone sınırından düşülür.
+        terkEdilenYazmalar.incrementAndGet();
+        abone.terkEdilenYazma().whenComplete((sonuc, hata) -> terkEdilenYazmalar.decrementAndGet());
+        if (aboneler.remove(abone)) {
+            tahliyeSayaci.increment();
+            log.debug("Stok akışı abonesi yazması tıkandığı için tahliye edildi");
+        }
+    }
+
+    private void ayril(StokAbonesi abone) {
+        if (aboneler.remove(abone)) {
+            abone.kapat();
+        }
+    }
+
+    private static ThreadFactory threadUretici(String onek) {
+        AtomicInteger sayac = new AtomicInteger();
+        return gorev -> {
+            Thread thread = new Thread(gorev, onek + sayac.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.kutuphane.otomasyon.arama;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Terimler üzerinde Levenshtein mesafesiyle yaklaşık (bulanık) eşleşme için
+ * BK-ağacı (Burkhard-Keller tree).
+ * Üçgen eşitsizliği sayesinde sorgu sırasında yalnızca |d - mesafe| <= tolerans
+ * olan dallara inilir; terim sözlüğünün tamamıyla karşılaştırma yapılmaz.
+ * 
+ * Bu sınıf thread-safe değildir; eşzamanlılık sahibi olan sınıf (ör.
+ * KitapAramaIndeksi) tarafından sağlanır.
+ */
+class BkAgaci {
+
+    /**
+     * Sorgu sonucunda bulunan terim ve sorguya olan mesafesi.
+     */
+    record Eslesme(String terim, int mesafe) {
+    }
+
+    private static final class Dugum {
+        final String terim;
+        int[] mesafeler = new int[0]; // Çocuğa giden kenarın mesafe değeri
+        Dugum[] cocuklar = new Dugum[0];
+
+        Dugum(String terim) {
+            this.terim = terim;
+        }
+
+        Dugum cocuk(int mesafe) {
+            for (int i = 0; i < mesafeler.length; i++) {
+                if (mesafeler[i] == mesafe) {
+                    return cocuklar[i];
+                }
+            }
+            return null;
+        }
+
+        void cocukEkle(int mesafe, Dugum cocuk) {
+            mesafeler = Arrays.copyOf(mesafeler, mesafeler.length + 1);
+            cocuklar = Arrays.copyOf(cocuklar, cocuklar.length + 1);
+            mesafeler[mesafeler.length - 1] = mesafe;
+            cocuklar[cocuklar.length - 1] = cocuk;
+        }
+    }
+
+    private Dugum kok;
+    private int boyut; // Ağaçtaki terim sayısı
+
+    /**
+     * Terimi ağaca ekler. Terim zaten varsa hiçbir şey yapılmaz.
+     */
+    void ekle(String terim) {
+        if (kok == null) {
+            kok = new Dugum(terim);
+            boyut++;
+            return;
+        }
+        Dugum d = kok;
+        while (true) {
+            int mesafe = levenshtein(terim, d.terim, Integer.MAX_VALUE);
+            if (mesafe == 0) {
+                return;
+            }
+            Dugum cocuk = d.cocuk(mesafe);
+            if (cocuk == null) {
+                d.cocukEkle(mesafe, new Dugum(terim));
+                boyut++;
+                return;
+            }
+            d = cocuk;
+        }
+    }
+
+    /**
+     * Sorguya en fazla 'tolerans' mesafede olan tüm terimleri bulur.
+     */
+    List<Eslesme> ara(String sorgu, int tolerans) {
+        List<Eslesme> sonuc = new ArrayList<>();
+        if (kok == null) {
+            return sonuc;
+        }
+        Deque<Dugum> yigin = new ArrayDeque<>();
+        yigin.push(kok);
+        while (!yigin.isEmpty()) {
+            Dugum d = yigin.pop();
+            int mesafe = levenshtein(sorgu, d.terim, Integer.MAX_VALUE);
+            if (mesafe <= tolerans) {
+                sonuc.add(new Eslesme(d.terim, mesafe));
+            }
+            // Üçgen eşitsizliği: sadece [mesafe - tolerans, mesafe + tolerans]
+            // aralığındaki kenarlar aday içerebilir.
+            for (int i = 0; i < d.mesafeler.length; i++) {
+                if (Math.abs(d.mesafeler[i] - mesafe) <= tolerans) {
+                    yigin.push(d.cocuklar[i]);
+                }
+            }
+        }
+        return sonuc;
+    }
+
+    int boyut() {
+        return boyut;
+    }
+
+    /**
+     * İki terim arasındaki Levenshtein (ekleme/silme/değiştirme) mesafesi.
+     * Sonuç 'ustSinir'ı geçeceği kesinleşirse erken çıkılır.
+     */
+    static int levenshtein(String a, String b, int ustSinir) {
+        if (Math.abs(a.length() - b.length()) > ustSinir) {
+            return ustSinir + 1;
+        }
+        int[] onceki = new int[b.length() + 1];
+        int[] simdiki = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            onceki[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            simdiki[0] = i;
+            int satirEnKucuk = simdiki[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int maliyet = ca == b.charAt(j - 1) ? 0 : 1;
+                simdiki[j] = Math.min(Math.min(simdiki[j - 1] + 1, onceki[j] + 1), onceki[j - 1] + maliyet);
+                satirEnKucuk = Math.min(satirEnKucuk, simdiki[j]);
+            }
+            if (satirEnKucuk > ustSinir) {
+                return ustSinir + 1;
+            }
+            int[] gecici = onceki;
+            onceki = simdiki;
+            simdiki = gecici;
+        }
+        return onceki[b.length()];
+    }
+}
@@ -0,0 +1,68 @@
+package com.kutuphane.otomasyon.arama;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Uygulama açılışında kataloğu veritabanından tek geçişte okuyup bellek içi
+ * arama yapılarını (ters indeks ve öneri ağacı) dolduran bileşen.
+ */
+@Component
+public class KatalogIndeksYukleyici {
+
+    private static final Logger log = LoggerFactory.getLogger(KatalogIndeksYukleyici.class);
+
+    private static final int TEMIZLEME_ARALIGI = 1000; // Persistence context temizleme aralığı
+
+    private final KitapRepository kitapRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate saltOkunurTransaction;
+    private final KitapAramaIndeksi kitapAramaIndeksi;
+    private final OneriAgaci oneriAgaci;
+
+    public KatalogIndeksYukleyici(KitapRepository kitapRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, KitapAramaIndeksi kitapAramaIndeksi,
+            OneriAgaci oneriAgaci) {
+        this.kitapRepository = kitapRepository;
+        this.entityManager = entityManager;
+        this.saltOkunurTransaction = new TransactionTemplate(transactionManager);
+        this.saltOkunurTransaction.setReadOnly(true);
+        this.kitapAramaIndeksi = kitapAramaIndeksi;
+        this.oneriAgaci = oneriAgaci;
+    }
+
+    /**
+     * Uygulama hazır olduğunda tüm kataloğu akış olarak okur ve indeksleri
+     * doldurur.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void yukle() {
+        long baslangic = System.nanoTime();
+        Long sayi = saltOkunurTransaction.execute(durum -> {
+            long sayac = 0;
+            try (Stream<Kitap> akis = kitapRepository.streamAll()) {
+                for (Kitap kitap : (Iterable<Kitap>) akis::iterator) {
+                    kitapAramaIndeksi.ekle(kitap);
+                    oneriAgaci.yukle(kitap);
+                    if (++sayac % TEMIZLEME_ARALIGI == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return sayac;
+        });
+        oneriAgaci.yuklemeyiTamamla();
+        log.info("Arama indeksleri yüklendi. Kitap sayısı: {}, terim sayısı: {}, süre: {} ms", sayi,
+                kitapAramaIndeksi.terimSayisi(), (System.nanoTime() - baslangic) / 1_000_000);
+    }
+}
@@ -0,0 +1,230 @@
+package com.kutuphane.otomasyon.arama;
+
+import com.kutuphane.otomasyon.dto.AramaSonucu;
+import com.kutuphane.otomasyon.model.Kitap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kitap başlık ve yazar alanları üzerinde bellek içi ters indeks (inverted
+ * index). Her terim için o terimi içeren kitapların listesi (posting) tutulur;
+ * böylece arama, SQL Server üzerinde LIKE '%x%' tablo taraması yapmadan
+ * mikro saniyeler içinde cevaplanır.
+ * 
+ * Bulanık (yazım hatasına toleranslı) arama için terim sözlüğü ayrıca bir
+ * BK-ağacında tutulur; böylece hatalı yazılmış bir terime yakın terimler tüm
+ * sözlük taranmadan bulunur.
+ * 
+ * İndeks uygulama açılışında KatalogIndeksYukleyici tarafından doldurulur,
+ * sonrasında KitapService üzerinden yapılan ekleme/silme işlemleriyle artımlı
+ * olarak güncellenir.
+ */
+@Component
+public class KitapAramaIndeksi {
+
+    private static final int BASLIK_AGIRLIGI = 2; // Başlıkta geçen terim, yazarda geçenden daha değerlidir
+    private static final int YAZAR_AGIRLIGI = 1;
+
+    /**
+     * İndekste tutulan, arama sonucu üretmeye yetecek kitap özeti.
+     */
+    private record KitapOzeti(String baslik, String yazar, int terimSayisi) {
+    }
+
+    // terim -> (kitapId -> ağırlık)
+    private final Map<String, Map<Long, Integer>> postingler = new HashMap<>();
+    // kitapId -> özet
+    private final Map<Long, KitapOzeti> kitaplar = new HashMap<>();
+    // Bulanık arama için terim sözlüğü. Silinen terimler ağaçtan hemen
+    // çıkarılmaz; sorguda postingler üzerinden elenir ve ağaç gerektiğinde
+    // yeniden kurulur.
+    private BkAgaci terimAgaci = new BkAgaci();
+    // Okumalar paralel, yazmalar tekil çalışır.
+    private final ReadWriteLock kilit = new ReentrantReadWriteLock();
+
+    /**
+     * Kitabı indekse ekler. Kitap zaten indeksteyse önce eski hali çıkarılır
+     * (güncelleme).
+     * 
+     * @param kitap ID'si atanmış (kaydedilmiş) kitap.
+     */
+    public void ekle(Kitap kitap) {
+        if (kitap == null || kitap.getId() == null) {
+            return;
+        }
+        List<String> baslikTerimleri = TurkceMetinIsleyici.parcala(kitap.getBaslik());
+        List<String> yazarTerimleri = TurkceMetinIsleyici.parcala(kitap.getYazar());
+
+        kilit.writeLock().lock();
+        try {
+            cikar(kitap.getId());
+            for (String terim : baslikTerimleri) {
+                posting(terim).merge(kitap.getId(), BASLIK_AGIRLIGI, Integer::sum);
+            }
+            for (String terim : yazarTerimleri) {
+                posting(terim).merge(kitap.getId(), YAZAR_AGIRLIGI, Integer::sum);
+            }
+            kitaplar.put(kitap.getId(), new KitapOzeti(kitap.getBaslik(), kitap.getYazar(),
+                    baslikTerimleri.size() + yazarTerimleri.size()));
+        } finally {
+            kilit.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kitabı indeksten çıkarır.
+     * 
+     * @param kitapId Çıkarılacak kitabın ID'si.
+     */
+    public void sil(Long kitapId) {
+        kilit.writeLock().lock();
+        try {
+            cikar(kitapId);
+        } finally {
+            kilit.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgudaki terimleri içeren kitapları alaka puanına göre sıralı döndürür.
+     * Puan, terimin nadirliği (IDF) ile alan ağırlığının çarpımlarının
+     * toplamıdır; kısa kayıtlar hafifçe öne çıkarılır.
+     * 
+     * @param sorgu Kullanıcının yazdığı arama metni.
+     * @param limit Dönecek en fazla sonuç sayısı.
+     * @return Alaka sırasına göre sonuç listesi.
+     */
+    public List<AramaSonucu> ara(String sorgu, int limit) {
+        return ara(sorgu, limit, false);
+    }
+
+    /**
+     * Sorgudaki terimleri içeren kitapları alaka puanına göre sıralı döndürür.
+     * Bulanık modda her terim için Levenshtein mesafesi 1-2 içindeki terimler de
+     * eşleşir (kısa terimlerde tolerans düşüktür); uzak eşleşmelerin puanı
+     * mesafeyle orantılı olarak düşürülür.
+     * 
+     * @param sorgu   Kullanıcının yazdığı arama metni.
+     * @param limit   Dönecek en fazla sonuç sayısı.
+     * @param bulanik Yazım hatalarına toleranslı arama yapılsın mı?
+     * @return Alaka sırasına göre sonuç listesi.
+     */
+    public List<AramaSonucu> ara(String sorgu, int limit, boolean bulanik) {
+        // Aynı terim sorguda iki kez geçse de bir kez sayılır.
+        Set<String> terimler = new LinkedHashSet<>(TurkceMetinIsleyici.parcala(sorgu));
+        if (terimler.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        kilit.readLock().lock();
+        try {
+            Map<Long, Double> puanlar = new HashMap<>();
+            for (String terim : terimler) {
+                int tolerans = bulanik ? tolerans(terim) : 0;
+                if (tolerans == 0) {
+                    puanla(terim, 1.0, puanlar);
+                    continue;
+                }
+                for (BkAgaci.Eslesme eslesme : terimAgaci.ara(terim, tolerans)) {
+                    puanla(eslesme.terim(), 1.0 / (1 + eslesme.mesafe()), puanlar);
+                }
+            }
+            return sirala(puanlar, limit);
+        } finally {
+            kilit.readLock().unlock();
+        }
+    }
+
+    /**
+     * İndeksteki farklı terim sayısını döndürür.
+     */
+    public int terimSayisi() {
+        kilit.readLock().lock();
+        try {
+            return postingler.size();
+        } finally {
+            kilit.readLock().unlock();
+        }
+    }
+
+    // --- Yardımcı Metotlar (çağıran kilidi tutmalıdır) ---
+
+    // Terimin posting listesini döndürür; terim yeniyse oluşturup sözlüğe ekler.
+    private Map<Long, Integer> posting(String terim) {
+        Map<Long, Integer> posting = postingler.get(terim);
+        if (posting == null) {
+            posting = new HashMap<>();
+            postingler.put(terim, posting);
+            terimAgaci.ekle(terim);
+        }
+        return posting;
+    }
+
+    // Terim uzunluğuna göre izin verilen yazım hatası sayısı: kısa terimlerde
+    // tolerans, alakasız eşleşmeleri önlemek için düşük tutulur.
+    private static int tolerans(String terim) {
+        if (terim.length() <= 3) {
+            return 0;
+        }
+        return terim.length() <= 7 ? 1 : 2;
+    }
+
+    // Tek bir terimin posting listesindeki kitaplara puan ekler.
+    private void puanla(String terim, double carpan, Map<Long, Double> puanlar) {
+        Map<Long, Integer> posting = postingler.get(terim);
+        if (posting == null) {
+            return;
+        }
+        double idf = Math.log(1.0 + (double) kitaplar.size() / posting.size());
+        for (Map.Entry<Long, Integer> giris : posting.entrySet()) {
+            puanlar.merge(giris.getKey(), carpan * idf * giris.getValue(), Double::sum);
+        }
+    }
+
+    // Puanlanmış kitapları azalan puana göre sıralayıp sonuç nesnelerine çevirir.
+    private List<AramaSonucu> sirala(Map<Long, Double> puanlar, int limit) {
+        List<AramaSonucu> sonuclar = new ArrayList<>(puanlar.size());
+        for (Map.Entry<Long, Double> giris : puanlar.entrySet()) {
+            KitapOzeti ozet = kitaplar.get(giris.getKey());
+            // Uzun kayıtlar daha çok terim içerdiği için puan kayıt uzunluğuna göre
+            // hafifçe normalize edilir.
+            double skor = giris.getValue() / Math.sqrt(Math.max(1, ozet.terimSayisi()));
+            sonuclar.add(new AramaSonucu(giris.getKey(), ozet.baslik(), ozet.yazar(), skor));
+        }
+        sonuclar.sort((a, b) -> Double.compare(b.getSkor(), a.getSkor()));
+        return sonuclar.size() > limit ? new ArrayList<>(sonuclar.subList(0, limit)) : sonuclar;
+    }
+
+    // Kitabın tüm terimlerini posting listelerinden siler.
+    private void cikar(Long kitapId) {
+        KitapOzeti eski = kitaplar.remove(kitapId);
+        if (eski == null) {
+            return;
+        }
+        List<String> terimler = new ArrayList<>(TurkceMetinIsleyici.parcala(eski.baslik()));
+        terimler.addAll(TurkceMetinIsleyici.parcala(eski.yazar()));
+        for (String terim : terimler) {
+            Map<Long, Integer> posting = postingler.get(terim);
+            if (posting != null) {
+                posting.remove(kitapId);
+                if (posting.isEmpty()) {
+                    postingler.remove(terim); // Boş kalan terim indeksten atılır
+                }
+            }
+        }
+        // Ölü terimler canlı terimlerin iki katını geçerse BK-ağacı yeniden kurulur.
+        if (terimAgaci.boyut() > 2 * postingler.size() + 1000) {
+            BkAgaci yeniAgac = new BkAgaci();
+            postingler.keySet().forEach(yeniAgac::ekle);
+            terimAgaci = yeniAgac;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.kutuphane.otomasyon.arama;
+
+import com.kutuphane.otomasyon.dto.Oneri;
+import com.kutuphane.otomasyon.model.Kitap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kitap başlıkları ve yazar adları için önek (prefix) ağacı (trie).
+ * Her düğüm, altındaki en iyi K tamamlamayı önceden hesaplanmış olarak tutar;
+ * böylece bir öneri sorgusu yalnızca önek uzunluğu kadar adım atar ve
+ * veritabanına hiç gidilmez.
+ * 
+ * Ağaç yol sıkıştırmalıdır (radix): tek çocuklu düğüm zincirleri, etiketi
+ * birden çok harf olan tek bir kenarda birleştirilir. Düğüm sayısı harf
+ * sayısıyla değil anahtar sayısıyla orantılıdır (en fazla anahtar sayısının
+ * iki katı); silmede boşalan düğümler kaldırılır. Bellek için çocuklar
+ * HashMap yerine etiketlerin ilk harflerine göre sıralı dizilerde (ikili
+ * arama) tutulur. Başlıklar her kelimeden itibaren de eklenir; "madonna"
+ * yazıldığında "Kürk Mantolu Madonna" önerilir.
+ */
+@Component
+public class OneriAgaci {
+
+    /** Her düğümde saklanan en fazla öneri sayısı (sorgu başına üst sınır). */
+    public static final int EN_FAZLA_ONERI = 10;
+
+    private static final String BASLIK = "baslik";
+    private static final String YAZAR = "yazar";
+
+    private static final char[] BOS_HARFLER = new char[0];
+    private static final Dugum[] BOS_COCUKLAR = new Dugum[0];
+    private static final Tamamlama[] BOS_TAMAMLAMALAR = new Tamamlama[0];
+
+    // Daha çok kitaba karşılık gelen, sonra daha kısa olan, sonra alfabetik
+    // olarak önce gelen tamamlama öne alınır.
+    private static final Comparator<Tamamlama> SIRALAMA = Comparator
+            .comparingInt((Tamamlama t) -> -t.kitapIdleri.size())
+            .thenComparingInt(t -> t.anahtar.length())
+            .thenComparing(t -> t.anahtar)
+            .thenComparing(t -> t.tur);
+
+    /**
+     * Ağaçtaki tek bir düğüm. Kökten düğüme kadar olan kenar etiketleri
+     * art arda eklendiğinde düğümün anahtarı (öneki) elde edilir.
+     */
+    private static final class Dugum {
+        String etiket; // Ebeveynden bu düğüme gelen kenarın harfleri (kökte boş)
+        char[] harfler = BOS_HARFLER; // Çocuk etiketlerinin sıralı ilk harfleri
+        Dugum[] cocuklar = BOS_COCUKLAR; // harfler[i] ile başlayan kenarın çocuğu
+        Tamamlama[] bitenler = BOS_TAMAMLAMALAR; // Anahtarı bu düğümde biten tamamlamalar
+        Tamamlama[] enIyiler = BOS_TAMAMLAMALAR; // Alt ağaçtaki en iyi K tamamlama
+
+        Dugum(String etiket) {
+            this.etiket = etiket;
+        }
+
+        Dugum cocuk(char harf) {
+            int i = Arrays.binarySearch(harfler, harf);
+            return i >= 0 ? cocuklar[i] : null;
+        }
+
+        void cocukEkle(Dugum yeni) {
+            int yer = -Arrays.binarySearch(harfler, yeni.etiket.charAt(0)) - 1;
+            char[] yeniHarfler = new char[harfler.length + 1];
+            Dugum[] yeniCocuklar = new Dugum[cocuklar.length + 1];
+            System.arraycopy(harfler, 0, yeniHarfler, 0, yer);
+            System.arraycopy(cocuklar, 0, yeniCocuklar, 0, yer);
+            yeniHarfler[yer] = yeni.etiket.charAt(0);
+            yeniCocuklar[yer] = yeni;
+            System.arraycopy(harfler, yer, yeniHarfler, yer + 1, harfler.length - yer);
+            System.arraycopy(cocuklar, yer, yeniCocuklar, yer + 1, cocuklar.length - yer);
+            harfler = yeniHarfler;
+            cocuklar = yeniCocuklar;
+        }
+
+        // Aynı harfle başlayan çocuğun yerine yenisini koyar (bölme/birleştirme).
+        void cocukDegistir(Dugum yeni) {
+            cocuklar[Arrays.binarySearch(harfler, yeni.etiket.charAt(0))] = yeni;
+        }
+
+        void cocukCikar(char harf) {
+            int i = Arrays.binarySearch(harfler, harf);
+            if (cocuklar.length == 1) {
+                harfler = BOS_HARFLER;
+                cocuklar = BOS_COCUKLAR;
+                return;
+            }
+            char[] yeniHarfler = new char[harfler.length - 1];
+            Dugum[] yeniCocuklar = new Dugum[cocuklar.length - 1];
+            System.arraycopy(harfler, 0, yeniHarfler, 0, i);
+            System.arraycopy(cocuklar, 0, yeniCocuklar, 0, i);
+            System.arraycopy(harfler, i + 1, yeniHarfler, i, harfler.length - i - 1);
+            System.arraycopy(cocuklar, i + 1, yeniCocuklar, i, cocuklar.length - i - 1);
+            harfler = yeniHarfler;
+            cocuklar = yeniCocuklar;
+        }
+    }
+
+    /**
+     * Bir başlık veya yazar adına karşılık gelen tamamlama. Aynı yazarın tüm
+     * kitapları tek bir tamamlamada toplanır.
+     */
+    private static final class Tamamlama {
+        final String tur;
+        final String anahtar; // Katlanmış (normalize edilmiş) tam metin
+        final String metin; // Gösterim için orijinal metin
+        final Set<Long> kitapIdleri = new LinkedHashSet<>(2);
+
+        Tamamlama(String tur, String anahtar, String metin) {
+            this.tur = tur;
+            this.anahtar = anahtar;
+            this.metin = metin;
+        }
+    }
+
+    private final Dugum kok = new Dugum("");
+    // tur + "|" + anahtar -> tamamlama
+    private final Map<String, Tamamlama> tamamlamalar = new HashMap<>();
+    // kitapId -> kitabın dahil olduğu tamamlamalar (silme için)
+    private final Map<Long, List<Tamamlama>> kitabinTamamlamalari = new HashMap<>();
+    private final ReadWriteLock kilit = new ReentrantReadWriteLock();
+
+    /**
+     * Verilen öneki tamamlayan en iyi k öneriyi döndürür.
+     * 
+     * @param onek Kullanıcının yazdığı metin (Türkçe karakter duyarsız).
+     * @param k    İstenen öneri sayısı (en fazla EN_FAZLA_ONERI).
+     * @return Öneri listesi.
+     */
+    public List<Oneri> oner(String onek, int k) {
+        String anahtar = anahtarOlustur(onek);
+        if (anahtar.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        kilit.readLock().lock();
+        try {
+            Dugum dugum = onekDugumu(anahtar);
+            if (dugum == null) {
+                return List.of();
+            }
+            int adet = Math.min(Math.min(k, EN_FAZLA_ONERI), dugum.enIyiler.length);
+            List<Oneri> sonuc = new ArrayList<>(adet);
+            for (int i = 0; i < adet; i++) {
+                Tamamlama t = dugum.enIyiler[i];
+                sonuc.add(new Oneri(t.metin, t.tur, List.copyOf(t.kitapIdleri)));
+            }
+            return sonuc;
+        } finally {
+            kilit.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kitabı ağaca ekler ve etkilenen düğümlerin en iyi listelerini yeniden
+     * hesaplar. Kitap zaten ekliyse önce eski hali çıkarılır.
+     */
+    public void ekle(Kitap kitap) {
+        ekle(List.of(kitap));
+    }
+
+    /**
+     * Kitapları ağaca ekler (ör. içe aktarılan bir grup). Etkilenen yollar
+     * üzerindeki her düğümün en iyi listesi, kaç kitabı etkilediğinden
+     * bağımsız olarak bir kez yeniden hesaplanır; ağacın geri kalanına
+     * dokunulmaz.
+     */
+    public void ekle(Collection<Kitap> kitaplar) {
+        kilit.writeLock().lock();
+        try {
+            Set<Tamamlama> etkilenenler = new LinkedHashSet<>();
+            for (Kitap kitap : kitaplar) {
+                if (kitap != null && kitap.getId() != null) {
+                    etkilenenler.addAll(cikar(kitap.getId()));
+                    etkilenenler.addAll(yerlestir(kitap));
+                }
+            }
+            yollariGuncelle(etkilenenler);
+        } finally {
+            kilit.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kitabı ağaçtan çıkarır.
+     */
+    public void sil(Long kitapId) {
+        kilit.writeLock().lock();
+        try {
+            yollariGuncelle(cikar(kitapId));
+        } finally {
+            kilit.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Toplu yükleme için: kitabı en iyi listelerini hesaplamadan ekler.
+     * Yükleme bittiğinde {@link #yuklemeyiTamamla()} çağrılmalıdır.
+     */
+    public void yukle(Kitap kitap) {
+        if (kitap == null || kitap.getId() == null) {
+            return;
+        }
+        kilit.writeLock().lock();
+        try {
+            cikar(kitap.getId());
+            yerlestir(kitap);
+        } finally {
+            kilit.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Toplu yükleme sonunda tüm düğümlerin en iyi listelerini tek geçişte
+     * (alttan üste) hesaplar.
+     */
+    public void yuklemeyiTamamla() {
+        kilit.writeLock().lock();
+        try {
+            // Derin ağaçlarda yığın taşmasını önlemek için özyineleme yerine
+            // açık yığınla post-order gezinme yapılır.
+            List<Dugum> sira = new ArrayList<>();
+            List<Dugum> yigin = new ArrayList<>();
+            yigin.add(kok);
+            while (!yigin.isEmpty()) {
+                Dugum d = yigin.remove(yigin.size() - 1);
+                sira.add(d);
+                yigin.addAll(Arrays.asList(d.cocuklar));
+            }
+            for (int i = sira.size() - 1; i >= 0; i--) {
+                enIyileriHesapla(sira.get(i));
+            }
+        } finally {
+            kilit.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ağaçtaki düğüm sayısını (kök dahil) döndürür.
+     */
+    int dugumSayisi() {
+        kilit.readLock().lock();
+        try {
+            int sayi = 0;
+            List<Dugum> yigin = new ArrayList<>();
+            yigin.add(kok);
+            while (!yigin.isEmpty()) {
+                Dugum d = yigin.remove(yigin.size() - 1);
+                sayi++;
+                yigin.addAll(Arrays.asList(d.cocuklar));
+            }
+            return sayi;
+        } finally {
+            kilit.readLock().unlock();
+        }
+    }
+
+    // --- Yardımcı Metotlar (çağıran yazma kilidini tutmalıdır) ---
+
+    // Kitabın başlık ve yazar tamamlamalarını oluşturur/bulur ve kitabı bağlar.
+    private List<Tamamlama> yerlestir(Kitap kitap) {
+        List<Tamamlama> eklenenler = new ArrayList<>(2);
+        tamamlamaBagla(BASLIK, kitap.getBaslik(), kitap.getId(), eklenenler);
+        tamamlamaBagla(YAZAR, kitap.getYazar(), kitap.getId(), eklenenler);
+        kitabinTamamlamalari.put(kitap.getId(), eklenenler);
+        return eklenenler;
+    }
+
+    private void tamamlamaBagla(String tur, String metin, Long kitapId, List<Tamamlama> eklenenler) {
+        String anahtar = anahtarOlustur(metin);
+        if (anahtar.isEmpty()) {
+            return;
+        }
+        Tamamlama t = tamamlamalar.get(tur + "|" + anahtar);
+        if (t == null) {
+            t = new Tamamlama(tur, anahtar, metin.strip());
+            tamamlamalar.put(tur + "|" + anahtar, t);
+            for (String ek : kelimeSonlari(anahtar)) {
+                anahtarEkle(ek, t);
+            }
+        }
+        t.kitapIdleri.add(kitapId);
+        eklenenler.add(t);
+    }
+
+    // Kitabı bağlı olduğu tamamlamalardan çıkarır; boşalan tamamlamaları
+    // ağaçtan siler. Etkilenen tamamlamaları döndürür.
+    private List<Tamamlama> cikar(Long kitapId) {
+        List<Tamamlama> eskiler = kitabinTamamlamalari.remove(kitapId);
+        if (eskiler == null) {
+            return List.of();
+        }
+        for (Tamamlama t : eskiler) {
+            t.kitapIdleri.remove(kitapId);
+            if (t.kitapIdleri.isEmpty()) {
+                tamamlamalar.remove(t.tur + "|" + t.anahtar);
+                for (String ek : kelimeSonlari(t.anahtar)) {
+                    anahtarCikar(ek, t);
+                }
+            }
+        }
+        return eskiler;
+    }
+
+    // Tamamlamayı anahtarın düğümüne bağlar. Anahtar bir kenarın ortasında
+    // ayrılıyorsa kenar ortak kısımdan ikiye bölünür; kalan harfler için
+    // tek bir yaprak eklenir.
+    private void anahtarEkle(String anahtar, Tamamlama t) {
+        Dugum d = kok;
+        int i = 0;
+        while (i < anahtar.length()) {
+            Dugum c = d.cocuk(anahtar.charAt(i));
+            if (c == null) {
+                Dugum yaprak = new Dugum(anahtar.substring(i));
+                d.cocukEkle(yaprak);
+                d = yaprak;
+                break;
+            }
+            int ortak = ortakOnekUzunlugu(c.etiket, anahtar, i);
+            if (ortak < c.etiket.length()) {
+                // d -> c kenarını böl: d -> ara -> c. Ara düğümün alt ağacı
+                // c'ninkiyle aynı olduğundan en iyi listesi de aynıdır.
+                Dugum ara = new Dugum(c.etiket.substring(0, ortak));
+                c.etiket = c.etiket.substring(ortak);
+                ara.harfler = new char[] { c.etiket.charAt(0) };
+                ara.cocuklar = new Dugum[] { c };
+                ara.enIyiler = c.enIyiler;
+                d.cocukDegistir(ara);
+                c = ara;
+            }
+            d = c;
+            i += ortak;
+        }
+        d.bitenler = diziyeEkle(d.bitenler, t);
+    }
+
+    // Tamamlamayı anahtarın düğümünden çıkarır. Boşalan (tamamlaması ve
+    // çocuğu kalmayan) düğümler silinir; tamamlaması olmayan tek çocuklu
+    // düğümler çocuğuyla tek kenarda birleştirilir.
+    private void anahtarCikar(String anahtar, Tamamlama t) {
+        List<Dugum> yol = new ArrayList<>();
+        Dugum d = kok;
+        yol.add(d);
+        for (int i = 0; i < anahtar.length(); i += d.etiket.length()) {
+            d = d.cocuk(anahtar.charAt(i));
+            yol.add(d);
+        }
+        d.bitenler = dizidenCikar(d.bitenler, t);
+        for (int i = yol.size() - 1; i > 0; i--) { // Kök silinmez
+            Dugum dugum = yol.get(i);
+            Dugum ebeveyn = yol.get(i - 1);
+            if (dugum.bitenler.length > 0 || dugum.cocuklar.length > 1) {
+                break;
+            }
+            if (dugum.cocuklar.length == 1) {
+                Dugum cocuk = dugum.cocuklar[0];
+                cocuk.etiket = dugum.etiket + cocuk.etiket;
+                ebeveyn.cocukDegistir(cocuk);
+                break;
+            }
+            ebeveyn.cocukCikar(dugum.etiket.charAt(0)); // Ebeveyn de boşalmış olabilir
+        }
+    }
+
+    // Öneki alt ağacında bulunduran en üst düğüm: önek bir kenarın ortasında
+    // bitiyorsa o kenarın çocuğu. Önek ağaçta yoksa null.
+    private Dugum onekDugumu(String onek) {
+        Dugum d = kok;
+        int i = 0;
+        while (i < onek.length()) {
+            Dugum c = d.cocuk(onek.charAt(i));
+            if (c == null) {
+                return null;
+            }
+            int ortak = ortakOnekUzunlugu(c.etiket, onek, i);
+            if (i + ortak == onek.length()) {
+                return c;
+            }
+            if (ortak < c.etiket.length()) {
+                return null;
+            }
+            d = c;
+            i += ortak;
+        }
+        return d;
+    }
+
+    // Tamamlamaların geçtiği yollardaki düğümleri alttan üste, her birini bir
+    // kez yeniden hesaplar. Ağaçtan çıkarılan bir tamamlamanın yolu kısalmış
+    // olabilir; yalnızca hâlâ var olan (tam kenarlarla eşleşen) kısmı
+    // dolaşılır, bu düğümler de onu en iyi listelerinde tutan düğümlerdir.
+    private void yollariGuncelle(Collection<Tamamlama> etkilenenler) {
+        if (etkilenenler.isEmpty()) {
+            return;
+        }
+        Map<Dugum, Integer> derinlikler = new IdentityHashMap<>();
+        for (Tamamlama t : etkilenenler) {
+            for (String ek : kelimeSonlari(t.anahtar)) {
+                Dugum d = kok;
+                int derinlik = 0;
+                derinlikler.put(d, derinlik);
+                for (int i = 0; i < ek.length(); i += d.etiket.length()) {
+                    Dugum c = d.cocuk(ek.charAt(i));
+                    if (c == null || !ek.startsWith(c.etiket, i)) {
+                        break;
+                    }
+                    d = c;
+                    derinlikler.put(d, ++derinlik);
+                }
+            }
+        }
+        List<Map.Entry<Dugum, Integer>> sira = new ArrayList<>(derinlikler.entrySet());
+        sira.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+        for (Map.Entry<Dugum, Integer> giris : sira) {
+            enIyileriHesapla(giris.getKey());
+        }
+    }
+
+    // Düğümün en iyi K listesini kendi bitenlerinden ve çocuklarının
+    // listelerinden birleştirir. Aynı tamamlama farklı dallardan gelebilir.
+    private static void enIyileriHesapla(Dugum d) {
+        if (d.cocuklar.length == 0 && d.bitenler.length == 1) {
+            d.enIyiler = d.bitenler; // Çoğu yaprak: dizi paylaşılır (diziler yerinde değiştirilmez)
+            return;
+        }
+        Map<Tamamlama, Boolean> adaylar = new IdentityHashMap<>();
+        for (Tamamlama t : d.bitenler) {
+            adaylar.put(t, Boolean.TRUE);
+        }
+        for (Dugum c : d.cocuklar) {
+            for (Tamamlama t : c.enIyiler) {
+                adaylar.put(t, Boolean.TRUE);
+            }
+        }
+        List<Tamamlama> liste = new ArrayList<>(adaylar.keySet());
+        liste.sort(SIRALAMA);
+        int adet = Math.min(EN_FAZLA_ONERI, liste.size());
+        d.enIyiler = adet == 0 ? BOS_TAMAMLAMALAR : liste.subList(0, adet).toArray(new Tamamlama[adet]);
+    }
+
+    // Kenar etiketiyle anahtarın bas konumundan itibaren ortak önek uzunluğu.
+    private static int ortakOnekUzunlugu(String etiket, String anahtar, int bas) {
+        int sinir = Math.min(etiket.length(), anahtar.length() - bas);
+        int i = 0;
+        while (i < sinir && etiket.charAt(i) == anahtar.charAt(bas + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // "kurk mantolu madonna" -> ["kurk mantolu madonna", "mantolu madonna", "madonna"]
+    private static List<String> kelimeSonlari(String anahtar) {
+        List<String> ekler = new ArrayList<>();
+        ekler.add(anahtar);
+        for (int i = anahtar.indexOf(' '); i >= 0; i = anahtar.indexOf(' ', i + 1)) {
+            ekler.add(anahtar.substring(i + 1));
+        }
+        return ekler;
+    }
+
+    // Metni katlar ve kelimeleri tek boşlukla birleştirir.
+    private static String anahtarOlustur(String metin) {
+        return String.join(" ", TurkceMetinIsleyici.parcala(metin));
+    }
+
+    private static Tamamlama[] diziyeEkle(Tamamlama[] dizi, Tamamlama t) {
+        Tamamlama[] yeni = Arrays.copyOf(dizi, dizi.length + 1);
+        yeni[dizi.length] = t;
+        return yeni;
+    }
+
+    private static Tamamlama[] dizidenCikar(Tamamlama[] dizi, Tamamlama t) {
+        List<Tamamlama> liste = new ArrayList<>(Arrays.asList(dizi));
+        liste.removeIf(x -> x == t);
+        return liste.isEmpty() ? BOS_TAMAMLAMALAR : liste.toArray(new Tamamlama[0]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kutuphane.otomasyon.arama;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Arama için metinleri normalize eden ve kelimelere ayıran yardımcı sınıf.
+ * Türkçe harfler (İ/ı, ş, ğ, ç, ö, ü) ASCII karşılıklarına katlanır; böylece
+ * "IŞIK", "ışık" ve "isik" aynı terime dönüşür.
+ */
+public final class TurkceMetinIsleyici {
+
+    private static final Locale TURKCE = Locale.forLanguageTag("tr-TR");
+
+    // Örnek oluşturulmasını engeller (sadece statik metotlar içerir).
+    private TurkceMetinIsleyici() {
+    }
+
+    /**
+     * Metni Türkçe kurallarıyla küçük harfe çevirir ve aksanlı harfleri
+     * katlar. Harf ve rakam dışındaki karakterler boşluğa dönüştürülür.
+     * 
+     * @param metin Normalize edilecek metin (null olabilir).
+     * @return Katlanmış metin; null girişte boş metin döner.
+     */
+    public static String katla(String metin) {
+        if (metin == null) {
+            return "";
+        }
+        // Türkçe yerel ayarla küçültme: 'I' -> 'ı', 'İ' -> 'i' olur.
+        String kucuk = metin.toLowerCase(TURKCE);
+        StringBuilder sonuc = new StringBuilder(kucuk.length());
+        for (int i = 0; i < kucuk.length(); i++) {
+            char c = kucuk.charAt(i);
+            switch (c) {
+                case 'ı', 'î', 'ì', 'í', 'ï' -> sonuc.append('i');
+                case 'ş' -> sonuc.append('s');
+                case 'ğ' -> sonuc.append('g');
+                case 'ç' -> sonuc.append('c');
+                case 'ö', 'ô' -> sonuc.append('o');
+                case 'ü', 'û' -> sonuc.append('u');
+                case 'â', 'à', 'á', 'ä' -> sonuc.append('a');
+                case 'é', 'è', 'ê' -> sonuc.append('e');
+                // Latin harflere benzeyen Kiril harfler (klavye/kopyala-yapıştır kaynaklı
+                // karışıklıklar): "Pamук" -> "pamuk". Kiril 'у' görünüşte 'y'ye benzese de
+                // okunuşu ve bu karışıklıklardaki karşılığı 'u'dur.
+                case 'а' -> sonuc.append('a');
+                case 'е' -> sonuc.append('e');
+                case 'о' -> sonuc.append('o');
+                case 'р' -> sonuc.append('p');
+                case 'с' -> sonuc.append('c');
+                case 'у' -> sonuc.append('u');
+                case 'х' -> sonuc.append('x');
+                case 'к' -> sonuc.append('k');
+                case 'м' -> sonuc.append('m');
+                case 'т' -> sonuc.append('t');
+                case 'і' -> sonuc.append('i');
+                case 'ј' -> sonuc.append('j');
+                case 'ѕ' -> sonuc.append('s');
+                case '\u0307' -> {
+                    // Birleştirici nokta ('İ' bazı kaynaklarda "i" + U+0307 olarak gelir)
+                }
+                default -> sonuc.append(Character.isLetterOrDigit(c) ? c : ' ');
+            }
+        }
+        return sonuc.toString();
+    }
+
+    /**
+     * Metni katlar ve boşluklardan kelimelere (terimlere) ayırır.
+     * 
+     * @param metin Parçalanacak metin.
+     * @return Terim listesi (sırası korunur, tekrarlar silinmez).
+     */
+    public static List<String> parcala(String metin) {
+        String katlanmis = katla(metin);
+        List<String> terimler = new ArrayList<>();
+        int baslangic = -1;
+        for (int i = 0; i <= katlanmis.length(); i++) {
+            boolean ayirici = i == katlanmis.length() || katlanmis.charAt(i) == ' ';
+            if (ayirici) {
+                if (baslangic >= 0) {
+                    terimler.add(katlanmis.substring(baslangic, i));
+                    baslangic = -1;
+                }
+            } else if (baslangic < 0) {
+                baslangic = i;
+            }
+        }
+        return terimler;
+    }
+}
@@ -0,0 +1,67 @@
+package com.kutuphane.otomasyon.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration // Spring Konfigürasyon sınıfı olduğunu belirtir
+// Yalnızca açıkça istendiğinde (ör. "sanal" profili) devreye girer.
+@ConditionalOnProperty(name = "kutuphane.jdbc.eszamanlilik-siniri.aktif", havingValue = "true")
+public class JdbcEszamanlilikConfig {
+
+        // Uygulamanın DataSource'unu SinirliDataSource ile sarar. Static olması,
+        // BeanPostProcessor'ın diğer bean'lerden önce ve bağımlılıkları erken
+        // oluşturmadan kaydedilmesini sağlar. Okuma/yazma yönlendirmesi açıksa
+        // her havuz ayrı sınırlanır; bağlantı tutmayan yönlendirici sarılmaz.
+        @Bean
+        public static BeanPostProcessor sinirliDataSourceSarmalayici(Environment environment) {
+                return new BeanPostProcessor() {
+                        @Override
+                        public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                if (bean instanceof DataSource dataSource && !(bean instanceof SinirliDataSource)
+                                                && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                                        // Varsayılan sınır, havuz boyutudur (Hikari varsayılanı 10).
+                                        int enFazla = environment.getProperty(
+                                                        "kutuphane.jdbc.eszamanlilik-siniri.en-fazla", Integer.class,
+                                                        environment.getProperty(
+                                                                        "spring.datasource.hikari.maximum-pool-size",
+                                                                        Integer.class, 10));
+                                        Duration bekleme = environment.getProperty(
+                                                        "kutuphane.jdbc.eszamanlilik-siniri.bekleme-suresi",
+                                                        Duration.class, Duration.ofSeconds(2));
+                                        return new SinirliDataSource(dataSource, enFazla, bekleme);
+                                }
+                                return bean;
+                        }
+                };
+        }
+
+        // Bağlantı bekleyen ve bağlantı kullanan istek sayılarını havuz (bean adı)
+        // etiketiyle gösterge olarak yayınlar; sınırın darboğaz olup olmadığı
+        // buradan izlenir.
+        @Bean
+        public MeterBinder jdbcEszamanlilikGostergeleri(Map<String, DataSource> dataSourcelar) {
+                return registry -> dataSourcelar.forEach((ad, dataSource) -> {
+                        if (dataSource instanceof SinirliDataSource sinirli) {
+                                Gauge.builder("kutuphane.jdbc.bekleyen", sinirli, SinirliDataSource::bekleyenSayisi)
+                                                .description("JDBC eşzamanlılık sınırında bekleyen istek sayısı")
+                                                .tag("havuz", ad)
+                                                .register(registry);
+                                Gauge.builder("kutuphane.jdbc.kullanilan", sinirli,
+                                                SinirliDataSource::kullanilanSayisi)
+                                                .description("Sınırlayıcıdan izin almış açık bağlantı sayısı")
+                                                .tag("havuz", ad)
+                                                .register(registry);
+                        }
+                });
+        }
+}
@@ -0,0 +1,81 @@
+package com.kutuphane.otomasyon.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL Server'da kimlik sütunlarının sequence (pooled-lo) kimlik üretimine
+ * uygun olduğunu açılışta doğrular (bkz. Kitap.id).
+ *
+ * ddl-auto=update, IDENTITY ile oluşturulmuş eski tablolardaki IDENTITY
+ * özelliğini kaldırmaz ve eksik sequence'leri 1'den başlatır. Bu durumda
+ * her INSERT hata verir (IDENTITY sütununa değer yazılamaz veya sequence'ten
+ * gelen ID mevcut bir kayıtla çakışır). Uygulama, istek kabul etmeden önce
+ * durur ve geçiş betiğini (db/sqlserver/kimlik-sequence-gecisi.sql) işaret
+ * eder. Diğer veritabanlarında (testlerdeki H2) kontrol yapılmaz.
+ */
+@Component
+public class KimlikSequenceKontrolu implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(KimlikSequenceKontrolu.class);
+
+    private static final String GECIS_BETIGI = "db/sqlserver/kimlik-sequence-gecisi.sql";
+
+    // Tablo -> ID'lerini veren sequence
+    private static final Map<String, String> SEQUENCELER = Map.of(
+            "kitaplar", "kitaplar_seq",
+            "kullanicilar", "kullanicilar_seq",
+            "oduncler", "oduncler_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory bağımlılığı, kontrolün Hibernate şema güncellemesinden
+    // (ddl-auto=update) sonra yapılmasını sağlar.
+    public KimlikSequenceKontrolu(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String veritabani = jdbcTemplate.execute(
+                (ConnectionCallback<String>) baglanti -> baglanti.getMetaData().getDatabaseProductName());
+        if (veritabani == null || !veritabani.startsWith("Microsoft SQL Server")) {
+            return;
+        }
+        List<String> sorunlar = new ArrayList<>();
+        SEQUENCELER.forEach((tablo, sequence) -> {
+            Integer identity = jdbcTemplate.queryForObject(
+                    "SELECT COLUMNPROPERTY(OBJECT_ID(?), 'id', 'IsIdentity')", Integer.class, tablo);
+            if (identity != null && identity == 1) {
+                sorunlar.add(tablo + ".id hâlâ IDENTITY sütunu");
+                return;
+            }
+            // Sequence'in bir sonraki değeri, alınacak bloğun ilk ID'sidir (pooled-lo).
+            Long sonraki = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(CAST(last_used_value AS bigint) + CAST(increment AS bigint), "
+                            + "CAST(start_value AS bigint)) FROM sys.sequences WHERE object_id = OBJECT_ID(?)",
+                    Long.class, sequence);
+            Long enBuyuk = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tablo, Long.class);
+            if (sonraki != null && enBuyuk != null && sonraki <= enBuyuk) {
+                sorunlar.add(sequence + " (sonraki değer " + sonraki + ") " + tablo
+                        + " tablosundaki en büyük ID'nin (" + enBuyuk + ") gerisinde");
+            }
+        });
+        if (!sorunlar.isEmpty()) {
+            throw new IllegalStateException("Kimlik sütunları sequence kimlik üretimine geçirilmemiş: "
+                    + String.join("; ", sorunlar) + ". Uygulamayı başlatmadan önce " + GECIS_BETIGI
+                    + " betiğini veritabanında çalıştırın.");
+        }
+        log.debug("Kimlik sütunları ve sequence'ler doğrulandı");
+    }
+}
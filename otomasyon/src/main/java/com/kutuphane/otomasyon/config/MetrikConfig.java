@@ -0,0 +1,32 @@
+package com.kutuphane.otomasyon.config;
+
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration // Spring Konfigürasyon sınıfı olduğunu belirtir
+public class MetrikConfig {
+
+        // Açık ödünç ve rafta olmayan kitap sayılarını gösterge (gauge) olarak
+        // yayınlar. Değerler her Prometheus taramasında indeksli birer sayım
+        // sorgusuyla okunur; veritabanına erişilemezse gösterge NaN döner.
+        @Bean
+        public MeterBinder katalogGostergeleri(KullaniciRepository kullaniciRepository,
+                        KitapRepository kitapRepository) {
+                return registry -> {
+                        Gauge.builder("kutuphane.odunc.aktif", kullaniciRepository,
+                                        KullaniciRepository::toplamAktifOduncSayisi)
+                                        .description("Henüz iade edilmemiş ödünç sayısı")
+                                        .strongReference(true)
+                                        .register(registry);
+                        Gauge.builder("kutuphane.kitap.rafta.olmayan", kitapRepository,
+                                        KitapRepository::countByMevcutFalse)
+                                        .description("Ödünçte olduğu için rafta olmayan kitap sayısı")
+                                        .strongReference(true)
+                                        .register(registry);
+                };
+        }
+}
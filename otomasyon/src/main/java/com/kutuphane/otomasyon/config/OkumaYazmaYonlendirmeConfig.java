@@ -0,0 +1,69 @@
+package com.kutuphane.otomasyon.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Okuma/yazma yönlendirmesi: salt okunur transaction'lar (ör. katalog ve üye
+ * listeleri) okuma kopyasına (replica), diğer tüm işlemler ana veritabanına
+ * gider. Yalnızca kutuphane.datasource.okuma.jdbc-url tanımlıysa devreye girer;
+ * tanımlı değilse Spring Boot'un tek DataSource'u kullanılır.
+ *
+ * Yönlendirme LazyConnectionDataSourceProxy ile yapılır: fiziksel bağlantı
+ * transaction başında değil ilk SQL cümlesinde alınır; o ana kadar
+ * transaction yöneticisi bağlantıyı salt okunur olarak işaretlemiş olur.
+ * Bağlantı transaction sonuna kadar tutulduğundan bir transaction'ın tüm
+ * cümleleri aynı veritabanına gider; yazma transaction'ına katılan salt
+ * okunur metotlar (ör. OduncService içinden KullaniciService) ana veritabanında
+ * kalır.
+ *
+ * Kopya, ana veritabanının gerisinde olabilir (replikasyon gecikmesi).
+ * Commit'ten hemen sonra kendi yazdığını okuması gereken yollar salt okunur
+ * transaction kullanmamalıdır (bkz. KitapService.kitapBulByIsbn).
+ */
+@Configuration // Spring Konfigürasyon sınıfı olduğunu belirtir
+@ConditionalOnProperty(name = "kutuphane.datasource.okuma.jdbc-url")
+public class OkumaYazmaYonlendirmeConfig {
+
+        // Ana (yazma) havuzu: spring.datasource.* ve spring.datasource.hikari.*
+        // ayarlarıyla, Spring Boot'un kendi oluşturacağı havuzla aynı şekilde kurulur.
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource yazmaDataSource(DataSourceProperties dataSourceProperties) {
+                HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                                .type(HikariDataSource.class)
+                                .build();
+                dataSource.setPoolName("yazma");
+                return dataSource;
+        }
+
+        // Okuma kopyası havuzu: kutuphane.datasource.okuma.* doğrudan Hikari
+        // ayarlarına bağlanır (jdbc-url, username, password, maximum-pool-size...).
+        @Bean
+        @ConfigurationProperties("kutuphane.datasource.okuma")
+        public HikariDataSource okumaDataSource() {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("okuma");
+                dataSource.setReadOnly(true);
+                return dataSource;
+        }
+
+        // JPA, JdbcTemplate ve transaction yöneticisinin kullandığı DataSource.
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("yazmaDataSource") DataSource yazma,
+                        @Qualifier("okumaDataSource") DataSource okuma) {
+                LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(yazma);
+                dataSource.setReadOnlyDataSource(okuma);
+                return dataSource;
+        }
+}
@@ -0,0 +1,93 @@
+package com.kutuphane.otomasyon.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration // Spring Konfigürasyon sınıfı olduğunu belirtir
+@EnableCaching // @Cacheable / @CacheEvict anotasyonlarını aktif eder
+public class OnbellekConfig {
+
+        /**
+         * ID -> Kullanici önbelleğinin adı (bkz. KullaniciService).
+         */
+        public static final String KULLANICILAR = "kullanicilar";
+
+        /**
+         * ISBN -> Kitap önbelleğinin adı (bkz. KitapService.kitapBulByIsbn).
+         * Bulunamayan ISBN'ler de (negatif kayıt olarak) tutulur.
+         */
+        public static final String ISBNLER = "isbnler";
+
+        /**
+         * Başarılı şifre doğrulamalarının önbelleği (bkz.
+         * KimlikDogrulamaOnbellegi). Kayıtlar okundukça uzamaz.
+         */
+        public static final String KIMLIK_DOGRULAMALARI = "kimlikDogrulamalari";
+
+        // Önbellekleri boyut ve yaşam süresi sınırlı Caffeine bölgeleri olarak
+        // tanımlar. recordStats() isabet/ıskalama istatistiklerini tutar.
+        @Bean
+        public CacheManager cacheManager(
+                        @Value("${kutuphane.onbellek.kullanici.en-fazla-kayit:10000}") long kullaniciEnFazlaKayit,
+                        @Value("${kutuphane.onbellek.kullanici.yasam-suresi:10m}") Duration kullaniciYasamSuresi,
+                        @Value("${kutuphane.onbellek.isbn.en-fazla-kayit:50000}") long isbnEnFazlaKayit,
+                        @Value("${kutuphane.onbellek.isbn.yasam-suresi:30m}") Duration isbnYasamSuresi,
+                        @Value("${kutuphane.onbellek.isbn.negatif-yasam-suresi:5m}") Duration isbnNegatifYasamSuresi,
+                        @Value("${kutuphane.onbellek.kimlik.en-fazla-kayit:10000}") long kimlikEnFazlaKayit,
+                        @Value("${kutuphane.onbellek.kimlik.yasam-suresi:5m}") Duration kimlikYasamSuresi) {
+                CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+                // Tanımlanmamış bir önbellek adı kullanılırsa sınırsız önbellek
+                // oluşturulmasın, hata alınsın.
+                cacheManager.setCacheNames(List.of());
+                cacheManager.registerCustomCache(KULLANICILAR, Caffeine.newBuilder()
+                                .maximumSize(kullaniciEnFazlaKayit)
+                                .expireAfterWrite(kullaniciYasamSuresi)
+                                .recordStats()
+                                .build());
+                // Negatif kayıtlar (Spring bunları NullValue olarak saklar) daha kısa
+                // süre tutulur; kataloğa başka yoldan eklenen bir kitap en geç bu süre
+                // sonunda görünür.
+                cacheManager.registerCustomCache(ISBNLER, Caffeine.newBuilder()
+                                .maximumSize(isbnEnFazlaKayit)
+                                .expireAfter(yasamSuresi(isbnYasamSuresi, isbnNegatifYasamSuresi))
+                                .recordStats()
+                                .build());
+                cacheManager.registerCustomCache(KIMLIK_DOGRULAMALARI, Caffeine.newBuilder()
+                                .maximumSize(kimlikEnFazlaKayit)
+                                .expireAfterWrite(kimlikYasamSuresi)
+                                .recordStats()
+                                .build());
+                return cacheManager;
+        }
+
+        // Değeri bulunan kayıtlar için pozitif, NullValue için negatif yaşam süresi
+        // uygulayan Expiry. Okumalar süreyi uzatmaz.
+        private static Expiry<Object, Object> yasamSuresi(Duration pozitif, Duration negatif) {
+                return new Expiry<>() {
+                        @Override
+                        public long expireAfterCreate(Object anahtar, Object deger, long simdi) {
+                                return (deger == NullValue.INSTANCE ? negatif : pozitif).toNanos();
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(Object anahtar, Object deger, long simdi, long kalanSure) {
+                                return expireAfterCreate(anahtar, deger, simdi);
+                        }
+
+                        @Override
+                        public long expireAfterRead(Object anahtar, Object deger, long simdi, long kalanSure) {
+                                return kalanSure;
+                        }
+                };
+        }
+}
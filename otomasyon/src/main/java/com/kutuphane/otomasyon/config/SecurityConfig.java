@@ -1,14 +1,25 @@
 package com.kutuphane.otomasyon.config;
 
+import com.kutuphane.otomasyon.guvenlik.KimlikDogrulamaOnbellegi;
+import com.kutuphane.otomasyon.guvenlik.KullaniciHesapService;
+import com.kutuphane.otomasyon.guvenlik.OnbellekliKimlikDogrulayici;
+import com.kutuphane.otomasyon.guvenlik.OturumTokeniService;
+import com.kutuphane.otomasyon.guvenlik.TokenDogrulamaFiltresi;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration // Spring Konfigürasyon sınıfı olduğunu belirtir
 @EnableWebSecurity // Security konfigürasyonunu aktif eder
@@ -16,7 +27,8 @@ public class SecurityConfig {
 
         // HTTP isteklerini ve güvenlik kurallarını tanımlar
         @Bean
-        public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain securityFilterChain(HttpSecurity http, OturumTokeniService oturumTokeniService)
+                        throws Exception {
                 http
                                 // CSRF Korumasını kapatıyoruz. REST API'ler ve Postman gibi araçlar için
                                 // gereklidir.
@@ -27,9 +39,17 @@ public class SecurityConfig {
                                 .cors(cors -> {
                                 })
 
+                                // Sunucu tarafında oturum tutulmaz; her istek kendi kimlik bilgisini
+                                // (Bearer token veya HTTP Basic) taşır.
+                                .sessionManagement(oturum -> oturum
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
                                 // URL bazlı yetkilendirme kurallarını başlatır
                                 .authorizeHttpRequests(authorize -> authorize
 
+                                                // Token almak için giriş herkese açık
+                                                .requestMatchers("/api/oturum/giris").permitAll()
+
                                                 // 1. KULLANICI YÖNETİMİ: Kullanıcı ekleme/silme/güncelleme sadece ADMIN
                                                 // yapmalı
                                                 .requestMatchers("/api/kullanicilar/**").hasRole("ADMIN")
@@ -41,12 +61,25 @@ public class SecurityConfig {
                                                 // ADMIN yapmalı
                                                 .requestMatchers("/api/kitaplar/admin/**").hasRole("ADMIN")
 
+                                                // Önbellek istatistikleri gibi yönetim yolları sadece ADMIN
+                                                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
+                                                // Prometheus/Actuator: sağlık kontrolü herkese açık, metrikler
+                                                // (Basic Auth ile taranır) sadece ADMIN
+                                                .requestMatchers("/actuator/health").permitAll()
+                                                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                                                 // 4. KİTAP LİSTELEME: Genel kitap sorgulama, USER veya ADMIN yapabilir
                                                 .requestMatchers("/api/kitaplar/**").hasAnyRole("USER", "ADMIN")
 
                                                 // Diğer tüm istekler kimlik doğrulaması gerektirir
                                                 .anyRequest().authenticated())
 
+                                // İmzalı oturum tokenleri (POST /api/oturum/giris ile alınır) HTTP
+                                // Basic'ten önce, veritabanına gitmeden doğrulanır.
+                                .addFilterBefore(new TokenDogrulamaFiltresi(oturumTokeniService),
+                                                BasicAuthenticationFilter.class)
+
                                 // HTTP Basic Auth'u etkinleştirir. Kullanıcı adı/şifre Header ile gönderilir.
                                 .httpBasic(httpBasic -> {
                                 });
@@ -54,27 +87,39 @@ public class SecurityConfig {
                 return http.build(); // Yapılandırılmış SecurityFilterChain nesnesini döndürür
         }
 
-        // Kullanıcı adı ve rolleri bellekte (in-memory) tutan servisi tanımlar (Geçici
-        // kullanıcılar)
+        // Şifreleri "{bcrypt}..." biçiminde özetleyen ve doğrulayan encoder. Önek,
+        // ileride algoritma değiştirilirse eski özetlerin de doğrulanabilmesini sağlar.
+        @Bean
+        public PasswordEncoder passwordEncoder() {
+                return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        }
+
+        // Kullanıcılar kullanicilar tablosundan e-posta ile yüklenir ve USER rolünü
+        // alır (bkz. KullaniciHesabi). Tabloda olmayan adlar bellekteki sistem
+        // hesaplarında aranır; ADMIN yalnızca sistem hesabıdır.
+        // HTTP Basic her istekte şifre gönderdiğinden, başarılı doğrulamalar kısa
+        // süreliğine önbellekte tutulur ve tekrar eden isteklerde bcrypt atlanır.
         @Bean
-        public UserDetailsService userDetailsService() {
+        public AuthenticationProvider authenticationProvider(KullaniciRepository kullaniciRepository,
+                        PasswordEncoder passwordEncoder, KimlikDogrulamaOnbellegi kimlikDogrulamaOnbellegi) {
 
-                // ADMIN rolüne sahip kullanıcı (password encoder, geliştirme için varsayılanı
-                // kullanır)
-                UserDetails admin = User.withDefaultPasswordEncoder()
-                                .username("admin")
-                                .password("123456")
+                // ADMIN rolüne sahip sistem hesabı (geliştirme ve yük testleri için)
+                UserDetails admin = User.withUsername("admin")
+                                .password(passwordEncoder.encode("123456"))
                                 .roles("ADMIN")
                                 .build();
 
-                // USER rolüne sahip normal kullanıcı (Kütüphane üyesini temsil edebilir)
-                UserDetails user = User.withDefaultPasswordEncoder()
-                                .username("user")
-                                .password("sifre")
+                // USER rolüne sahip sistem hesabı
+                UserDetails user = User.withUsername("user")
+                                .password(passwordEncoder.encode("sifre"))
                                 .roles("USER")
                                 .build();
 
-                // Bellekteki kullanıcıları yöneten servisi döndürür
-                return new InMemoryUserDetailsManager(admin, user);
+                UserDetailsService kullaniciHesaplari = new KullaniciHesapService(kullaniciRepository,
+                                new InMemoryUserDetailsManager(admin, user));
+                OnbellekliKimlikDogrulayici dogrulayici = new OnbellekliKimlikDogrulayici(kullaniciHesaplari,
+                                kimlikDogrulamaOnbellegi);
+                dogrulayici.setPasswordEncoder(passwordEncoder);
+                return dogrulayici;
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.kutuphane.otomasyon.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aynı anda açık tutulabilecek JDBC bağlantısı sayısını adil (FIFO) bir
+ * semaforla sınırlayan DataSource sarmalayıcısı.
+ *
+ * Sanal iş parçacıklarıyla eşzamanlı istek sayısı Tomcat havuzuyla
+ * sınırlanmaz; binlerce istek bağlantı havuzunda beklerse hepsi havuzun
+ * zaman aşımı (30 sn) kadar asılı kalır. Sınırlayıcı, bekleme süresi dolan
+ * isteği kısa sürede hatayla döndürür (GlobalExceptionHandler: 503) ve JDBC
+ * sürücüsü içinde aynı anda bulunan iş parçacığı sayısını da sınırlar.
+ */
+class SinirliDataSource extends DelegatingDataSource {
+
+    private final Semaphore izinler;
+    private final int enFazla;
+    private final long beklemeNanos;
+
+    SinirliDataSource(DataSource hedef, int enFazla, Duration bekleme) {
+        super(hedef);
+        this.izinler = new Semaphore(enFazla, true);
+        this.enFazla = enFazla;
+        this.beklemeNanos = bekleme.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        izinAl();
+        try {
+            return sarmala(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            izinler.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String kullaniciAdi, String sifre) throws SQLException {
+        izinAl();
+        try {
+            return sarmala(super.getConnection(kullaniciAdi, sifre));
+        } catch (SQLException | RuntimeException e) {
+            izinler.release();
+            throw e;
+        }
+    }
+
+    /** İzin bekleyen iş parçacığı sayısı (yaklaşık). */
+    int bekleyenSayisi() {
+        return izinler.getQueueLength();
+    }
+
+    /** Şu an kullanılan bağlantı izni sayısı. */
+    int kullanilanSayisi() {
+        return enFazla - izinler.availablePermits();
+    }
+
+    private void izinAl() throws SQLException {
+        try {
+            if (!izinler.tryAcquire(beklemeNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("JDBC eşzamanlılık sınırına (" + enFazla
+                        + " bağlantı) ulaşıldı; " + TimeUnit.NANOSECONDS.toMillis(beklemeNanos)
+                        + " ms içinde bağlantı alınamadı.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Bağlantı beklenirken iş parçacığı kesildi.", e);
+        }
+    }
+
+    // close() çağrıldığında izni (yalnızca bir kez) iade eden bağlantı vekili.
+    private Connection sarmala(Connection baglanti) {
+        AtomicBoolean kapandi = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (vekil, metot, argumanlar) -> {
+                    if (metot.getName().equals("close") && metot.getParameterCount() == 0) {
+                        try {
+                            baglanti.close();
+                        } finally {
+                            if (kapandi.compareAndSet(false, true)) {
+                                izinler.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return metot.invoke(baglanti, argumanlar);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -1,12 +1,29 @@
 package com.kutuphane.otomasyon.controller;
 
+import com.kutuphane.otomasyon.akis.StokAkisi;
+import com.kutuphane.otomasyon.dto.AramaSonucu;
+import com.kutuphane.otomasyon.dto.IceAktarmaRaporu;
+import com.kutuphane.otomasyon.dto.KitapSayfasi;
+import com.kutuphane.otomasyon.dto.Oneri;
 import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.exception.IsKuraliException;
 import com.kutuphane.otomasyon.exception.KaynakBulunamadiException;
+import com.kutuphane.otomasyon.izleme.SorguButcesi;
+import com.kutuphane.otomasyon.service.KatalogYanitOnbellegi;
+import com.kutuphane.otomasyon.service.KitapDisaAktarmaService;
+import com.kutuphane.otomasyon.service.KitapIceAktarmaService;
 import com.kutuphane.otomasyon.service.KitapService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Kitap varlıkları ile ilgili HTTP isteklerini yöneten REST denetleyicisi.
@@ -18,13 +35,23 @@ import java.util.List;
 public class KitapController {
 
     private final KitapService kitapService; // İş mantığı servisini tutan final alan
+    private final KitapDisaAktarmaService kitapDisaAktarmaService; // Katalog dışa aktarma servisi
+    private final KitapIceAktarmaService kitapIceAktarmaService; // Toplu katalog içe aktarma servisi
+    private final KatalogYanitOnbellegi katalogYanitOnbellegi; // Hazır JSON kitap listesi
+    private final StokAkisi stokAkisi; // Raf durumu değişikliklerinin SSE akışı
 
     /**
      * Gerekli servisleri enjekte etmek için kullanılan kurucu metot (Constructor
-     * Injection). Spring, KitapService bean'ini otomatik sağlar.
+     * Injection). Spring, servis bean'lerini otomatik sağlar.
      */
-    public KitapController(KitapService kitapService) {
+    public KitapController(KitapService kitapService, KitapDisaAktarmaService kitapDisaAktarmaService,
+            KitapIceAktarmaService kitapIceAktarmaService, KatalogYanitOnbellegi katalogYanitOnbellegi,
+            StokAkisi stokAkisi) {
         this.kitapService = kitapService;
+        this.kitapDisaAktarmaService = kitapDisaAktarmaService;
+        this.kitapIceAktarmaService = kitapIceAktarmaService;
+        this.katalogYanitOnbellegi = katalogYanitOnbellegi;
+        this.stokAkisi = stokAkisi;
     }
 
     /**
@@ -45,12 +72,157 @@ public class KitapController {
      * Sistemdeki tüm kitapları listeler.
      * HTTP Metodu: GET /api/kitaplar
      * 
-     * @return Kitap listesi ve HTTP 200 (OK) durum kodu ile yanıt döndürülür.
+     * Liste, katalog değişene kadar hazır JSON baytları olarak önbellekte
+     * tutulur (bkz. KatalogYanitOnbellegi) ve doğrudan yanıta yazılır. İstemci
+     * gzip kabul ediyorsa sıkıştırılmış hali gönderilir. Yanıt, katalog
+     * sürümünden üretilen güçlü bir ETag taşır; If-None-Match ile gelen istek
+     * katalog değişmemişse gövdesiz 304 alır.
+     * 
+     * @param kodlamalar İstemcinin Accept-Encoding başlığı.
+     * @return Kitap listesi (JSON) ve HTTP 200 (OK) veya değişiklik yoksa HTTP 304
+     *         (Not Modified).
      */
     @GetMapping
-    public ResponseEntity<List<Kitap>> tumKitaplariGetir() {
-        List<Kitap> kitaplar = kitapService.tumKitaplariGetir(); // Tüm kitap verisini servisten çeker
-        return ResponseEntity.ok(kitaplar); // HTTP 200 OK ile listeyi döndürür
+    public ResponseEntity<byte[]> tumKitaplariGetir(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String kodlamalar) {
+        KatalogYanitOnbellegi.AnlikGoruntu yanit = katalogYanitOnbellegi.getir();
+        boolean gzip = yanit.gzip() != null && gzipKabulEdiyor(kodlamalar);
+        ResponseEntity.BodyBuilder cevap = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate()) // Her kullanımda doğrulansın
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return cevap.eTag("\"" + yanit.surum() + "\"").body(yanit.json());
+        }
+        // Sıkıştırılmış gösterim farklı baytlar olduğundan güçlü ETag'i de farklıdır.
+        return cevap.eTag("\"" + yanit.surum() + "-gz\"")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(yanit.gzip());
+    }
+
+    /**
+     * Kitapların raf durumu değişikliklerini Server-Sent Events olarak akıtır.
+     * Her ödünç verme, iade, ekleme ve silmeden sonra "stok" olayıyla
+     * değişen kitaplar (kitapId, mevcut, silindi) gönderilir. İstemci geride
+     * kalırsa ayrıntılar yerine "yenile" olayı gelir; bu durumda ve her
+     * (yeniden) bağlanmada liste GET /api/kitaplar ile yeniden çekilmelidir.
+     * HTTP Metodu: GET /api/kitaplar/stok-akisi
+     * 
+     * @return Olay akışı; bağlı istemci sınırı doluysa HTTP 503 (Service
+     *         Unavailable).
+     */
+    @GetMapping(value = "/stok-akisi", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stokAkisinaAboneOl() {
+        return stokAkisi.aboneOl()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+
+    /**
+     * Kitapları imleç (keyset) tabanlı sayfalama ile listeler. Büyük kataloglarda
+     * tüm listeyi çekmek yerine bu endpoint kullanılmalıdır.
+     * HTTP Metodu: GET /api/kitaplar/sayfa?boyut=...&devam=...&mevcut=...&yazar=...
+     * 
+     * @param devam  Bir önceki yanıttan alınan devam anahtarı (ilk sayfa için
+     *               gönderilmez).
+     * @param boyut  Sayfa boyutu (opsiyonel).
+     * @param mevcut Sadece rafta olan/olmayan kitapları filtreler (opsiyonel).
+     * @param yazar  Yazara göre filtreler (opsiyonel).
+     * @return Kitap sayfası ve HTTP 200 (OK) durum kodu.
+     */
+    @GetMapping("/sayfa")
+    public ResponseEntity<KitapSayfasi> kitapSayfasiGetir(
+            @RequestParam(required = false) String devam,
+            @RequestParam(required = false) Integer boyut,
+            @RequestParam(required = false) Boolean mevcut,
+            @RequestParam(required = false) String yazar) {
+        return ResponseEntity.ok(kitapService.kitapSayfasiGetir(devam, boyut, mevcut, yazar));
+    }
+
+    /**
+     * Barkod okuyucudan gelen ISBN'i kitaba çözer. Sonuçlar (bulunamayanlar
+     * dahil) önbellekten karşılanır.
+     * HTTP Metodu: GET /api/kitaplar/isbn/{isbn}
+     * 
+     * @param isbn Okutulan ISBN.
+     * @return Kitap ve HTTP 200 (OK); bulunamazsa HTTP 404.
+     */
+    @GetMapping("/isbn/{isbn}")
+    public ResponseEntity<Kitap> kitapBulByIsbn(@PathVariable String isbn) {
+        Kitap kitap = kitapService.kitapBulByIsbn(isbn.trim())
+                .orElseThrow(() -> new KaynakBulunamadiException("ISBN: " + isbn + " olan kitap bulunamadı."));
+        return ResponseEntity.ok(kitap);
+    }
+
+    /**
+     * Kitapları başlık ve yazara göre arar. Sonuçlar alaka puanına göre
+     * sıralıdır.
+     * HTTP Metodu: GET /api/kitaplar/ara?q=...&limit=...&bulanik=...
+     * 
+     * @param q       Arama metni.
+     * @param limit   Dönecek en fazla sonuç sayısı (varsayılan: 20).
+     * @param bulanik Yazım hatalarına toleranslı arama (varsayılan: false).
+     * @return Arama sonuçları ve HTTP 200 (OK) durum kodu.
+     */
+    @GetMapping("/ara")
+    public ResponseEntity<List<AramaSonucu>> kitapAra(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean bulanik) {
+        return ResponseEntity.ok(kitapService.kitapAra(q, limit, bulanik));
+    }
+
+    /**
+     * Yazılan öneke göre başlık ve yazar önerileri döndürür (otomatik
+     * tamamlama). Her tuş vuruşunda çağrılacak şekilde tasarlanmıştır.
+     * HTTP Metodu: GET /api/kitaplar/oneri?q=...&k=...
+     * 
+     * @param q Yazılan önek.
+     * @param k İstenen öneri sayısı (varsayılan: 5, en fazla 10).
+     * @return Öneri listesi ve HTTP 200 (OK) durum kodu.
+     */
+    @GetMapping("/oneri")
+    public ResponseEntity<List<Oneri>> oneriGetir(@RequestParam String q,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(kitapService.oneriGetir(q, k));
+    }
+
+    /**
+     * Tüm kataloğu NDJSON veya CSV olarak akış halinde dışa aktarır (gece
+     * senkronizasyonu için). Yanıt, veritabanından okundukça yazılır.
+     * HTTP Metodu: GET /api/kitaplar/admin/disa-aktar?bicim=ndjson|csv
+     * 
+     * @param bicim Çıktı biçimi (varsayılan: ndjson).
+     * @return Akış halinde yazılan yanıt gövdesi ve HTTP 200 (OK).
+     */
+    @GetMapping("/admin/disa-aktar")
+    public ResponseEntity<StreamingResponseBody> kataloguDisaAktar(
+            @RequestParam(defaultValue = "ndjson") String bicim) {
+        KitapDisaAktarmaService.Bicim secilenBicim = bicimCoz(bicim);
+        StreamingResponseBody govde = cikis -> kitapDisaAktarmaService.disaAktar(secilenBicim, cikis);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(secilenBicim.getIcerikTipi() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"kitaplar." + secilenBicim.getUzanti() + "\"")
+                .body(govde);
+    }
+
+    /**
+     * Yeni şube kataloğu gibi büyük kitap listelerini tek istekte içe aktarır.
+     * İstek gövdesi (CSV veya NDJSON) okundukça işlenir; hatalı veya
+     * tekrarlanan kayıtlar raporda listelenir.
+     * HTTP Metodu: POST /api/kitaplar/admin/ice-aktar?bicim=ndjson|csv
+     * 
+     * @param bicim Girdi biçimi (varsayılan: ndjson).
+     * @param govde Ham istek gövdesi.
+     * @return İçe aktarma raporu ve HTTP 200 (OK) durum kodu.
+     */
+    @PostMapping("/admin/ice-aktar")
+    @SorguButcesi(SorguButcesi.SINIRSIZ) // Sorgu sayısı dosyanın boyutuyla büyür
+    public ResponseEntity<IceAktarmaRaporu> kataloguIceAktar(
+            @RequestParam(defaultValue = "ndjson") String bicim, InputStream govde) {
+        return ResponseEntity.ok(kitapIceAktarmaService.iceAktar(bicimCoz(bicim), govde));
     }
 
     /**
@@ -69,4 +241,28 @@ public class KitapController {
         kitapService.kitapSil(id); // Servis üzerinden silme işlemini çağırır
         return ResponseEntity.noContent().build(); // HTTP 204 No Content yanıtı döner
     }
-}
\ No newline at end of file
+
+    // İstekteki biçim adını (ndjson/csv) enum değerine çevirir.
+    private static KitapDisaAktarmaService.Bicim bicimCoz(String bicim) {
+        try {
+            return KitapDisaAktarmaService.Bicim.valueOf(bicim.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IsKuraliException("Desteklenmeyen aktarma biçimi: " + bicim);
+        }
+    }
+
+    // Accept-Encoding başlığında gzip'in (q=0 ile reddedilmeden) geçip geçmediğine bakar.
+    private static boolean gzipKabulEdiyor(String kodlamalar) {
+        if (kodlamalar == null) {
+            return false;
+        }
+        for (String kodlama : kodlamalar.split(",")) {
+            String[] parca = kodlama.split(";");
+            String ad = parca[0].trim();
+            if (ad.equalsIgnoreCase("gzip")) {
+                return parca.length < 2 || !parca[1].trim().matches("(?i)q\\s*=\\s*0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -128,6 +128,7 @@ public class KullaniciController {
                     mevcutUye.setAdSoyad(guncelUye.getAdSoyad());
                     mevcutUye.setEmail(guncelUye.getEmail());
                     mevcutUye.setTelefon(guncelUye.getTelefon());
+                    mevcutUye.setSifre(guncelUye.getSifre()); // Gönderilmediyse (null) şifre değişmez
 
                     // Uye'ye özgü alanları güncelle (Uye.java'dan)
                     mevcutUye.setUyeNo(guncelUye.getUyeNo());
@@ -158,6 +159,7 @@ public class KullaniciController {
                     mevcutPersonel.setAdSoyad(guncelPersonel.getAdSoyad());
                     mevcutPersonel.setEmail(guncelPersonel.getEmail());
                     mevcutPersonel.setTelefon(guncelPersonel.getTelefon());
+                    mevcutPersonel.setSifre(guncelPersonel.getSifre()); // Gönderilmediyse (null) şifre değişmez
 
                     // Personel'e özgü alanları güncelle (Personel.java'dan)
                     mevcutPersonel.setSicilNo(guncelPersonel.getSicilNo());
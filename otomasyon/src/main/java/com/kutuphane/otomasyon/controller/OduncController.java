@@ -1,11 +1,19 @@
 package com.kutuphane.otomasyon.controller;
 
+import com.kutuphane.otomasyon.dto.TopluIadeIstegi;
+import com.kutuphane.otomasyon.dto.TopluIslemSonucu;
+import com.kutuphane.otomasyon.dto.TopluOduncIstegi;
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.izleme.SorguButcesi;
 import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.service.OduncMetrikleri;
 import com.kutuphane.otomasyon.service.OduncService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Ödünç alma ve iade işlemleri ile ilgili HTTP isteklerini yöneten REST
  * denetleyicisi. Bu, Kitap ve Kullanıcı arasındaki ilişkiyi yönetir.
@@ -15,13 +23,15 @@ import org.springframework.web.bind.annotation.*;
 public class OduncController {
 
     private final OduncService oduncService; // İş mantığı servisini tutan alan
+    private final OduncMetrikleri oduncMetrikleri; // Ödünç/iade sürelerini sonuçlarıyla ölçer
 
     /**
      * Gerekli servisleri enjekte etmek için kullanılan kurucu metot (Constructor
      * Injection).
      */
-    public OduncController(OduncService oduncService) {
+    public OduncController(OduncService oduncService, OduncMetrikleri oduncMetrikleri) {
         this.oduncService = oduncService;
+        this.oduncMetrikleri = oduncMetrikleri;
     }
 
     /**
@@ -39,10 +49,26 @@ public class OduncController {
             @RequestParam("userId") Long kullaniciId) { // URL'deki Query Parametresi 'userId' alınır
 
         // Servis, iş kurallarını (limit kontrolü, stok azaltma) uygular
-        Odunc yeniOdunc = oduncService.kitapOduncVer(kullaniciId, kitapId);
+        Odunc yeniOdunc = oduncMetrikleri.olc(OduncMetrikleri.ODUNC_VER,
+                () -> oduncService.kitapOduncVer(kullaniciId, kitapId));
         return new ResponseEntity<>(yeniOdunc, HttpStatus.CREATED);
     }
 
+    /**
+     * Bir kullanıcıya birden fazla kitabı tek işlemde ödünç verir.
+     * HTTP Metodu: POST /api/odunc/ver-toplu
+     * Gövde: {"userId": 5, "kitapIdleri": [10, 11, 12]}
+     * 
+     * @param istek Kullanıcı ID'si ve kitap ID'lerini içeren istek gövdesi.
+     * @return Her kitap için işlem sonucu ve HTTP 200 (OK) durum kodu.
+     */
+    @PostMapping("/ver-toplu")
+    @SorguButcesi(100) // IN listeleri 500'lük parçalara bölündüğü için girdiyle yavaş büyür
+    public ResponseEntity<List<TopluIslemSonucu>> topluOduncVer(@RequestBody TopluOduncIstegi istek) {
+        List<TopluIslemSonucu> sonuclar = oduncService.topluOduncVer(istek.getUserId(), istek.getKitapIdleri());
+        return ResponseEntity.ok(sonuclar);
+    }
+
     /**
      * Bir ödünç kaydını sonlandırarak kitabın iade edilmesini sağlar.
      * HTTP Metodu: PUT /api/odunc/iade/{oduncId}
@@ -53,8 +79,41 @@ public class OduncController {
     @PutMapping("/iade/{oduncId}")
     public ResponseEntity<Odunc> kitapIadeAl(@PathVariable Long oduncId) {
         // Servis, iade işlemini (stok arttırma, kayıt sonlandırma) uygular
-        Odunc iadeEdilen = oduncService.kitapIadeAl(oduncId);
+        Odunc iadeEdilen = oduncMetrikleri.olc(OduncMetrikleri.IADE_AL, () -> oduncService.kitapIadeAl(oduncId));
         return ResponseEntity.ok(iadeEdilen);
     }
 
-}
\ No newline at end of file
+    /**
+     * İade kutusundan gelen kitapları tek işlemde iade alır.
+     * HTTP Metodu: PUT /api/odunc/iade-toplu
+     * Gövde: {"oduncIdleri": [100, 101]} veya {"isbnler": ["978..."]}
+     * 
+     * @param istek Ödünç ID'leri veya ISBN'leri içeren istek gövdesi.
+     * @return Her kalem için işlem sonucu ve HTTP 200 (OK) durum kodu.
+     */
+    @PutMapping("/iade-toplu")
+    @SorguButcesi(100) // IN listeleri 500'lük parçalara bölündüğü için girdiyle yavaş büyür
+    public ResponseEntity<List<TopluIslemSonucu>> topluIadeAl(@RequestBody TopluIadeIstegi istek) {
+        boolean idVar = istek.getOduncIdleri() != null && !istek.getOduncIdleri().isEmpty();
+        boolean isbnVar = istek.getIsbnler() != null && !istek.getIsbnler().isEmpty();
+        if (idVar == isbnVar) {
+            throw new IsKuraliException("Ya 'oduncIdleri' ya da 'isbnler' gönderilmelidir.");
+        }
+        List<TopluIslemSonucu> sonuclar = idVar ? oduncService.topluIadeAl(istek.getOduncIdleri())
+                : oduncService.topluIadeAlIsbn(istek.getIsbnler());
+        return ResponseEntity.ok(sonuclar);
+    }
+
+    /**
+     * Tüm kullanıcıların aktif ödünç sayaçlarını oduncler tablosuyla eşitler.
+     * Tüm tabloyu güncellediği için yalnızca bakım amaçlı (ör. sayaç sütununun
+     * eklendiği sürüme geçişten sonra) bir kez çağrılır.
+     * HTTP Metodu: POST /api/odunc/sayaclar/esitle
+     * 
+     * @return Güncellenen kullanıcı sayısı ve HTTP 200 (OK) durum kodu.
+     */
+    @PostMapping("/sayaclar/esitle")
+    public ResponseEntity<Integer> sayaclariEsitle() {
+        return ResponseEntity.ok(oduncService.aktifOduncSayaclariniEsitle());
+    }
+}
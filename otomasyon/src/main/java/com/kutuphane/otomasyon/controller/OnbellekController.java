@@ -0,0 +1,50 @@
+package com.kutuphane.otomasyon.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kutuphane.otomasyon.dto.OnbellekIstatistigi;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uygulama içi önbelleklerin isabet/ıskalama istatistiklerini sunan yönetim
+ * denetleyicisi.
+ */
+@RestController
+@RequestMapping("/api/admin/onbellek")
+public class OnbellekController {
+
+    private final CacheManager cacheManager; // Tanımlı önbellekleri tutan yönetici
+
+    public OnbellekController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Tüm önbelleklerin istatistiklerini listeler.
+     * HTTP Metodu: GET /api/admin/onbellek
+     * 
+     * @return Önbellek istatistikleri ve HTTP 200 (OK) durum kodu.
+     */
+    @GetMapping
+    public ResponseEntity<List<OnbellekIstatistigi>> istatistikleriGetir() {
+        List<OnbellekIstatistigi> istatistikler = new ArrayList<>();
+        for (String ad : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(ad);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> yerel = caffeineCache.getNativeCache();
+                CacheStats stats = yerel.stats();
+                istatistikler.add(new OnbellekIstatistigi(ad, yerel.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(istatistikler);
+    }
+}
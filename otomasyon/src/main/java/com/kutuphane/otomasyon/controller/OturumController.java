@@ -0,0 +1,38 @@
+package com.kutuphane.otomasyon.controller;
+
+import com.kutuphane.otomasyon.dto.GirisIstegi;
+import com.kutuphane.otomasyon.dto.OturumTokeni;
+import com.kutuphane.otomasyon.guvenlik.OturumTokeniService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Giriş yapıp imzalı oturum tokeni almak için kullanılan REST denetleyicisi.
+ * İstemci (kutuphanem) şifreyi yalnızca girişte gönderir; sonraki isteklerde
+ * "Authorization: Bearer &lt;token&gt;" başlığını kullanır.
+ */
+@RestController
+@RequestMapping("/api/oturum")
+public class OturumController {
+
+    private final OturumTokeniService oturumTokeniService;
+
+    public OturumController(OturumTokeniService oturumTokeniService) {
+        this.oturumTokeniService = oturumTokeniService;
+    }
+
+    /**
+     * Kullanıcı adı ve şifreyi doğrulayıp token üretir.
+     * HTTP Metodu: POST /api/oturum/giris
+     * 
+     * @param istek Kullanıcı adı (e-posta) ve şifre.
+     * @return Token, bitiş anı ve roller; bilgiler hatalıysa HTTP 401.
+     */
+    @PostMapping("/giris")
+    public ResponseEntity<OturumTokeni> girisYap(@RequestBody GirisIstegi istek) {
+        return ResponseEntity.ok(oturumTokeniService.girisYap(istek));
+    }
+}
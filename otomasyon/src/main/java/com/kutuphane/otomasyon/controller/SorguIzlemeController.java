@@ -0,0 +1,51 @@
+package com.kutuphane.otomasyon.controller;
+
+import com.kutuphane.otomasyon.dto.SorguIstatistigi;
+import com.kutuphane.otomasyon.izleme.SorguIstatistikleri;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Endpoint başına Hibernate sorgu sayılarını (N+1 tespiti) sunan yönetim
+ * denetleyicisi.
+ */
+@RestController
+@RequestMapping("/api/admin/sorgular")
+public class SorguIzlemeController {
+
+    private final SorguIstatistikleri sorguIstatistikleri; // Endpoint bazında biriken ölçümler
+
+    public SorguIzlemeController(SorguIstatistikleri sorguIstatistikleri) {
+        this.sorguIstatistikleri = sorguIstatistikleri;
+    }
+
+    /**
+     * Tek istekte en çok sorgu çalıştıran endpoint'leri listeler.
+     * HTTP Metodu: GET /api/admin/sorgular?limit=20
+     * 
+     * @param limit Listelenecek en fazla endpoint sayısı.
+     * @return En kötüden iyiye sıralı istatistikler ve HTTP 200 (OK).
+     */
+    @GetMapping
+    public ResponseEntity<List<SorguIstatistigi>> enKotuleriGetir(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(sorguIstatistikleri.enKotuler(Math.max(limit, 1)));
+    }
+
+    /**
+     * Biriken istatistikleri sıfırlar (ör. bir yük testinden önce).
+     * HTTP Metodu: DELETE /api/admin/sorgular
+     * 
+     * @return HTTP 204 (No Content).
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> sifirla() {
+        sorguIstatistikleri.sifirla();
+        return ResponseEntity.noContent().build();
+    }
+}
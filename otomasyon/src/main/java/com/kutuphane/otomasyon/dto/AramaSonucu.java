@@ -0,0 +1,38 @@
+package com.kutuphane.otomasyon.dto;
+
+/**
+ * Katalog aramasında dönen tek bir sonuç. Sonuçlar bellek içi indeksten
+ * üretildiği için veritabanına gidilmeden oluşturulur.
+ */
+public class AramaSonucu {
+
+    private final Long id; // Kitabın ID'si
+    private final String baslik; // Kitabın başlığı
+    private final String yazar; // Kitabın yazarı
+    private final double skor; // Sıralama puanı (yüksek olan daha alakalı)
+
+    public AramaSonucu(Long id, String baslik, String yazar, double skor) {
+        this.id = id;
+        this.baslik = baslik;
+        this.yazar = yazar;
+        this.skor = skor;
+    }
+
+    // --- Getter Metotları ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getBaslik() {
+        return baslik;
+    }
+
+    public String getYazar() {
+        return yazar;
+    }
+
+    public double getSkor() {
+        return skor;
+    }
+}
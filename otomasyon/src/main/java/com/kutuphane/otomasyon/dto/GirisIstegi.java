@@ -0,0 +1,33 @@
+package com.kutuphane.otomasyon.dto;
+
+/**
+ * Oturum tokeni almak için giriş isteği gövdesi.
+ * Örnek: {"kullaniciAdi": "uye@mail.com", "sifre": "..."}
+ */
+public class GirisIstegi {
+
+    private String kullaniciAdi; // Kullanıcının e-posta adresi (veya sistem hesabı adı)
+    private String sifre;
+
+    // JSON'dan nesne oluşturulabilmesi için boş constructor.
+    public GirisIstegi() {
+    }
+
+    // --- Getter ve Setter Metotları ---
+
+    public String getKullaniciAdi() {
+        return kullaniciAdi;
+    }
+
+    public void setKullaniciAdi(String kullaniciAdi) {
+        this.kullaniciAdi = kullaniciAdi;
+    }
+
+    public String getSifre() {
+        return sifre;
+    }
+
+    public void setSifre(String sifre) {
+        this.sifre = sifre;
+    }
+}
@@ -0,0 +1,76 @@
+package com.kutuphane.otomasyon.dto;
+
+import java.util.List;
+
+/**
+ * Toplu katalog içe aktarma işleminin özeti.
+ * Reddedilen satırların tamamı sayılır, ancak yanıtın şişmemesi için yalnızca
+ * ilk birkaç tanesinin ayrıntısı listelenir.
+ */
+public class IceAktarmaRaporu {
+
+    private final long okunanKayit; // Dosyadan okunan kayıt sayısı (başlık hariç)
+    private final long eklenenKayit; // Veritabanına yazılan kitap sayısı
+    private final long reddedilenKayit; // Reddedilen toplam kayıt sayısı
+    private final List<ReddedilenKayit> reddedilenler; // Reddedilen kayıtların (ilk N) ayrıntısı
+    private final long sureMs; // İşlemin toplam süresi (milisaniye)
+
+    public IceAktarmaRaporu(long okunanKayit, long eklenenKayit, long reddedilenKayit,
+            List<ReddedilenKayit> reddedilenler, long sureMs) {
+        this.okunanKayit = okunanKayit;
+        this.eklenenKayit = eklenenKayit;
+        this.reddedilenKayit = reddedilenKayit;
+        this.reddedilenler = reddedilenler;
+        this.sureMs = sureMs;
+    }
+
+    // --- Getter Metotları ---
+
+    public long getOkunanKayit() {
+        return okunanKayit;
+    }
+
+    public long getEklenenKayit() {
+        return eklenenKayit;
+    }
+
+    public long getReddedilenKayit() {
+        return reddedilenKayit;
+    }
+
+    public List<ReddedilenKayit> getReddedilenler() {
+        return reddedilenler;
+    }
+
+    public long getSureMs() {
+        return sureMs;
+    }
+
+    /**
+     * İçe aktarılamayan tek bir kaydın satır numarası ve red nedeni.
+     */
+    public static class ReddedilenKayit {
+
+        private final long satir; // Kaydın dosyadaki başlangıç satırı (1'den başlar)
+        private final String isbn; // Okunabildiyse kaydın ISBN'i
+        private final String sebep; // Red nedeni
+
+        public ReddedilenKayit(long satir, String isbn, String sebep) {
+            this.satir = satir;
+            this.isbn = isbn;
+            this.sebep = sebep;
+        }
+
+        public long getSatir() {
+            return satir;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        public String getSebep() {
+            return sebep;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.kutuphane.otomasyon.dto;
+
+import com.kutuphane.otomasyon.model.Kitap;
+
+import java.util.List;
+
+/**
+ * İmleç (keyset) tabanlı sayfalama ile dönen bir kitap sayfasını temsil eder.
+ * İstemci bir sonraki sayfayı almak için 'devam' değerini aynen geri gönderir.
+ */
+public class KitapSayfasi {
+
+    private final List<Kitap> kitaplar; // Bu sayfadaki kitaplar
+    private final String devam; // Sonraki sayfanın opak devam anahtarı (son sayfada null)
+
+    public KitapSayfasi(List<Kitap> kitaplar, String devam) {
+        this.kitaplar = kitaplar;
+        this.devam = devam;
+    }
+
+    // --- Getter Metotları ---
+
+    public List<Kitap> getKitaplar() {
+        return kitaplar;
+    }
+
+    public String getDevam() {
+        return devam;
+    }
+
+    public boolean isSonSayfa() { // Devam anahtarı yoksa son sayfadır
+        return devam == null;
+    }
+}
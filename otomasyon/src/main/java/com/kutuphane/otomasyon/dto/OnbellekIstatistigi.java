@@ -0,0 +1,50 @@
+package com.kutuphane.otomasyon.dto;
+
+/**
+ * Tek bir önbellek bölgesinin anlık doluluk ve isabet istatistikleri.
+ */
+public class OnbellekIstatistigi {
+
+    private final String ad; // Önbellek adı
+    private final long boyut; // Yaklaşık kayıt sayısı
+    private final long isabet; // Önbellekten karşılanan istek sayısı (hit)
+    private final long iskalama; // Veritabanına gidilen istek sayısı (miss)
+    private final double isabetOrani; // isabet / (isabet + iskalama)
+    private final long tahliye; // Boyut veya süre nedeniyle atılan kayıt sayısı (eviction)
+
+    public OnbellekIstatistigi(String ad, long boyut, long isabet, long iskalama, double isabetOrani,
+            long tahliye) {
+        this.ad = ad;
+        this.boyut = boyut;
+        this.isabet = isabet;
+        this.iskalama = iskalama;
+        this.isabetOrani = isabetOrani;
+        this.tahliye = tahliye;
+    }
+
+    // --- Getter Metotları ---
+
+    public String getAd() {
+        return ad;
+    }
+
+    public long getBoyut() {
+        return boyut;
+    }
+
+    public long getIsabet() {
+        return isabet;
+    }
+
+    public long getIskalama() {
+        return iskalama;
+    }
+
+    public double getIsabetOrani() {
+        return isabetOrani;
+    }
+
+    public long getTahliye() {
+        return tahliye;
+    }
+}
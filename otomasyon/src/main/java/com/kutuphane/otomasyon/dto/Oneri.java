@@ -0,0 +1,34 @@
+package com.kutuphane.otomasyon.dto;
+
+import java.util.List;
+
+/**
+ * Otomatik tamamlama (autocomplete) önerisi. Bir başlık ya da yazar adını ve
+ * bu metne sahip kitapların ID'lerini içerir.
+ */
+public class Oneri {
+
+    private final String metin; // Gösterilecek tamamlama (orijinal yazımıyla)
+    private final String tur; // "baslik" veya "yazar"
+    private final List<Long> kitapIdleri; // Bu tamamlamaya karşılık gelen kitaplar
+
+    public Oneri(String metin, String tur, List<Long> kitapIdleri) {
+        this.metin = metin;
+        this.tur = tur;
+        this.kitapIdleri = kitapIdleri;
+    }
+
+    // --- Getter Metotları ---
+
+    public String getMetin() {
+        return metin;
+    }
+
+    public String getTur() {
+        return tur;
+    }
+
+    public List<Long> getKitapIdleri() {
+        return kitapIdleri;
+    }
+}
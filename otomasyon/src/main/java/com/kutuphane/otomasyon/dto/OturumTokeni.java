@@ -0,0 +1,40 @@
+package com.kutuphane.otomasyon.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Başarılı girişte dönen imzalı oturum tokeni. İstemci sonraki isteklerde
+ * "Authorization: Bearer &lt;token&gt;" başlığını gönderir.
+ */
+public class OturumTokeni {
+
+    private final String token;
+    private final String tur = "Bearer";
+    private final Instant bitis; // Bu andan sonra token reddedilir; yeniden giriş gerekir
+    private final List<String> roller; // Ör. ["ROLE_USER"]
+
+    public OturumTokeni(String token, Instant bitis, List<String> roller) {
+        this.token = token;
+        this.bitis = bitis;
+        this.roller = roller;
+    }
+
+    // --- Getter Metotları ---
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getTur() {
+        return tur;
+    }
+
+    public Instant getBitis() {
+        return bitis;
+    }
+
+    public List<String> getRoller() {
+        return roller;
+    }
+}
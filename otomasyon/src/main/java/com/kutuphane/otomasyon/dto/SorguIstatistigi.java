@@ -0,0 +1,70 @@
+package com.kutuphane.otomasyon.dto;
+
+/**
+ * Bir endpoint'in (HTTP metodu + URL kalıbı) istek başına Hibernate sorgu,
+ * entity yükleme ve koleksiyon yükleme istatistikleri.
+ */
+public class SorguIstatistigi {
+
+    private final String ucNokta; // Ör. "GET /api/kitaplar/{id}"
+    private final long istekSayisi;
+    private final double ortalamaSorgu; // İstek başına ortalama SQL cümlesi
+    private final int enFazlaSorgu; // Tek istekte görülen en fazla SQL cümlesi
+    private final double ortalamaEntityYukleme;
+    private final int enFazlaEntityYukleme;
+    private final double ortalamaKoleksiyonYukleme;
+    private final int butce; // Geçerli sorgu bütçesi; -1 ise sınırsız
+    private final long butceAsimi; // Bütçeyi aşan istek sayısı
+
+    public SorguIstatistigi(String ucNokta, long istekSayisi, double ortalamaSorgu, int enFazlaSorgu,
+            double ortalamaEntityYukleme, int enFazlaEntityYukleme, double ortalamaKoleksiyonYukleme, int butce,
+            long butceAsimi) {
+        this.ucNokta = ucNokta;
+        this.istekSayisi = istekSayisi;
+        this.ortalamaSorgu = ortalamaSorgu;
+        this.enFazlaSorgu = enFazlaSorgu;
+        this.ortalamaEntityYukleme = ortalamaEntityYukleme;
+        this.enFazlaEntityYukleme = enFazlaEntityYukleme;
+        this.ortalamaKoleksiyonYukleme = ortalamaKoleksiyonYukleme;
+        this.butce = butce;
+        this.butceAsimi = butceAsimi;
+    }
+
+    // --- Getter Metotları ---
+
+    public String getUcNokta() {
+        return ucNokta;
+    }
+
+    public long getIstekSayisi() {
+        return istekSayisi;
+    }
+
+    public double getOrtalamaSorgu() {
+        return ortalamaSorgu;
+    }
+
+    public int getEnFazlaSorgu() {
+        return enFazlaSorgu;
+    }
+
+    public double getOrtalamaEntityYukleme() {
+        return ortalamaEntityYukleme;
+    }
+
+    public int getEnFazlaEntityYukleme() {
+        return enFazlaEntityYukleme;
+    }
+
+    public double getOrtalamaKoleksiyonYukleme() {
+        return ortalamaKoleksiyonYukleme;
+    }
+
+    public int getButce() {
+        return butce;
+    }
+
+    public long getButceAsimi() {
+        return butceAsimi;
+    }
+}
@@ -0,0 +1,33 @@
+package com.kutuphane.otomasyon.dto;
+
+/**
+ * Stok akışında (GET /api/kitaplar/stok-akisi) istemcilere gönderilen, bir
+ * kitabın raf durumundaki değişiklik. Aynı kitap için art arda gelen
+ * değişikliklerden yalnızca sonuncusu gönderilir.
+ */
+public class StokDegisikligi {
+
+    private final Long kitapId;
+    private final boolean mevcut; // Kitabın yeni durumu: rafta mı
+    private final boolean silindi; // Kitap katalogdan silindiyse true (mevcut false olur)
+
+    public StokDegisikligi(Long kitapId, boolean mevcut, boolean silindi) {
+        this.kitapId = kitapId;
+        this.mevcut = mevcut;
+        this.silindi = silindi;
+    }
+
+    // --- Getter Metotları ---
+
+    public Long getKitapId() {
+        return kitapId;
+    }
+
+    public boolean isMevcut() {
+        return mevcut;
+    }
+
+    public boolean isSilindi() {
+        return silindi;
+    }
+}
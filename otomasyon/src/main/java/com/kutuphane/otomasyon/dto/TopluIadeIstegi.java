@@ -0,0 +1,37 @@
+package com.kutuphane.otomasyon.dto;
+
+import java.util.List;
+
+/**
+ * İade kutusundan gelen kitapları tek seferde iade almak için istek gövdesi.
+ * Ödünç kayıt ID'leri veya (barkod okuyucudan gelen) ISBN'ler gönderilir;
+ * ikisi birlikte gönderilemez.
+ * Örnek: {"oduncIdleri": [100, 101]} veya {"isbnler": ["978...", "975..."]}
+ */
+public class TopluIadeIstegi {
+
+    private List<Long> oduncIdleri; // İade edilecek ödünç kayıtlarının ID'leri
+    private List<String> isbnler; // İade edilen kitapların ISBN'leri
+
+    // JSON'dan nesne oluşturulabilmesi için boş constructor.
+    public TopluIadeIstegi() {
+    }
+
+    // --- Getter ve Setter Metotları ---
+
+    public List<Long> getOduncIdleri() {
+        return oduncIdleri;
+    }
+
+    public void setOduncIdleri(List<Long> oduncIdleri) {
+        this.oduncIdleri = oduncIdleri;
+    }
+
+    public List<String> getIsbnler() {
+        return isbnler;
+    }
+
+    public void setIsbnler(List<String> isbnler) {
+        this.isbnler = isbnler;
+    }
+}
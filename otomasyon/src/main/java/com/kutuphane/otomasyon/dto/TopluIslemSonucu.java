@@ -0,0 +1,59 @@
+package com.kutuphane.otomasyon.dto;
+
+/**
+ * Toplu ödünç verme / iade işlemlerinde her bir kalem için dönen sonuç.
+ * Toplu işlemin tamamı başarısız olmaz; hangi kalemin neden reddedildiği bu
+ * nesneyle bildirilir.
+ */
+public class TopluIslemSonucu {
+
+    private final String referans; // İstekte gönderilen değer (kitap ID'si, ödünç ID'si veya ISBN)
+    private final Long kitapId; // İlgili kitabın ID'si (bulunamadıysa null)
+    private final Long oduncId; // Oluşan/güncellenen ödünç kaydının ID'si (başarısızsa null)
+    private final boolean basarili; // Kalem işlendi mi?
+    private final String mesaj; // Açıklama veya hata nedeni
+
+    public TopluIslemSonucu(String referans, Long kitapId, Long oduncId, boolean basarili, String mesaj) {
+        this.referans = referans;
+        this.kitapId = kitapId;
+        this.oduncId = oduncId;
+        this.basarili = basarili;
+        this.mesaj = mesaj;
+    }
+
+    /**
+     * Başarılı bir kalem için sonuç oluşturur.
+     */
+    public static TopluIslemSonucu basarili(String referans, Long kitapId, Long oduncId, String mesaj) {
+        return new TopluIslemSonucu(referans, kitapId, oduncId, true, mesaj);
+    }
+
+    /**
+     * Reddedilen bir kalem için sonuç oluşturur.
+     */
+    public static TopluIslemSonucu reddedildi(String referans, Long kitapId, String mesaj) {
+        return new TopluIslemSonucu(referans, kitapId, null, false, mesaj);
+    }
+
+    // --- Getter Metotları ---
+
+    public String getReferans() {
+        return referans;
+    }
+
+    public Long getKitapId() {
+        return kitapId;
+    }
+
+    public Long getOduncId() {
+        return oduncId;
+    }
+
+    public boolean isBasarili() {
+        return basarili;
+    }
+
+    public String getMesaj() {
+        return mesaj;
+    }
+}
@@ -0,0 +1,35 @@
+package com.kutuphane.otomasyon.dto;
+
+import java.util.List;
+
+/**
+ * Bir kullanıcıya birden fazla kitabı tek seferde ödünç vermek için istek
+ * gövdesi. Örnek: {"userId": 5, "kitapIdleri": [10, 11, 12]}
+ */
+public class TopluOduncIstegi {
+
+    private Long userId; // Kitapları alacak kullanıcının ID'si
+    private List<Long> kitapIdleri; // Ödünç verilecek kitapların ID'leri
+
+    // JSON'dan nesne oluşturulabilmesi için boş constructor.
+    public TopluOduncIstegi() {
+    }
+
+    // --- Getter ve Setter Metotları ---
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<Long> getKitapIdleri() {
+        return kitapIdleri;
+    }
+
+    public void setKitapIdleri(List<Long> kitapIdleri) {
+        this.kitapIdleri = kitapIdleri;
+    }
+}
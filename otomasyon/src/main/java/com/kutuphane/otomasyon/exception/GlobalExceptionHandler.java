@@ -2,8 +2,12 @@ package com.kutuphane.otomasyon.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -42,6 +46,31 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
     }
 
+    /**
+     * Girişte kullanıcı adı veya şifre hatalı olduğunda fırlatılan istisnaları
+     * yakalar. Hangi bilginin hatalı olduğu istemciye söylenmez.
+     * 
+     * @return HTTP 401 UNAUTHORIZED yanıtı döndürülür.
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Object> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
+        return buildErrorResponse(ex, "Kullanıcı adı veya şifre hatalı.", HttpStatus.UNAUTHORIZED, request);
+    }
+
+    /**
+     * Veritabanı bağlantısı alınamadığında (bağlantı havuzu veya JDBC
+     * eşzamanlılık sınırı dolu, veritabanı erişilemez) fırlatılan istisnaları
+     * yakalar. İstemci isteği kısa süre sonra tekrar deneyebilir.
+     * 
+     * @return HTTP 503 SERVICE_UNAVAILABLE yanıtı döndürülür.
+     */
+    @ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+    public ResponseEntity<Object> handleVeritabaniMesgulException(Exception ex, WebRequest request) {
+        log.warn("Veritabanı bağlantısı alınamadı: {}", NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        return buildErrorResponse(ex, "Sistem şu anda yoğun. Lütfen kısa bir süre sonra tekrar deneyin.",
+                HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     /**
      * Uygulama genelinde beklenmedik tüm diğer istisnaları (NullPointer vs.)
      * yakalar.
@@ -14,12 +14,38 @@ public class IsKuraliException extends RuntimeException {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * İhlal edilen kuralın türü. Mesajdan bağımsız olarak (ör. metriklerde)
+     * sınıflandırma yapabilmek için kullanılır.
+     */
+    public enum Sebep {
+        LIMIT_DOLU, STOKTA_YOK, ZATEN_IADE_EDILMIS, DIGER
+    }
+
+    private final Sebep sebep;
+
     /**
      * Bu istisnayı, hatanın açıklayıcı mesajıyla birlikte oluşturur.
      * 
      * @param message Hata mesajı (Örn: "Üye ödünç limitini aştı.").
      */
     public IsKuraliException(String message) {
+        this(message, Sebep.DIGER);
+    }
+
+    /**
+     * Bu istisnayı, hatanın açıklayıcı mesajı ve ihlal edilen kuralın türüyle
+     * birlikte oluşturur.
+     * 
+     * @param message Hata mesajı.
+     * @param sebep   İhlal edilen kuralın türü.
+     */
+    public IsKuraliException(String message, Sebep sebep) {
         super(message);
+        this.sebep = sebep;
+    }
+
+    public Sebep getSebep() {
+        return sebep;
     }
 }
\ No newline at end of file
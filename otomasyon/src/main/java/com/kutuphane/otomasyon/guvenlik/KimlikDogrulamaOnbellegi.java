@@ -0,0 +1,93 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.kutuphane.otomasyon.config.OnbellekConfig;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Başarılı şifre doğrulamalarını kısa süreliğine hatırlayan önbellek. HTTP
+ * Basic ile her istekte gelen şifre için bcrypt (onlarca ms CPU) yerine tek
+ * bir HMAC hesaplanır.
+ *
+ * Anahtar, kullanıcı adı, saklı şifre özeti ve gelen şifrenin, uygulama her
+ * açıldığında rastgele üretilen bir tuzla alınmış HMAC-SHA256 özetidir; açık
+ * şifre bellekte tutulmaz. Saklı özet anahtarın parçası olduğundan şifre
+ * değiştiğinde eski kayıt kendiliğinden geçersiz kalır. Kullanıcı
+ * güncellendiğinde veya silindiğinde kayıtları ayrıca atılır (bkz.
+ * KullaniciService). Boyut ve yaşam süresi OnbellekConfig'te sınırlanır.
+ */
+@Component
+public class KimlikDogrulamaOnbellegi {
+
+    private static final String ALGORITMA = "HmacSHA256";
+
+    // Sistem hesaplarında (veritabanında olmayan) kullaniciId null'dır.
+    private record Anahtar(Long kullaniciId, String ozet) {
+    }
+
+    private final Cache<Object, Object> dogrulamalar;
+    private final SecretKeySpec tuz;
+
+    public KimlikDogrulamaOnbellegi(CacheManager cacheManager) {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(OnbellekConfig.KIMLIK_DOGRULAMALARI);
+        this.dogrulamalar = cache.getNativeCache();
+        byte[] rastgele = new byte[32];
+        new SecureRandom().nextBytes(rastgele);
+        this.tuz = new SecretKeySpec(rastgele, ALGORITMA);
+    }
+
+    /**
+     * Bu kullanıcı adı, saklı özet ve şifre üçlüsü yakın zamanda doğrulandı mı?
+     */
+    boolean dogrulanmisMi(Long kullaniciId, String kullaniciAdi, String sifreOzeti, String hamSifre) {
+        return dogrulamalar.getIfPresent(anahtar(kullaniciId, kullaniciAdi, sifreOzeti, hamSifre)) != null;
+    }
+
+    /**
+     * bcrypt ile doğrulanmış üçlüyü önbelleğe yazar.
+     */
+    void kaydet(Long kullaniciId, String kullaniciAdi, String sifreOzeti, String hamSifre) {
+        dogrulamalar.put(anahtar(kullaniciId, kullaniciAdi, sifreOzeti, hamSifre), Boolean.TRUE);
+    }
+
+    /**
+     * Kullanıcının tüm doğrulama kayıtlarını atar (güncelleme ve silmede).
+     */
+    public void unut(Long kullaniciId) {
+        dogrulamalar.asMap().keySet().removeIf(a -> Objects.equals(((Anahtar) a).kullaniciId(), kullaniciId));
+    }
+
+    /** Kullanıcının önbellekteki doğrulama kaydı sayısı. */
+    long kayitSayisi(Long kullaniciId) {
+        return dogrulamalar.asMap().keySet().stream()
+                .filter(a -> Objects.equals(((Anahtar) a).kullaniciId(), kullaniciId))
+                .count();
+    }
+
+    private Anahtar anahtar(Long kullaniciId, String kullaniciAdi, String sifreOzeti, String hamSifre) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMA); // Mac iş parçacığı güvenli değil; çağrı başına
+            mac.init(tuz);
+            // Alanlar uzunluk önekiyle eklenir; ("ab", "c") ile ("a", "bc") aynı özeti vermez.
+            for (String alan : new String[] { kullaniciAdi, sifreOzeti, hamSifre }) {
+                byte[] bayt = alan.getBytes(StandardCharsets.UTF_8);
+                mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bayt.length).array());
+                mac.update(bayt);
+            }
+            return new Anahtar(kullaniciId, Base64.getEncoder().encodeToString(mac.doFinal()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITMA + " kullanılamıyor.", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import com.kutuphane.otomasyon.model.Kullanici;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Veritabanındaki bir kullanıcının güvenlik hesabı. Kullanıcı adı e-posta
+ * adresidir. Personel dahil tüm kullanıcılar USER rolünü alır; ADMIN yetkisi
+ * (kullanıcı yönetimi, içe aktarma, /api/admin/**, /actuator/**) yalnızca
+ * SecurityConfig'teki sistem hesabındadır.
+ */
+public class KullaniciHesabi extends User {
+
+    private final Long kullaniciId;
+
+    KullaniciHesabi(Kullanici kullanici) {
+        super(kullanici.getEmail(), kullanici.getSifreOzeti(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        this.kullaniciId = kullanici.getId();
+    }
+
+    public Long getKullaniciId() {
+        return kullaniciId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import com.kutuphane.otomasyon.model.Kullanici;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+/**
+ * HTTP Basic kullanıcılarını kullanicilar tablosundan (e-posta ile) yükleyen
+ * servis. Şifresi tanımlı olmayan veya tabloda bulunmayan kullanıcı adları,
+ * SecurityConfig'te tanımlı sistem hesaplarında aranır.
+ */
+public class KullaniciHesapService implements UserDetailsService {
+
+    private final KullaniciRepository kullaniciRepository;
+    private final UserDetailsService sistemHesaplari;
+
+    public KullaniciHesapService(KullaniciRepository kullaniciRepository, UserDetailsService sistemHesaplari) {
+        this.kullaniciRepository = kullaniciRepository;
+        this.sistemHesaplari = sistemHesaplari;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String kullaniciAdi) throws UsernameNotFoundException {
+        Optional<Kullanici> kullanici = kullaniciRepository.findByEmail(kullaniciAdi);
+        if (kullanici.isPresent() && kullanici.get().getSifreOzeti() != null) {
+            return new KullaniciHesabi(kullanici.get());
+        }
+        return sistemHesaplari.loadUserByUsername(kullaniciAdi);
+    }
+}
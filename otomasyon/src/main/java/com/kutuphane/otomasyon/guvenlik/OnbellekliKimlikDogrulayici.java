@@ -0,0 +1,39 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Şifre kontrolünden önce KimlikDogrulamaOnbellegi'ne bakan kimlik doğrulayıcı.
+ * Önbellekte yoksa şifre her zamanki gibi PasswordEncoder (bcrypt) ile
+ * doğrulanır ve yalnızca başarılı sonuç önbelleğe yazılır; yanlış şifreler
+ * her seferinde bcrypt'ten geçer.
+ */
+public class OnbellekliKimlikDogrulayici extends DaoAuthenticationProvider {
+
+    private final KimlikDogrulamaOnbellegi onbellek;
+
+    public OnbellekliKimlikDogrulayici(UserDetailsService userDetailsService, KimlikDogrulamaOnbellegi onbellek) {
+        super(userDetailsService);
+        this.onbellek = onbellek;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails hesap, UsernamePasswordAuthenticationToken kimlik)
+            throws AuthenticationException {
+        if (kimlik.getCredentials() == null || hesap.getPassword() == null) {
+            super.additionalAuthenticationChecks(hesap, kimlik); // Hata mesajını üst sınıf üretir
+            return;
+        }
+        Long kullaniciId = hesap instanceof KullaniciHesabi kullaniciHesabi ? kullaniciHesabi.getKullaniciId() : null;
+        String hamSifre = kimlik.getCredentials().toString();
+        if (onbellek.dogrulanmisMi(kullaniciId, hesap.getUsername(), hesap.getPassword(), hamSifre)) {
+            return;
+        }
+        super.additionalAuthenticationChecks(hesap, kimlik);
+        onbellek.kaydet(kullaniciId, hesap.getUsername(), hesap.getPassword(), hamSifre);
+    }
+}
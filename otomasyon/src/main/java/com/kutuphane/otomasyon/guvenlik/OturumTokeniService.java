@@ -0,0 +1,191 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import com.kutuphane.otomasyon.dto.GirisIstegi;
+import com.kutuphane.otomasyon.dto.OturumTokeni;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Girişte HMAC-SHA256 ile imzalı, süreli oturum tokenleri üreten ve
+ * doğrulayan servis. Doğrulama veritabanına veya şifre özetine gitmez; yalnızca
+ * bir HMAC hesaplanır.
+ *
+ * Token biçimi: anahtarKimligi.gövde.imza (gövde ve imza Base64URL). Gövde,
+ * kullanıcı adı, bitiş anı (epoch saniye) ve rollerden oluşur; imza
+ * "anahtarKimligi.gövde" üzerinden alınır.
+ *
+ * Anahtar döndürme: kutuphane.guvenlik.token.anahtarlar "kimlik:base64-anahtar"
+ * çiftlerinin virgülle ayrılmış listesidir. İlk anahtar yeni tokenleri imzalar,
+ * listedeki tüm anahtarlarla imzalanmış tokenler kabul edilir. Yeni anahtar
+ * listenin başına eklenir; eski anahtar en az bir token geçerlilik süresi
+ * sonra listeden çıkarılır. Bir anahtarı çıkarmak, onunla imzalanmış tüm
+ * tokenleri hemen geçersiz kılar. Liste boşsa açılışta rastgele bir anahtar
+ * üretilir (tokenler yeniden başlatmada ve diğer sunucularda geçersizdir).
+ *
+ * Roller giriş anında tokene yazılır; rol değişikliği veya kullanıcı silme
+ * token süresi dolana kadar yansımaz.
+ */
+@Service
+public class OturumTokeniService {
+
+    private static final Logger log = LoggerFactory.getLogger(OturumTokeniService.class);
+
+    private static final String ALGORITMA = "HmacSHA256";
+    private static final int EN_KISA_ANAHTAR = 32; // bayt; HMAC-SHA256 çıktı boyu
+    private static final Base64.Encoder KODLAYICI = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder COZUCU = Base64.getUrlDecoder();
+
+    private final AuthenticationProvider authenticationProvider;
+    private final Map<String, SecretKeySpec> anahtarlar; // Kimlik -> anahtar; ilki imzalar
+    private final String imzaAnahtari;
+    private final Duration gecerlilikSuresi;
+    private final Clock saat;
+
+    @Autowired
+    public OturumTokeniService(AuthenticationProvider authenticationProvider,
+            @Value("${kutuphane.guvenlik.token.anahtarlar:}") String anahtarlar,
+            @Value("${kutuphane.guvenlik.token.gecerlilik-suresi:1h}") Duration gecerlilikSuresi) {
+        this(authenticationProvider, anahtarlar, gecerlilikSuresi, Clock.systemUTC());
+    }
+
+    OturumTokeniService(AuthenticationProvider authenticationProvider, String anahtarlar,
+            Duration gecerlilikSuresi, Clock saat) {
+        this.authenticationProvider = authenticationProvider;
+        this.anahtarlar = anahtarlariCoz(anahtarlar);
+        this.imzaAnahtari = this.anahtarlar.keySet().iterator().next();
+        this.gecerlilikSuresi = gecerlilikSuresi;
+        this.saat = saat;
+    }
+
+    /**
+     * Kullanıcı adı ve şifreyi doğrular (bkz. OnbellekliKimlikDogrulayici) ve
+     * imzalı bir token üretir.
+     *
+     * @throws org.springframework.security.core.AuthenticationException Bilgiler hatalıysa.
+     */
+    public OturumTokeni girisYap(GirisIstegi istek) {
+        if (istek.getKullaniciAdi() == null || istek.getSifre() == null) {
+            throw new BadCredentialsException("Kullanıcı adı ve şifre zorunludur.");
+        }
+        Authentication kimlik = authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(istek.getKullaniciAdi(), istek.getSifre()));
+        List<String> roller = kimlik.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        Instant bitis = saat.instant().plus(gecerlilikSuresi);
+        return new OturumTokeni(uret(kimlik.getName(), bitis, roller), bitis, roller);
+    }
+
+    /**
+     * Tokenin imzasını ve süresini doğrular.
+     *
+     * @return Kimliği doğrulanmış kullanıcı (şifresiz, roller tokenden).
+     * @throws BadCredentialsException     Token bozuk, imzası geçersiz veya anahtarı bilinmiyorsa.
+     * @throws CredentialsExpiredException Tokenin süresi dolmuşsa.
+     */
+    public Authentication dogrula(String token) {
+        String[] parcalar = token.split("\\.", -1);
+        if (parcalar.length != 3) {
+            throw new BadCredentialsException("Geçersiz token biçimi.");
+        }
+        SecretKeySpec anahtar = anahtarlar.get(parcalar[0]);
+        if (anahtar == null) {
+            throw new BadCredentialsException("Token bilinmeyen bir anahtarla imzalanmış.");
+        }
+        String[] alanlar;
+        long bitis;
+        try {
+            byte[] beklenen = imzala(anahtar, parcalar[0] + "." + parcalar[1]);
+            if (!MessageDigest.isEqual(beklenen, COZUCU.decode(parcalar[2]))) {
+                throw new BadCredentialsException("Token imzası geçersiz.");
+            }
+            alanlar = new String(COZUCU.decode(parcalar[1]), StandardCharsets.UTF_8).split("\n", -1);
+            if (alanlar.length != 3) {
+                throw new BadCredentialsException("Geçersiz token biçimi.");
+            }
+            bitis = Long.parseLong(alanlar[1]);
+        } catch (IllegalArgumentException e) { // Geçersiz Base64 veya sayı (NumberFormatException)
+            throw new BadCredentialsException("Geçersiz token biçimi.");
+        }
+        if (saat.instant().getEpochSecond() >= bitis) {
+            throw new CredentialsExpiredException("Tokenin süresi dolmuş.");
+        }
+        List<SimpleGrantedAuthority> roller = alanlar[2].isEmpty() ? List.of()
+                : Arrays.stream(alanlar[2].split(",")).map(SimpleGrantedAuthority::new).toList();
+        return UsernamePasswordAuthenticationToken.authenticated(alanlar[0], null, roller);
+    }
+
+    // --- Yardımcı Metotlar ---
+
+    private String uret(String kullaniciAdi, Instant bitis, List<String> roller) {
+        if (kullaniciAdi.indexOf('\n') >= 0) {
+            throw new BadCredentialsException("Geçersiz kullanıcı adı.");
+        }
+        String govde = kullaniciAdi + "\n" + bitis.getEpochSecond() + "\n" + String.join(",", roller);
+        String imzalanan = imzaAnahtari + "." + KODLAYICI.encodeToString(govde.getBytes(StandardCharsets.UTF_8));
+        return imzalanan + "." + KODLAYICI.encodeToString(imzala(anahtarlar.get(imzaAnahtari), imzalanan));
+    }
+
+    private static byte[] imzala(SecretKeySpec anahtar, String veri) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMA); // Mac iş parçacığı güvenli değil; çağrı başına
+            mac.init(anahtar);
+            return mac.doFinal(veri.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITMA + " kullanılamıyor.", e);
+        }
+    }
+
+    // "k2:base64,k1:base64" listesini sırası korunarak çözer. Hatalı yapılandırmada
+    // uygulama açılmaz.
+    private static Map<String, SecretKeySpec> anahtarlariCoz(String tanim) {
+        Map<String, SecretKeySpec> anahtarlar = new LinkedHashMap<>();
+        if (tanim == null || tanim.isBlank()) {
+            byte[] rastgele = new byte[EN_KISA_ANAHTAR];
+            new SecureRandom().nextBytes(rastgele);
+            anahtarlar.put("gecici", new SecretKeySpec(rastgele, ALGORITMA));
+            log.warn("kutuphane.guvenlik.token.anahtarlar tanımlı değil; geçici bir anahtar üretildi. "
+                    + "Tokenler yeniden başlatmada geçersiz olur.");
+            return anahtarlar;
+        }
+        for (String cift : tanim.split(",")) {
+            String[] parca = cift.trim().split(":", 2);
+            if (parca.length != 2 || parca[0].isBlank() || parca[0].contains(".")) {
+                throw new IllegalStateException("Geçersiz token anahtarı tanımı (kimlik:base64 bekleniyor): "
+                        + parca[0]);
+            }
+            byte[] anahtar = Base64.getDecoder().decode(parca[1].trim());
+            if (anahtar.length < EN_KISA_ANAHTAR) {
+                throw new IllegalStateException("Token anahtarı '" + parca[0] + "' en az " + EN_KISA_ANAHTAR
+                        + " bayt olmalıdır.");
+            }
+            if (anahtarlar.put(parca[0].trim(), new SecretKeySpec(anahtar, ALGORITMA)) != null) {
+                throw new IllegalStateException("Token anahtar kimliği tekrar ediyor: " + parca[0]);
+            }
+        }
+        return anahtarlar;
+    }
+}
@@ -0,0 +1,71 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * "Authorization: Bearer &lt;token&gt;" başlığıyla gelen istekleri
+ * OturumTokeniService ile doğrulayan güvenlik filtresi. Geçerli tokende
+ * kullanıcı ve roller doğrudan tokenden alınır; veritabanına gidilmez.
+ * Geçersiz veya süresi dolmuş token 401 ile reddedilir. Bearer başlığı
+ * olmayan istekler (ör. HTTP Basic) olduğu gibi sonraki filtrelere geçer.
+ *
+ * Kimlik, BasicAuthenticationFilter'daki gibi istek özniteliğine de yazılır;
+ * böylece asenkron yanıtların (SSE, akış) tamamlanma dispatch'i de kimlikli
+ * yetkilendirilir.
+ *
+ * Servlet filtresi olarak ayrıca kaydedilmemesi için bean değildir;
+ * SecurityConfig zincire ekler.
+ */
+public class TokenDogrulamaFiltresi extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDogrulamaFiltresi.class);
+
+    private static final String BEARER = "Bearer ";
+
+    private final OturumTokeniService oturumTokeniService;
+    private final SecurityContextHolderStrategy baglamStratejisi = SecurityContextHolder
+            .getContextHolderStrategy();
+    private final SecurityContextRepository baglamDeposu = new RequestAttributeSecurityContextRepository();
+
+    public TokenDogrulamaFiltresi(OturumTokeniService oturumTokeniService) {
+        this.oturumTokeniService = oturumTokeniService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String baslik = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (baslik == null || !baslik.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            SecurityContext baglam = baglamStratejisi.createEmptyContext();
+            baglam.setAuthentication(oturumTokeniService.dogrula(baslik.substring(BEARER.length()).trim()));
+            baglamStratejisi.setContext(baglam);
+            baglamDeposu.saveContext(baglam, request, response);
+        } catch (AuthenticationException e) {
+            log.debug("Token reddedildi: {}", e.getMessage());
+            baglamStratejisi.clearContext();
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kutuphane.otomasyon.izleme;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity ve koleksiyon yükleme olaylarını SorguSayaci'na bildiren Hibernate
+ * dinleyicilerini kaydeder. Varsayılan dinleyicilerin arkasına eklenir; yükleme
+ * davranışını değiştirmez.
+ */
+@Component
+public class HibernateOlayDinleyicileri {
+
+    public HibernateOlayDinleyicileri(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getEventListenerRegistry().appendListeners(EventType.POST_LOAD,
+                (PostLoadEventListener) olay -> SorguSayaci.entityYuklendi());
+        sessionFactory.getEventListenerRegistry().appendListeners(EventType.INIT_COLLECTION,
+                (InitializeCollectionEventListener) olay -> SorguSayaci.koleksiyonYuklendi());
+    }
+}
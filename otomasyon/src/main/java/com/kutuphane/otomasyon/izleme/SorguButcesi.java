@@ -0,0 +1,25 @@
+package com.kutuphane.otomasyon.izleme;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bir endpoint'in tek istekte çalıştırabileceği en fazla SQL cümlesi sayısı.
+ * Anotasyonu olmayan endpoint'ler için
+ * "kutuphane.izleme.sorgu-butcesi.varsayilan" ayarı geçerlidir. Sorgu sayısı
+ * girdinin boyutuyla doğal olarak büyüyen toplu işlemler daha yüksek bir
+ * bütçe veya SINIRSIZ ile işaretlenir.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface SorguButcesi {
+
+    /** Bütçe kontrolü yapılmaz; istatistikler yine toplanır. */
+    int SINIRSIZ = -1;
+
+    int value();
+}
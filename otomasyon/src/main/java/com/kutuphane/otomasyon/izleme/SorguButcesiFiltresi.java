@@ -0,0 +1,94 @@
+package com.kutuphane.otomasyon.izleme;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Her HTTP isteğinde Hibernate sorgu/entity/koleksiyon sayılarını ölçen ve
+ * endpoint'in sorgu bütçesiyle karşılaştıran filtre. N+1 sorgu gerilemelerini
+ * (ör. EAGER ilişkileri olan Odunc listelerinde her satır için ayrı SELECT)
+ * üretime çıkmadan yakalamak için kullanılır.
+ *
+ * Bütçe aşıldığında uyarı loglanır; "kutuphane.izleme.sorgu-butcesi.asimda-hata"
+ * açıksa (test profili) istek ayrıca hatayla sonlanır ve testi düşürür.
+ *
+ * Yalnızca isteği karşılayan iş parçacığı ölçülür; StreamingResponseBody gibi
+ * asenkron yanıtların arka plandaki sorguları sayılmaz.
+ */
+@Component
+public class SorguButcesiFiltresi extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SorguButcesiFiltresi.class);
+
+    private final SorguIstatistikleri sorguIstatistikleri;
+    private final int varsayilanButce; // @SorguButcesi olmayan endpoint'ler için
+    private final boolean asimdaHata; // Bütçe aşımında isteği hatayla sonlandır
+
+    public SorguButcesiFiltresi(SorguIstatistikleri sorguIstatistikleri,
+            @Value("${kutuphane.izleme.sorgu-butcesi.varsayilan:20}") int varsayilanButce,
+            @Value("${kutuphane.izleme.sorgu-butcesi.asimda-hata:false}") boolean asimdaHata) {
+        this.sorguIstatistikleri = sorguIstatistikleri;
+        this.varsayilanButce = varsayilanButce;
+        this.asimdaHata = asimdaHata;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SorguSayaci.baslat();
+        SorguSayaci.Olcum olcum;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            olcum = SorguSayaci.bitir();
+        }
+
+        // Handler eşleşmediyse (404, statik kaynak) kaydedilecek bir endpoint yoktur.
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        Object kalip = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (olcum == null || handler == null || kalip == null) {
+            return;
+        }
+        String ucNokta = request.getMethod() + " " + kalip;
+        int butce = butce(handler);
+        boolean asildi = butce != SorguButcesi.SINIRSIZ && olcum.getSorgu() > butce;
+        sorguIstatistikleri.kaydet(ucNokta, olcum, butce, asildi);
+
+        if (asildi) {
+            String mesaj = String.format("Sorgu bütçesi aşıldı: %s isteği %d SQL cümlesi çalıştırdı (bütçe %d), "
+                    + "%d entity ve %d koleksiyon yüklendi. Olası N+1 sorgu.", ucNokta, olcum.getSorgu(), butce,
+                    olcum.getEntityYukleme(), olcum.getKoleksiyonYukleme());
+            if (asimdaHata) {
+                throw new IllegalStateException(mesaj);
+            }
+            log.warn(mesaj);
+        }
+    }
+
+    private int butce(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SorguButcesi anotasyon = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(),
+                    SorguButcesi.class);
+            if (anotasyon == null) {
+                anotasyon = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(),
+                        SorguButcesi.class);
+            }
+            if (anotasyon != null) {
+                return anotasyon.value();
+            }
+        }
+        return varsayilanButce;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kutuphane.otomasyon.izleme;
+
+import com.kutuphane.otomasyon.dto.SorguIstatistigi;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Endpoint bazında istek başına sorgu istatistiklerini biriktirir. Kayıtlar
+ * kilitsizdir (LongAdder / AtomicInteger); endpoint sayısı URL kalıplarıyla
+ * sınırlı olduğundan harita büyümez.
+ */
+@Component
+public class SorguIstatistikleri {
+
+    private final Map<String, UcNokta> ucNoktalar = new ConcurrentHashMap<>();
+
+    private static final class UcNokta {
+        final LongAdder istek = new LongAdder();
+        final LongAdder sorgu = new LongAdder();
+        final LongAdder entity = new LongAdder();
+        final LongAdder koleksiyon = new LongAdder();
+        final LongAdder butceAsimi = new LongAdder();
+        final AtomicInteger enFazlaSorgu = new AtomicInteger();
+        final AtomicInteger enFazlaEntity = new AtomicInteger();
+        volatile int butce;
+    }
+
+    /**
+     * Bir isteğin ölçümünü endpoint'in istatistiklerine ekler.
+     */
+    void kaydet(String ucNokta, SorguSayaci.Olcum olcum, int butce, boolean asildi) {
+        UcNokta kayit = ucNoktalar.computeIfAbsent(ucNokta, anahtar -> new UcNokta());
+        kayit.istek.increment();
+        kayit.sorgu.add(olcum.getSorgu());
+        kayit.entity.add(olcum.getEntityYukleme());
+        kayit.koleksiyon.add(olcum.getKoleksiyonYukleme());
+        kayit.enFazlaSorgu.accumulateAndGet(olcum.getSorgu(), Math::max);
+        kayit.enFazlaEntity.accumulateAndGet(olcum.getEntityYukleme(), Math::max);
+        kayit.butce = butce;
+        if (asildi) {
+            kayit.butceAsimi.increment();
+        }
+    }
+
+    /**
+     * Tek istekte en çok sorgu çalıştıran endpoint'leri (en kötüler önce)
+     * döndürür; eşitlikte ortalaması yüksek olan öne alınır.
+     */
+    public List<SorguIstatistigi> enKotuler(int limit) {
+        return ucNoktalar.entrySet().stream()
+                .map(giris -> istatistik(giris.getKey(), giris.getValue()))
+                .sorted(Comparator.comparingInt(SorguIstatistigi::getEnFazlaSorgu)
+                        .thenComparingDouble(SorguIstatistigi::getOrtalamaSorgu)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Biriken tüm istatistikleri siler.
+     */
+    public void sifirla() {
+        ucNoktalar.clear();
+    }
+
+    private static SorguIstatistigi istatistik(String ucNokta, UcNokta kayit) {
+        long istek = Math.max(kayit.istek.sum(), 1);
+        return new SorguIstatistigi(ucNokta, kayit.istek.sum(), (double) kayit.sorgu.sum() / istek,
+                kayit.enFazlaSorgu.get(), (double) kayit.entity.sum() / istek, kayit.enFazlaEntity.get(),
+                (double) kayit.koleksiyon.sum() / istek, kayit.butce, kayit.butceAsimi.sum());
+    }
+}
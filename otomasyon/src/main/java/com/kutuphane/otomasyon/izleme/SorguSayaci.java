@@ -0,0 +1,81 @@
+package com.kutuphane.otomasyon.izleme;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Bir HTTP isteği boyunca (o isteği işleyen iş parçacığında) Hibernate'in
+ * çalıştırdığı SQL cümlelerini, yüklenen entity'leri ve yüklenen koleksiyonları
+ * sayar. Sayım yalnızca baslat() ile bitir() arasında yapılır; dışarıda
+ * (zamanlanmış işler, açılış yüklemeleri) maliyeti tek bir ThreadLocal okumasıdır.
+ *
+ * Hibernate bu sınıfı "hibernate.session_factory.statement_inspector" ayarıyla
+ * kendisi oluşturur. JdbcTemplate ile çalışan sorgular (ör. *TopluRepository
+ * parçaları) Hibernate'ten geçmediği için sayılmaz.
+ */
+public class SorguSayaci implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<Olcum> AKTIF = new ThreadLocal<>();
+
+    /**
+     * Bir isteğin sayaç değerleri.
+     */
+    public static final class Olcum {
+        private int sorgu;
+        private int entityYukleme;
+        private int koleksiyonYukleme;
+
+        public int getSorgu() {
+            return sorgu;
+        }
+
+        public int getEntityYukleme() {
+            return entityYukleme;
+        }
+
+        public int getKoleksiyonYukleme() {
+            return koleksiyonYukleme;
+        }
+    }
+
+    /**
+     * Çağıran iş parçacığı için yeni bir ölçüm başlatır.
+     */
+    public static void baslat() {
+        AKTIF.set(new Olcum());
+    }
+
+    /**
+     * Çağıran iş parçacığındaki ölçümü bitirir ve döndürür; ölçüm yoksa null.
+     */
+    public static Olcum bitir() {
+        Olcum olcum = AKTIF.get();
+        AKTIF.remove();
+        return olcum;
+    }
+
+    static void entityYuklendi() {
+        Olcum olcum = AKTIF.get();
+        if (olcum != null) {
+            olcum.entityYukleme++;
+        }
+    }
+
+    static void koleksiyonYuklendi() {
+        Olcum olcum = AKTIF.get();
+        if (olcum != null) {
+            olcum.koleksiyonYukleme++;
+        }
+    }
+
+    // Hibernate her SQL cümlesini hazırlamadan önce çağırır (batch'ler bir kez).
+    @Override
+    public String inspect(String sql) {
+        Olcum olcum = AKTIF.get();
+        if (olcum != null) {
+            olcum.sorgu++;
+        }
+        return sql;
+    }
+}
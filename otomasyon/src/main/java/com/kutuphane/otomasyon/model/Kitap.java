@@ -5,15 +5,31 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity // Bu sınıfın bir JPA varlığı (Entity) olduğunu belirtir.
-@Table(name = "kitaplar") // Veritabanındaki tablo adını belirtir.
+// Veritabanındaki tablo adını belirtir. İndeksler, filtreli keyset sayfalama
+// sorgularının (yazar/mevcut + id) tablo taraması yapmadan çalışmasını sağlar.
+// Kısıt adları açıkça verilir; geçiş betikleri bunlara adıyla başvurur.
+@Table(name = "kitaplar", indexes = {
+        @Index(name = "ix_kitaplar_yazar_id", columnList = "yazar, id"),
+        @Index(name = "ix_kitaplar_mevcut_id", columnList = "mevcut, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_kitaplar_isbn", columnNames = "isbn"))
 public class Kitap {
 
     @Id // Birincil anahtar (Primary Key) olduğunu belirtir.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID'nin veritabanı tarafından otomatik artırılmasını sağlar.
+    // ID'ler sequence'ten bloklar halinde (pooled-lo) alınır: Hibernate her 50
+    // kayıtta bir sequence'e gider, INSERT'leri JDBC batch'i olarak gönderebilir.
+    // IDENTITY'de her INSERT ayrı bir gidiş-dönüş gerektirir ve batch kapanır.
+    // Kullanici ve Odunc da aynı şekilde üretilir. IDENTITY ile kurulmuş
+    // veritabanları db/sqlserver/kimlik-sequence-gecisi.sql ile geçirilir
+    // (bkz. KimlikSequenceKontrolu).
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kitap_kimlik")
+    @SequenceGenerator(name = "kitap_kimlik", sequenceName = "kitaplar_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Başlık boş olamaz") // API çağrılarında (JSON) alanın boş bırakılamayacağını kontrol eder
@@ -26,8 +42,8 @@ public class Kitap {
     private String yazar;
 
     @NotBlank(message = "ISBN boş olamaz")
-    @Column(unique = true, nullable = false) // ISBN'nin hem benzersiz (UNIQUE) hem de zorunlu (NOT NULL) olduğunu
-                                             // belirtir.
+    @Column(nullable = false) // Zorunlu (NOT NULL); benzersizlik (UNIQUE) @Table'daki
+                              // uk_kitaplar_isbn kısıtıyla sağlanır.
     private String isbn;
 
     // primitive 'boolean' olduğu için zaten null olamaz. JPA bunu "BIT" veya
@@ -1,6 +1,8 @@
 package com.kutuphane.otomasyon.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,9 +11,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
 
 // ABSTRACT (Soyut): Bu sınıfın kendi başına bir tablosu olmayacak, 
 // alt sınıflar (Uye, Personel) bunu kullanacak.
@@ -19,19 +25,28 @@ import jakarta.validation.constraints.NotBlank;
 // Kalıtım Stratejisi: SINGLE_TABLE (Tek Tablo) kullanılır. Tüm alt sınıfların
 // verileri tek tabloda tutulur.
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
-@Table(name = "kullanicilar") // Tüm kullanıcı tiplerinin verilerinin tutulduğu ortak tablo
+// Tüm kullanıcı tiplerinin verilerinin tutulduğu ortak tablo. Alt sınıfların
+// benzersiz sütunları da tek tabloda olduğundan kısıtları burada, geçiş
+// betiklerinin başvurabileceği açık adlarla tanımlanır.
+@Table(name = "kullanicilar", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_kullanicilar_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_kullanicilar_uye_no", columnNames = "uye_no"),
+        @UniqueConstraint(name = "uk_kullanicilar_sicil_no", columnNames = "sicil_no")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
 public abstract class Kullanici {
 
     @Id // Birincil anahtar (Primary Key)
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID'nin DB tarafından otomatik artırılmasını sağlar.
+    // Kimlik üretimi için bkz. Kitap.id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kullanici_kimlik")
+    @SequenceGenerator(name = "kullanici_kimlik", sequenceName = "kullanicilar_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false) // Veritabanı seviyesinde zorunlu (NOT NULL)
     @NotBlank(message = "Ad Soyad boş olamaz") // API validasyonu
     private String adSoyad;
 
-    @Column(unique = true, nullable = false) // Benzersiz (UNIQUE) ve zorunlu (NOT NULL)
+    @Column(nullable = false) // Zorunlu (NOT NULL); benzersiz (UNIQUE, bkz. @Table)
     @Email(message = "Geçerli bir email adresi girilmelidir") // Email format validasyonu
     @NotBlank(message = "Mail adresi boş olamaz")
     private String email;
@@ -39,6 +54,28 @@ public abstract class Kullanici {
     @Column(nullable = true) // Veritabanında boş (NULL) geçilebilir (Opsiyonel alan)
     private String telefon;
 
+    // Giriş şifresinin özeti ({bcrypt}... biçiminde, bkz. SecurityConfig). Şifresi
+    // olmayan kullanıcı HTTP Basic ile giriş yapamaz. JSON'a hiçbir zaman yazılmaz.
+    @Column(name = "sifre_ozeti", nullable = true)
+    @JsonIgnore
+    private String sifreOzeti;
+
+    // İstemcinin gönderdiği açık şifre. Veritabanına yazılmaz; KullaniciService
+    // kaydederken özetini alıp alanı temizler.
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String sifre;
+
+    // Kullanıcının henüz iade etmediği ödünç sayısı. Ödünç verme/iade işlemlerinde
+    // atomik UPDATE sorgularıyla (KullaniciRepository) aynı transaction içinde
+    // güncellenir; böylece limit kontrolü için açık ödünçlerin yüklenmesi
+    // gerekmez. Entity kaydedilirken (updatable = false) ezilmez, JSON ile de
+    // dışarıdan atanamaz.
+    @Column(name = "aktif_odunc_sayisi", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int aktifOduncSayisi = 0;
+
     // --- OOP ve İş Mantığı Alanları ---
 
     // Gerçek uygulamada burası @OneToMany ilişkisi ile Kitap tablosuna
@@ -105,4 +142,24 @@ public abstract class Kullanici {
     public void setTelefon(String telefon) {
         this.telefon = telefon;
     }
+
+    public String getSifreOzeti() {
+        return sifreOzeti;
+    }
+
+    public void setSifreOzeti(String sifreOzeti) {
+        this.sifreOzeti = sifreOzeti;
+    }
+
+    public String getSifre() {
+        return sifre;
+    }
+
+    public void setSifre(String sifre) {
+        this.sifre = sifre;
+    }
+
+    public int getAktifOduncSayisi() {
+        return aktifOduncSayisi;
+    }
 }
\ No newline at end of file
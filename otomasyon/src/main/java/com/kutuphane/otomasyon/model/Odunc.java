@@ -1,11 +1,14 @@
 package com.kutuphane.otomasyon.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 
@@ -18,16 +21,23 @@ import org.hibernate.annotations.OnDeleteAction;
  * tanımlar.
  */
 @Entity // Bu sınıfın bir JPA varlığı (Entity) olduğunu belirtir.
-@Table(name = "oduncler") // Veritabanındaki tablo adını belirtir.
+// Veritabanındaki tablo adını belirtir. Bileşik indeks, bir kullanıcının açık
+// (teslim_tarihi NULL) ödünçlerinin tek bir indeks aramasıyla sayılmasını sağlar.
+@Table(name = "oduncler", indexes = {
+        @Index(name = "ix_oduncler_kullanici_teslim", columnList = "kullanici_id, teslim_tarihi")
+})
 public class Odunc {
 
     @Id // Birincil anahtar (Primary Key) olduğunu belirtir.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID'nin DB tarafından otomatik artırılmasını sağlar.
+    // Kimlik üretimi için bkz. Kitap.id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "odunc_kimlik")
+    @SequenceGenerator(name = "odunc_kimlik", sequenceName = "oduncler_seq", allocationSize = 50)
     private Long id;
 
     // Bir ödünç kaydı sadece bir kitaba aittir (ManyToOne ilişki).
     @ManyToOne
-    @JoinColumn(name = "kitap_id") // Bu tablodaki yabancı anahtar sütununun adı
+    // Bu tablodaki yabancı anahtar sütununun ve kısıtının adı
+    @JoinColumn(name = "kitap_id", foreignKey = @ForeignKey(name = "fk_oduncler_kitap"))
     // OnDelete: İlişkili Kitap silindiğinde bu Odunc kaydının da silinmesini sağlar
     // (CASCADE).
     @OnDelete(action = OnDeleteAction.CASCADE)
@@ -35,7 +45,8 @@ public class Odunc {
 
     // Bir ödünç kaydı sadece bir kullanıcıya aittir (ManyToOne ilişki).
     @ManyToOne
-    @JoinColumn(name = "kullanici_id") // Bu tablodaki yabancı anahtar sütununun adı
+    // Bu tablodaki yabancı anahtar sütununun ve kısıtının adı
+    @JoinColumn(name = "kullanici_id", foreignKey = @ForeignKey(name = "fk_oduncler_kullanici"))
     // OnDelete: İlişkili Kullanici silindiğinde bu Odunc kaydının da silinmesini
     // sağlar (CASCADE).
     @OnDelete(action = OnDeleteAction.CASCADE)
@@ -11,7 +11,7 @@ import jakarta.persistence.Entity;
 @DiscriminatorValue("PERSONEL")
 public class Personel extends Kullanici {
 
-    @Column(unique = true, nullable = true) // Benzersiz (UNIQUE) olabilir, ancak Uye kayıtları için NULL geçilebilir.
+    @Column(nullable = true) // Benzersiz (UNIQUE, bkz. Kullanici @Table), ancak Uye kayıtları için NULL geçilebilir.
     private String sicilNo; // Personel için özgün bir numara (Opsiyonel)
 
     @Column(nullable = true) // Uye kayıtları için NULL geçilebilir.
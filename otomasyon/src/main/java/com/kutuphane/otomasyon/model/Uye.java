@@ -11,8 +11,8 @@ import jakarta.persistence.Entity;
 @DiscriminatorValue("UYE")
 public class Uye extends Kullanici {
 
-    @Column(unique = true, nullable = true) // Benzersiz (UNIQUE) olabilir, ancak Personel kayıtları için NULL
-                                            // geçilebilir.
+    @Column(nullable = true) // Benzersiz (UNIQUE, bkz. Kullanici @Table), ancak Personel kayıtları için NULL
+                             // geçilebilir.
     private String uyeNo; // Üye için özgün bir numara (Opsiyonel)
 
     // JPA/Hibernate'in veri çekerken nesne oluşturması için gerekli boş
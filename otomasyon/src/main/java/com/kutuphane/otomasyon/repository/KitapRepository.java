@@ -1,14 +1,30 @@
 package com.kutuphane.otomasyon.repository;
 
 import com.kutuphane.otomasyon.model.Kitap;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit; // Sorgunun döndüreceği en fazla satır sayısı
 import org.springframework.data.jpa.repository.JpaRepository; // JPA veri erişimi için temel arayüz
+import org.springframework.data.jpa.repository.Modifying; // Veri değiştiren (UPDATE/DELETE) sorgular için
+import org.springframework.data.jpa.repository.Query; // Özel HQL/JPQL sorguları için
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository; // Bu arayüzün bir Repository katmanı bileşeni olduğunu belirtir
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional; // Nesnenin var olup olmadığını güvenle kontrol etmek için
+import java.util.stream.Stream;
 
 // Kitap Entity'si için Repository. ID tipi Long.
 @Repository
-public interface KitapRepository extends JpaRepository<Kitap, Long> {
+public interface KitapRepository extends JpaRepository<Kitap, Long>, KitapTopluRepository {
+
+    /**
+     * Akış (stream) sorgularında JDBC sürücüsünün tek seferde çektiği satır
+     * sayısı.
+     */
+    String AKIS_FETCH_BOYUTU = "1000";
 
     // JpaRepository'den temel CRUD (Create, Read, Update, Delete) metotları miras
     // alınır.
@@ -22,4 +38,96 @@ public interface KitapRepository extends JpaRepository<Kitap, Long> {
      *         döner.
      */
     Optional<Kitap> findByIsbn(String isbn);
-}
\ No newline at end of file
+
+    /**
+     * Kitabı, yalnızca şu an rafta ise, tek bir atomik UPDATE ile "mevcut değil"
+     * olarak işaretler. Kontrol ve güncelleme aynı SQL cümlesinde yapıldığı için
+     * aynı kitabı eşzamanlı isteyen iki işlemden sadece biri başarılı olur.
+     * 
+     * @param id Ödünç verilecek kitabın ID'si.
+     * @return Güncellenen satır sayısı: 1 ise kitap ayrıldı, 0 ise kitap yok ya
+     *         da zaten ödünçte.
+     */
+    @Modifying
+    @Query("UPDATE Kitap k SET k.mevcut = false WHERE k.id = :id AND k.mevcut = true")
+    int oduncIcinAyir(@Param("id") Long id);
+
+    /**
+     * İade edilen kitapları tek bir UPDATE ile tekrar "mevcut" olarak işaretler.
+     * 
+     * @param idler Rafa dönen kitapların ID'leri.
+     * @return Güncellenen satır sayısı.
+     */
+    @Modifying
+    @Query("UPDATE Kitap k SET k.mevcut = true WHERE k.id IN :idler")
+    int topluRafaKoy(@Param("idler") Collection<Long> idler);
+
+    /**
+     * Şu an rafta olmayan (ödünçteki) kitapların sayısı. ix_kitaplar_mevcut_id
+     * indeksinden sayılır (metrik göstergesi için).
+     */
+    long countByMevcutFalse();
+
+    // --- Sayfalama (Keyset / İmleç Tabanlı) Sorguları ---
+    // OFFSET kullanılmaz; her sayfa "id > sonId" koşulu ile birincil anahtar
+    // indeksinden okunur. Böylece katalog ne kadar büyürse büyüsün bir sayfanın
+    // maliyeti sabit kalır.
+
+    /**
+     * Verilen ID'den büyük kitapları ID sırasına göre getirir.
+     * 
+     * @param sonId Bir önceki sayfanın son kitabının ID'si (ilk sayfa için 0).
+     * @param limit Getirilecek en fazla kayıt sayısı.
+     * @return Kitap listesi.
+     */
+    List<Kitap> findByIdGreaterThanOrderByIdAsc(Long sonId, Limit limit);
+
+    /**
+     * Stok durumuna göre filtrelenmiş keyset sayfası.
+     */
+    List<Kitap> findByIdGreaterThanAndMevcutOrderByIdAsc(Long sonId, boolean mevcut, Limit limit);
+
+    /**
+     * Yazara göre filtrelenmiş keyset sayfası.
+     */
+    List<Kitap> findByIdGreaterThanAndYazarOrderByIdAsc(Long sonId, String yazar, Limit limit);
+
+    /**
+     * Hem stok durumuna hem yazara göre filtrelenmiş keyset sayfası.
+     */
+    List<Kitap> findByIdGreaterThanAndMevcutAndYazarOrderByIdAsc(Long sonId, boolean mevcut, String yazar,
+            Limit limit);
+
+    /**
+     * Tüm kataloğu ID sırasına göre, ileri yönlü bir JDBC imleci üzerinden akış
+     * olarak döndürür. Satırlar belleğe toplu yüklenmez; fetch size kadar
+     * parça parça okunur. Varlıklar salt-okunur yüklendiğinden Hibernate kirli
+     * kontrol (dirty checking) için kopya tutmaz.
+     * 
+     * DİKKAT: Dönen Stream açık bir transaction içinde tüketilmeli ve
+     * try-with-resources ile kapatılmalıdır.
+     * 
+     * @return Kitapların akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AKIS_FETCH_BOYUTU),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT k FROM Kitap k ORDER BY k.id")
+    Stream<Kitap> streamAll();
+
+    /**
+     * Katalogdaki tüm ISBN'leri akış olarak getirir. Toplu içe aktarmada
+     * benzersizlik kontrolünü bellekte yapmak için kullanılır; varlıklar
+     * yüklenmez, yalnızca tek sütun okunur.
+     * 
+     * @return ISBN'lerin akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AKIS_FETCH_BOYUTU),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT k.isbn FROM Kitap k")
+    Stream<String> streamTumIsbnler();
+}
@@ -0,0 +1,21 @@
+package com.kutuphane.otomasyon.repository;
+
+import java.util.List;
+
+/**
+ * KitapRepository'ye eklenen, JDBC batch ile çalışan özel (custom) sorgu
+ * parçası. Spring Data, uygulamasını KitapTopluRepositoryImpl adından bulur.
+ */
+public interface KitapTopluRepository {
+
+    /**
+     * Verilen kitapların her birini, yalnızca rafta ise, "mevcut değil" olarak
+     * işaretler. Tüm koşullu UPDATE'ler tek bir JDBC batch ile (tek gidiş-dönüş)
+     * gönderilir.
+     * 
+     * @param kitapIdleri Ayrılacak kitapların ID'leri.
+     * @return Her kitap için güncellenen satır sayısı (aynı sırayla): 1 ise kitap
+     *         ayrıldı, 0 ise başkası tarafından alınmış.
+     */
+    int[] topluOduncIcinAyir(List<Long> kitapIdleri);
+}
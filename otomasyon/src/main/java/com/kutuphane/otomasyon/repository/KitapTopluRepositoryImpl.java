@@ -0,0 +1,31 @@
+package com.kutuphane.otomasyon.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KitapTopluRepository'nin JdbcTemplate ile yazılmış uygulaması.
+ * JpaTransactionManager, JDBC bağlantısını JPA ile paylaştığı için bu sorgular
+ * çağıran servisin transaction'ına dahil olur.
+ */
+class KitapTopluRepositoryImpl implements KitapTopluRepository {
+
+    private static final String ODUNC_ICIN_AYIR_SQL = "UPDATE kitaplar SET mevcut = ? WHERE id = ? AND mevcut = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    KitapTopluRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] topluOduncIcinAyir(List<Long> kitapIdleri) {
+        List<Object[]> parametreler = new ArrayList<>(kitapIdleri.size());
+        for (Long id : kitapIdleri) {
+            parametreler.add(new Object[] { false, id, true });
+        }
+        return jdbcTemplate.batchUpdate(ODUNC_ICIN_AYIR_SQL, parametreler);
+    }
+}
@@ -4,7 +4,9 @@ import com.kutuphane.otomasyon.model.Kullanici; // Temel soyut sınıf
 import com.kutuphane.otomasyon.model.Uye; // Alt sınıf
 import com.kutuphane.otomasyon.model.Personel; // Alt sınıf
 import org.springframework.data.jpa.repository.JpaRepository; // JPA veri erişimi için temel arayüz
+import org.springframework.data.jpa.repository.Modifying; // Veri değiştiren (UPDATE/DELETE) sorgular için
 import org.springframework.data.jpa.repository.Query; // Özel HQL/JPQL sorguları için
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository; // Bu arayüzün bir Repository katmanı bileşeni olduğunu belirtir
 
 import java.util.List;
@@ -16,7 +18,7 @@ import java.util.Optional;
  * JpaRepository<Kullanici, Long> ile tüm kullanıcı tiplerini yönetir.
  */
 @Repository
-public interface KullaniciRepository extends JpaRepository<Kullanici, Long> {
+public interface KullaniciRepository extends JpaRepository<Kullanici, Long>, KullaniciTopluRepository {
 
     /**
      * Verilen email adresine sahip kullanıcıyı bulur.
@@ -47,4 +49,78 @@ public interface KullaniciRepository extends JpaRepository<Kullanici, Long> {
      */
     @Query("SELECT p FROM Personel p")
     List<Personel> findAllPersoneller();
-}
\ No newline at end of file
+
+    // --- Aktif Ödünç Sayacı ---
+
+    /**
+     * Kullanıcının veritabanındaki güncel aktif ödünç sayısını okur (önbellekteki
+     * Kullanici nesnesindeki değer eski olabilir).
+     * 
+     * @return Aktif ödünç sayısı; kullanıcı yoksa null.
+     */
+    @Query("SELECT u.aktifOduncSayisi FROM Kullanici u WHERE u.id = :id")
+    Integer aktifOduncSayisiGetir(@Param("id") Long id);
+
+    /**
+     * Tüm kullanıcıların aktif ödünç sayaçlarının toplamı, yani sistemdeki açık
+     * ödünç sayısı. Büyüyen oduncler tablosu yerine kullanıcı sayaçlarından
+     * hesaplanır (metrik göstergesi için).
+     */
+    @Query("SELECT COALESCE(SUM(u.aktifOduncSayisi), 0) FROM Kullanici u")
+    long toplamAktifOduncSayisi();
+
+    /**
+     * Kullanıcının aktif ödünç sayacını, yalnızca limit aşılmıyorsa, tek bir
+     * atomik UPDATE ile bir artırır. Kontrol ve artırma aynı cümlede yapıldığı
+     * için eşzamanlı isteklerde limit aşılamaz.
+     * 
+     * @param id    Kullanıcının ID'si.
+     * @param limit Kullanıcının ödünç alma limiti.
+     * @return 1 ise sayaç artırıldı, 0 ise limit dolu (veya kullanıcı yok).
+     */
+    @Modifying
+    @Query("UPDATE Kullanici u SET u.aktifOduncSayisi = u.aktifOduncSayisi + 1 "
+            + "WHERE u.id = :id AND u.aktifOduncSayisi < :limit")
+    int aktifOduncArttir(@Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Toplu ödünç vermede sayacı, toplam limit aşılmıyorsa, tek seferde 'adet'
+     * kadar artırır.
+     * 
+     * @return 1 ise sayaç artırıldı, 0 ise limit aşılıyor.
+     */
+    @Modifying
+    @Query("UPDATE Kullanici u SET u.aktifOduncSayisi = u.aktifOduncSayisi + :adet "
+            + "WHERE u.id = :id AND u.aktifOduncSayisi + :adet <= :limit")
+    int aktifOduncEkle(@Param("id") Long id, @Param("adet") int adet, @Param("limit") int limit);
+
+    /**
+     * Kitap iade edildiğinde kullanıcının aktif ödünç sayacını bir azaltır.
+     */
+    @Modifying
+    @Query("UPDATE Kullanici u SET u.aktifOduncSayisi = u.aktifOduncSayisi - 1 "
+            + "WHERE u.id = :id AND u.aktifOduncSayisi > 0")
+    int aktifOduncAzalt(@Param("id") Long id);
+
+    /**
+     * Tek bir kullanıcının sayacını oduncler tablosundaki gerçek açık ödünç
+     * sayısına eşitler (sayaç sapması düzeltmesi).
+     */
+    @Modifying
+    @Query("UPDATE Kullanici u SET u.aktifOduncSayisi = "
+            + "(SELECT COUNT(o) FROM Odunc o WHERE o.kullanici.id = u.id AND o.teslimTarihi IS NULL) "
+            + "WHERE u.id = :id")
+    int aktifOduncSayisiniEsitle(@Param("id") Long id);
+
+    /**
+     * Tüm kullanıcıların sayaçlarını oduncler tablosundaki gerçek açık ödünç
+     * sayısına eşitler. Her kullanıcı için sayım, (kullanici_id, teslim_tarihi)
+     * indeksi üzerinden yapılır.
+     * 
+     * @return Güncellenen kullanıcı sayısı.
+     */
+    @Modifying
+    @Query("UPDATE Kullanici u SET u.aktifOduncSayisi = "
+            + "(SELECT COUNT(o) FROM Odunc o WHERE o.kullanici.id = u.id AND o.teslimTarihi IS NULL)")
+    int tumAktifOduncSayilariniEsitle();
+}
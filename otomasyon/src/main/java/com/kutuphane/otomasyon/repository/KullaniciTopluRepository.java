@@ -0,0 +1,19 @@
+package com.kutuphane.otomasyon.repository;
+
+import java.util.Map;
+
+/**
+ * KullaniciRepository'ye eklenen, JDBC batch ile çalışan özel (custom) sorgu
+ * parçası. Spring Data, uygulamasını KullaniciTopluRepositoryImpl adından
+ * bulur.
+ */
+public interface KullaniciTopluRepository {
+
+    /**
+     * Birden fazla kullanıcının aktif ödünç sayacını, kullanıcı başına farklı
+     * miktarlarda, tek bir JDBC batch ile azaltır. Sayaç sıfırın altına inmez.
+     * 
+     * @param azaltmalar kullanıcı ID'si -> azaltılacak miktar.
+     */
+    void topluAktifOduncAzalt(Map<Long, Integer> azaltmalar);
+}
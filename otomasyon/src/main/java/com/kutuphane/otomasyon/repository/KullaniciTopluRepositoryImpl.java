@@ -0,0 +1,33 @@
+package com.kutuphane.otomasyon.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KullaniciTopluRepository'nin JdbcTemplate ile yazılmış uygulaması.
+ * Sorgular çağıran servisin transaction'ına dahil olur.
+ */
+class KullaniciTopluRepositoryImpl implements KullaniciTopluRepository {
+
+    private static final String AKTIF_ODUNC_AZALT_SQL = "UPDATE kullanicilar "
+            + "SET aktif_odunc_sayisi = CASE WHEN aktif_odunc_sayisi > ? THEN aktif_odunc_sayisi - ? ELSE 0 END "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    KullaniciTopluRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void topluAktifOduncAzalt(Map<Long, Integer> azaltmalar) {
+        List<Object[]> parametreler = new ArrayList<>(azaltmalar.size());
+        for (Map.Entry<Long, Integer> giris : azaltmalar.entrySet()) {
+            parametreler.add(new Object[] { giris.getValue(), giris.getValue(), giris.getKey() });
+        }
+        jdbcTemplate.batchUpdate(AKTIF_ODUNC_AZALT_SQL, parametreler);
+    }
+}
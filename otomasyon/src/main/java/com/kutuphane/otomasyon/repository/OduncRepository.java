@@ -1,8 +1,16 @@
 package com.kutuphane.otomasyon.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import com.kutuphane.otomasyon.model.Odunc;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository; // JPA veri erişimi için temel arayüz
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying; // Veri değiştiren (UPDATE/DELETE) sorgular için
+import org.springframework.data.jpa.repository.Query; // Özel HQL/JPQL sorguları için
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository; // Bu arayüzün bir Repository katmanı bileşeni olduğunu belirtir
 
 @Repository
@@ -12,15 +20,56 @@ public interface OduncRepository extends JpaRepository<Odunc, Long> {
     // alınır.
 
     /**
-     * Spring Data JPA'nın otomatik üreteceği sorgu metodu (Query Method).
+     * Spring Data JPA'nın otomatik üreteceği sayım sorgusu (Query Method).
      * Belirli bir kullanıcının (kullaniciId) henüz teslim etmediği (TeslimTarihi
-     * NULL) tüm kayıtları getirir.
-     * Bu, kullanıcının o an kaç kitap ödünç aldığını bulmak için kullanılır.
+     * NULL) kayıtların sayısını döndürür. Kayıtlar (ve EAGER ilişkili Kitap /
+     * Kullanici) yüklenmez; sayım (kullanici_id, teslim_tarihi) indeksinden
+     * yapılır.
      * 
      * @param kullaniciId Kitapları ödünç alan kullanıcının ID'si.
-     * @return Henüz iade edilmemiş ödünç kayıtlarının listesi.
+     * @return Henüz iade edilmemiş ödünç kaydı sayısı.
      */
-    List<Odunc> findByKullaniciIdAndTeslimTarihiIsNull(Long kullaniciId);
+    long countByKullaniciIdAndTeslimTarihiIsNull(Long kullaniciId);
+
+    /**
+     * Ödünç kaydını satır kilidi (SELECT ... FOR UPDATE / UPDLOCK) ile getirir.
+     * Aynı kaydın eşzamanlı iadesinde ikinci işlem birincinin bitmesini bekler
+     * ve kaydı "iade edilmiş" olarak görür.
+     * 
+     * @param id Ödünç kaydının ID'si.
+     * @return Kilitlenmiş ödünç kaydı.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Odunc> findForUpdateById(Long id);
+
+    // --- Toplu İade Sorguları ---
+
+    /**
+     * Verilen ID'lere sahip ödünç kayıtlarını, kitap ve kullanıcılarıyla
+     * birlikte tek sorguda ve satır kilidiyle getirir (EAGER ilişkiler için ayrı
+     * SELECT'ler atılmaz).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Odunc o JOIN FETCH o.kitap JOIN FETCH o.kullanici WHERE o.id IN :idler")
+    List<Odunc> findForUpdateByIdIn(@Param("idler") Collection<Long> idler);
+
+    /**
+     * Verilen ISBN'lere sahip kitapların açık (iade edilmemiş) ödünç kayıtlarını
+     * tek sorguda ve satır kilidiyle getirir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Odunc o JOIN FETCH o.kitap k JOIN FETCH o.kullanici "
+            + "WHERE k.isbn IN :isbnler AND o.teslimTarihi IS NULL")
+    List<Odunc> findAcikOduncForUpdateByIsbnIn(@Param("isbnler") Collection<String> isbnler);
+
+    /**
+     * Verilen ödünç kayıtlarının teslim tarihini tek bir UPDATE ile işler.
+     * 
+     * @return Güncellenen kayıt sayısı.
+     */
+    @Modifying
+    @Query("UPDATE Odunc o SET o.teslimTarihi = :tarih WHERE o.id IN :idler AND o.teslimTarihi IS NULL")
+    int topluIadeIsaretle(@Param("idler") Collection<Long> idler, @Param("tarih") LocalDate tarih);
 
     // Odunc sınıfı için CRUD metotları hazır!
 }
\ No newline at end of file
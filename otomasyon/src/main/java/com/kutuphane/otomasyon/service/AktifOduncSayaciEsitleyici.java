@@ -0,0 +1,28 @@
+package com.kutuphane.otomasyon.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Açılışta aktif ödünç sayaçlarını bir kez eşitler. Yalnızca
+ * kutuphane.odunc.sayac-esitleme.acilista=true verildiğinde yüklenir; sayaç
+ * sütununun eklendiği sürüme geçilen ilk açılış için açılır, sonra kapatılır.
+ * Çalışan bir uygulamada aynı iş POST /api/odunc/sayaclar/esitle ile yapılır.
+ */
+@Component
+@ConditionalOnProperty(name = "kutuphane.odunc.sayac-esitleme.acilista", havingValue = "true")
+public class AktifOduncSayaciEsitleyici {
+
+    private final OduncService oduncService;
+
+    public AktifOduncSayaciEsitleyici(OduncService oduncService) {
+        this.oduncService = oduncService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void esitle() {
+        oduncService.aktifOduncSayaclariniEsitle();
+    }
+}
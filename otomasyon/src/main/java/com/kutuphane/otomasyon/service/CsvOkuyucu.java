@@ -0,0 +1,98 @@
+package com.kutuphane.otomasyon.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 uyumlu, akış halinde çalışan küçük bir CSV okuyucu.
+ * Dosya kayıt kayıt okunur; tırnak içindeki virgül, çift tırnak ve satır
+ * sonları desteklenir. KitapDisaAktarmaService'in ürettiği CSV'yi okuyabilir.
+ */
+class CsvOkuyucu {
+
+    private final Reader okuyucu;
+    private long satir = 1; // Okuma konumunun bulunduğu satır
+    private long kayitSatiri; // Son okunan kaydın başladığı satır
+    private int geriAlinan = -1; // "\r\n" kontrolü için okunup geri bırakılan karakter
+
+    CsvOkuyucu(Reader okuyucu) {
+        this.okuyucu = okuyucu;
+    }
+
+    /**
+     * Sonraki kaydı alanlarına ayrılmış olarak okur.
+     *
+     * @return Kaydın alanları; dosya sonunda null.
+     * @throws IllegalArgumentException Kapanmamış tırnak varsa.
+     */
+    List<String> sonrakiKayit() throws IOException {
+        int c = oku();
+        if (c == -1) {
+            return null;
+        }
+        kayitSatiri = satir;
+        List<String> alanlar = new ArrayList<>();
+        StringBuilder alan = new StringBuilder();
+        boolean tirnakta = false;
+        while (true) {
+            if (tirnakta) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Kapanmamış tırnak (satır " + kayitSatiri + ").");
+                }
+                if (c == '"') {
+                    int sonraki = oku();
+                    if (sonraki == '"') {
+                        alan.append('"'); // Kaçışlı çift tırnak
+                    } else {
+                        tirnakta = false;
+                        c = sonraki;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        satir++;
+                    }
+                    alan.append((char) c);
+                }
+            } else if (c == '"' && alan.length() == 0) {
+                tirnakta = true;
+            } else if (c == ',') {
+                alanlar.add(alan.toString());
+                alan.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int sonraki = oku();
+                    if (sonraki != '\n') {
+                        geriAlinan = sonraki;
+                    }
+                }
+                if (c != -1) {
+                    satir++;
+                }
+                alanlar.add(alan.toString());
+                return alanlar;
+            } else {
+                alan.append((char) c);
+            }
+            c = oku();
+        }
+    }
+
+    /**
+     * Son okunan kaydın dosyadaki başlangıç satırı.
+     */
+    long kayitSatiri() {
+        return kayitSatiri;
+    }
+
+    private int oku() throws IOException {
+        if (geriAlinan != -1) {
+            int c = geriAlinan;
+            geriAlinan = -1;
+            return c;
+        }
+        return okuyucu.read();
+    }
+}
@@ -0,0 +1,104 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /api/kitaplar yanıtını JSON'a dönüştürülmüş (ve isteğe bağlı olarak
+ * gzip ile sıkıştırılmış) bayt dizileri olarak tutan önbellek. Katalog
+ * değişmediği sürece her istek aynı diziyi doğrudan yanıta yazar; entity
+ * oluşturulmaz, Jackson çalışmaz.
+ *
+ * Anlık görüntü KitapService'teki katalog sürümüne bağlıdır. Sürüm değiştikten
+ * sonraki ilk istek listeyi bir kez yeniden okur ve dönüştürür; aynı anda gelen
+ * diğer istekler bu işin bitmesini bekler (veritabanına tek okuma gider).
+ * Liste, okuma kopyası tanımlı olsa bile ana veritabanından okunur; aksi halde
+ * gecikmeli kopyadaki eski liste yeni sürümün ETag'iyle sunulabilirdi.
+ * Değişiklik olmadıkça hiçbir şey yeniden üretilmez.
+ */
+@Component
+public class KatalogYanitOnbellegi {
+
+    private static final Logger log = LoggerFactory.getLogger(KatalogYanitOnbellegi.class);
+
+    /**
+     * Belirli bir katalog sürümünün hazır yanıtı. Diziler paylaşılır; hiçbir
+     * koşulda değiştirilmemelidir.
+     *
+     * @param surum Listenin okunmasından önce alınan katalog sürümü.
+     * @param json  Liste JSON'u (UTF-8).
+     * @param gzip  Aynı JSON'un gzip ile sıkıştırılmış hali; kapalıysa null.
+     */
+    public record AnlikGoruntu(long surum, byte[] json, byte[] gzip) {
+    }
+
+    private final KitapService kitapService;
+    private final ObjectMapper objectMapper; // MVC ile aynı ayarlarla yazmak için Spring'in mapper'ı
+    private final boolean gzipAcik;
+    private final ReentrantLock yenilemeKilidi = new ReentrantLock();
+    private volatile AnlikGoruntu anlikGoruntu;
+
+    public KatalogYanitOnbellegi(KitapService kitapService, ObjectMapper objectMapper,
+            @Value("${kutuphane.kitap.katalog-yanit.gzip:true}") boolean gzipAcik) {
+        this.kitapService = kitapService;
+        this.objectMapper = objectMapper;
+        this.gzipAcik = gzipAcik;
+    }
+
+    /**
+     * Katalogun güncel yanıtını döndürür; sürüm değişmişse önce yeniden üretir.
+     */
+    public AnlikGoruntu getir() {
+        AnlikGoruntu mevcut = anlikGoruntu;
+        if (mevcut != null && mevcut.surum() == kitapService.getKatalogSurumu()) {
+            return mevcut;
+        }
+        yenilemeKilidi.lock();
+        try {
+            long surum = kitapService.getKatalogSurumu(); // Listeden önce okunmalı
+            mevcut = anlikGoruntu;
+            if (mevcut != null && mevcut.surum() == surum) {
+                return mevcut; // Beklerken başka bir istek yeniden üretti
+            }
+            mevcut = uret(surum);
+            anlikGoruntu = mevcut;
+            return mevcut;
+        } finally {
+            yenilemeKilidi.unlock();
+        }
+    }
+
+    // --- Yardımcı Metotlar ---
+
+    private AnlikGoruntu uret(long surum) {
+        long baslangic = System.nanoTime();
+        List<Kitap> kitaplar = kitapService.tumKitaplariAnaVeritabanindanGetir(); // Kopya gecikebilir
+        byte[] json = objectMapper.writeValueAsBytes(kitaplar);
+        byte[] gzip = gzipAcik ? sikistir(json) : null;
+        log.debug("Katalog yanıtı yeniden üretildi: sürüm={}, {} kitap, {} bayt (gzip {}), {} ms", surum,
+                kitaplar.size(), json.length, gzip == null ? "-" : gzip.length,
+                (System.nanoTime() - baslangic) / 1_000_000);
+        return new AnlikGoruntu(surum, json, gzip);
+    }
+
+    private static byte[] sikistir(byte[] veri) {
+        ByteArrayOutputStream cikti = new ByteArrayOutputStream(Math.max(64, veri.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(cikti)) {
+            gzip.write(veri);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Bellek içi akışta oluşmaz
+        }
+        return cikti.toByteArray();
+    }
+}
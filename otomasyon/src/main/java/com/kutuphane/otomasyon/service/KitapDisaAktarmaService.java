@@ -0,0 +1,139 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Kitap kataloğunu başka sistemlere aktarmak için NDJSON veya CSV biçiminde
+ * dışa aktaran servis sınıfı.
+ * Kayıtlar veritabanı imlecinden okunup doğrudan çıkış akışına yazılır; tüm
+ * katalog hiçbir zaman belleğe alınmaz.
+ */
+@Service
+public class KitapDisaAktarmaService {
+
+    private static final Logger log = LoggerFactory.getLogger(KitapDisaAktarmaService.class);
+
+    private static final byte[] SATIR_SONU = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final String CSV_BASLIK = "id,baslik,yazar,isbn,mevcut\n";
+
+    /**
+     * Desteklenen dışa aktarma biçimleri.
+     */
+    public enum Bicim {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String icerikTipi; // HTTP Content-Type değeri
+        private final String uzanti; // İndirilen dosyanın uzantısı
+
+        Bicim(String icerikTipi, String uzanti) {
+            this.icerikTipi = icerikTipi;
+            this.uzanti = uzanti;
+        }
+
+        public String getIcerikTipi() {
+            return icerikTipi;
+        }
+
+        public String getUzanti() {
+            return uzanti;
+        }
+    }
+
+    private final KitapRepository kitapRepository;
+    private final EntityManager entityManager; // Kalıcılık bağlamını (persistence context) temizlemek için
+    private final ObjectMapper objectMapper; // NDJSON satırlarını üretmek için
+    private final int temizlemeAraligi; // Kaç satırda bir persistence context temizlenecek
+
+    public KitapDisaAktarmaService(KitapRepository kitapRepository, EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${kutuphane.kitap.disa-aktarma.temizleme-araligi:1000}") int temizlemeAraligi) {
+        this.kitapRepository = kitapRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.temizlemeAraligi = temizlemeAraligi;
+    }
+
+    /**
+     * Tüm kataloğu verilen biçimde çıkış akışına yazar.
+     * Transaction, Stream'in açık kalabilmesi için metot boyunca sürer ve salt
+     * okunurdur.
+     * 
+     * @param bicim Çıktı biçimi (NDJSON veya CSV).
+     * @param cikis Verinin yazılacağı akış (genellikle HTTP yanıt gövdesi).
+     * @return Yazılan kitap sayısı.
+     */
+    @Transactional(readOnly = true)
+    public long disaAktar(Bicim bicim, OutputStream cikis) {
+        long sayac = 0;
+        try (Stream<Kitap> akis = kitapRepository.streamAll()) {
+            OutputStream tampon = new BufferedOutputStream(cikis, 64 * 1024);
+            if (bicim == Bicim.CSV) {
+                tampon.write(CSV_BASLIK.getBytes(StandardCharsets.UTF_8));
+            }
+
+            Iterator<Kitap> iterator = akis.iterator();
+            while (iterator.hasNext()) {
+                Kitap kitap = iterator.next();
+                if (bicim == Bicim.CSV) {
+                    tampon.write(csvSatiri(kitap).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    tampon.write(objectMapper.writeValueAsBytes(kitap));
+                    tampon.write(SATIR_SONU);
+                }
+
+                // Yüklenen varlıklar persistence context'te birikmesin diye periyodik
+                // olarak temizlenir; böylece bellek kullanımı sabit kalır.
+                if (++sayac % temizlemeAraligi == 0) {
+                    entityManager.clear();
+                }
+            }
+            tampon.flush();
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapattığında buraya düşülür.
+            throw new UncheckedIOException("Katalog dışa aktarımı yarıda kesildi.", e);
+        }
+
+        log.info("Katalog {} biçiminde dışa aktarıldı. Kitap sayısı: {}", bicim, sayac);
+        return sayac;
+    }
+
+    // --- Yardımcı Metotlar ---
+
+    // Tek bir kitabı RFC 4180 uyumlu CSV satırına dönüştürür.
+    private static String csvSatiri(Kitap kitap) {
+        return kitap.getId() + ","
+                + csvAlani(kitap.getBaslik()) + ","
+                + csvAlani(kitap.getYazar()) + ","
+                + csvAlani(kitap.getIsbn()) + ","
+                + kitap.isMevcut() + "\n";
+    }
+
+    // Virgül, tırnak veya satır sonu içeren alanları tırnak içine alır.
+    private static String csvAlani(String deger) {
+        if (deger == null) {
+            return "";
+        }
+        if (deger.indexOf(',') < 0 && deger.indexOf('"') < 0 && deger.indexOf('\n') < 0
+                && deger.indexOf('\r') < 0) {
+            return deger;
+        }
+        return '"' + deger.replace("\"", "\"\"") + '"';
+    }
+}
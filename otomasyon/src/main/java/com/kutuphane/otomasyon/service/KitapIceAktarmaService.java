@@ -0,0 +1,312 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.arama.KitapAramaIndeksi;
+import com.kutuphane.otomasyon.arama.OneriAgaci;
+import com.kutuphane.otomasyon.dto.IceAktarmaRaporu;
+import com.kutuphane.otomasyon.dto.IceAktarmaRaporu.ReddedilenKayit;
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Yeni bir şube açılırken binlerce kitabı tek istekte kataloğa ekleyen servis
+ * sınıfı. Dosya (CSV veya NDJSON) satır satır okunur, ISBN benzersizliği
+ * veritabanına gitmeden bellekte kontrol edilir ve kayıtlar yapılandırılabilir
+ * boyuttaki gruplar halinde, her grup kendi transaction'ında yazılır.
+ */
+@Service
+public class KitapIceAktarmaService {
+
+    private static final Logger log = LoggerFactory.getLogger(KitapIceAktarmaService.class);
+
+    private static final long ILERLEME_LOG_ARALIGI = 10_000; // Kaç kayıtta bir ilerleme loglanacak
+
+    private final KitapRepository kitapRepository;
+    private final KitapAramaIndeksi kitapAramaIndeksi;
+    private final OneriAgaci oneriAgaci;
+    private final KitapService kitapService; // Eklenen ISBN'lerin "bulunamadı" önbellek kayıtlarını atmak için
+    private final EntityManager entityManager; // Persistence context'i boşaltmak/temizlemek için
+    private final ObjectMapper objectMapper; // NDJSON satırlarını okumak için
+    private final TransactionTemplate transactionTemplate; // Her grup için ayrı transaction
+    private final int grupBoyutu; // Tek transaction'da (ve JDBC batch'inde) yazılacak kayıt sayısı
+    private final int enFazlaRedAyrintisi; // Raporda ayrıntısı listelenecek en fazla red sayısı
+
+    public KitapIceAktarmaService(KitapRepository kitapRepository, KitapAramaIndeksi kitapAramaIndeksi,
+            OneriAgaci oneriAgaci, KitapService kitapService, EntityManager entityManager, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${kutuphane.kitap.ice-aktarma.grup-boyutu:500}") int grupBoyutu,
+            @Value("${kutuphane.kitap.ice-aktarma.en-fazla-red-ayrintisi:1000}") int enFazlaRedAyrintisi) {
+        this.kitapRepository = kitapRepository;
+        this.kitapAramaIndeksi = kitapAramaIndeksi;
+        this.oneriAgaci = oneriAgaci;
+        this.kitapService = kitapService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grupBoyutu = grupBoyutu;
+        this.enFazlaRedAyrintisi = enFazlaRedAyrintisi;
+    }
+
+    /**
+     * Verilen akıştaki kitapları kataloğa ekler.
+     * CSV dosyasının ilk satırı başlık olmalıdır (en az baslik, yazar ve isbn
+     * sütunları; dışa aktarma çıktısındaki id ve mevcut sütunları da kabul
+     * edilir ama yok sayılır). NDJSON'da her satır bir kitap nesnesidir.
+     * Kitaplar her zaman rafta (mevcut = true) olarak eklenir: dosyadaki
+     * "ödünçte" durumu açık bir ödünç kaydı olmadan aktarılırsa kitap bir daha
+     * ne ödünç verilebilir ne iade alınabilir.
+     * Hatalı veya tekrarlanan kayıtlar işlemi durdurmaz; raporda listelenir.
+     *
+     * @param bicim Girdi biçimi (NDJSON veya CSV).
+     * @param giris Verinin okunacağı akış (genellikle HTTP istek gövdesi).
+     * @return İçe aktarma raporu.
+     */
+    public IceAktarmaRaporu iceAktar(KitapDisaAktarmaService.Bicim bicim, InputStream giris) {
+        long baslangic = System.nanoTime();
+        Set<String> bilinenIsbnler = mevcutIsbnleriYukle();
+        Rapor rapor = new Rapor();
+        List<Satir> grup = new ArrayList<>(grupBoyutu);
+
+        try (BufferedReader okuyucu = new BufferedReader(
+                new InputStreamReader(giris, StandardCharsets.UTF_8), 64 * 1024)) {
+            KayitKaynagi kaynak = bicim == KitapDisaAktarmaService.Bicim.CSV ? csvKaynagi(okuyucu)
+                    : ndjsonKaynagi(okuyucu);
+            Satir satir;
+            while ((satir = kaynak.sonraki()) != null) {
+                rapor.okunan++;
+                if (satir.hata != null) {
+                    rapor.reddet(satir.no, satir.isbn, satir.hata);
+                } else if (!bilinenIsbnler.add(satir.kitap.getIsbn())) {
+                    rapor.reddet(satir.no, satir.kitap.getIsbn(), "ISBN zaten kayıtlı veya dosyada tekrarlanıyor.");
+                } else {
+                    grup.add(satir);
+                    if (grup.size() >= grupBoyutu) {
+                        grubuYaz(grup, bilinenIsbnler, rapor);
+                    }
+                }
+                if (rapor.okunan % ILERLEME_LOG_ARALIGI == 0) {
+                    log.info("Katalog içe aktarılıyor... Okunan: {}, eklenen: {}, reddedilen: {}",
+                            rapor.okunan, rapor.eklenen, rapor.reddedilen);
+                }
+            }
+            grubuYaz(grup, bilinenIsbnler, rapor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Katalog içe aktarımı yarıda kesildi.", e);
+        }
+
+        long sureMs = (System.nanoTime() - baslangic) / 1_000_000;
+        log.info("Katalog {} biçiminden içe aktarıldı. Okunan: {}, eklenen: {}, reddedilen: {}, süre: {} ms",
+                bicim, rapor.okunan, rapor.eklenen, rapor.reddedilen, sureMs);
+        return new IceAktarmaRaporu(rapor.okunan, rapor.eklenen, rapor.reddedilen, rapor.ayrintilar, sureMs);
+    }
+
+    // --- Yazma ---
+
+    // Grubu tek transaction'da yazar; persistence context sonunda boşaltılıp
+    // temizlenir. Grup veritabanında reddedilirse (ör. aynı anda başka bir
+    // istekle eklenen ISBN) tüm kayıtları raporlanır ve işleme devam edilir.
+    private void grubuYaz(List<Satir> grup, Set<String> bilinenIsbnler, Rapor rapor) {
+        if (grup.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(durum -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(grupBoyutu);
+                for (Satir satir : grup) {
+                    entityManager.persist(satir.kitap);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            List<Kitap> eklenenler = new ArrayList<>(grup.size());
+            for (Satir satir : grup) {
+                kitapAramaIndeksi.ekle(satir.kitap);
+                eklenenler.add(satir.kitap);
+            }
+            oneriAgaci.ekle(eklenenler); // Yalnızca grubun etkilediği yollar yeniden hesaplanır
+            kitapService.katalogDegisti(eklenenler);
+            rapor.eklenen += grup.size();
+        } catch (DataAccessException | PersistenceException e) {
+            String neden = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("İçe aktarma grubu veritabanı tarafından reddedildi ({} kayıt): {}", grup.size(), neden);
+            for (Satir satir : grup) {
+                bilinenIsbnler.remove(satir.kitap.getIsbn());
+                rapor.reddet(satir.no, satir.kitap.getIsbn(), "Veritabanı kaydı reddetti: " + neden);
+            }
+        }
+        grup.clear();
+    }
+
+    // Katalogdaki mevcut ISBN'leri tek bir akış sorgusuyla belleğe alır.
+    private Set<String> mevcutIsbnleriYukle() {
+        Set<String> isbnler = new HashSet<>();
+        transactionTemplate.executeWithoutResult(durum -> {
+            durum.setRollbackOnly();
+            try (Stream<String> akis = kitapRepository.streamTumIsbnler()) {
+                akis.forEach(isbnler::add);
+            }
+        });
+        return isbnler;
+    }
+
+    // --- Okuma ---
+
+    // CSV kaynağı: başlık satırındaki sütun adlarına göre alanları eşler.
+    private KayitKaynagi csvKaynagi(BufferedReader okuyucu) throws IOException {
+        CsvOkuyucu csv = new CsvOkuyucu(okuyucu);
+        List<String> baslik = csv.sonrakiKayit();
+        if (baslik == null) {
+            return () -> null;
+        }
+        Map<String, Integer> sutunlar = new HashMap<>();
+        for (int i = 0; i < baslik.size(); i++) {
+            String ad = baslik.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            sutunlar.put(ad, i);
+        }
+        for (String zorunlu : List.of("baslik", "yazar", "isbn")) {
+            if (!sutunlar.containsKey(zorunlu)) {
+                throw new IsKuraliException("CSV başlığında '" + zorunlu + "' sütunu bulunamadı.");
+            }
+        }
+
+        return () -> {
+            List<String> alanlar;
+            try {
+                do {
+                    alanlar = csv.sonrakiKayit();
+                } while (alanlar != null && alanlar.size() == 1 && alanlar.get(0).isBlank());
+            } catch (IllegalArgumentException e) {
+                return Satir.hatali(csv.kayitSatiri(), null, e.getMessage());
+            }
+            if (alanlar == null) {
+                return null;
+            }
+            Kitap kitap = new Kitap();
+            kitap.setBaslik(alan(alanlar, sutunlar.get("baslik")));
+            kitap.setYazar(alan(alanlar, sutunlar.get("yazar")));
+            kitap.setIsbn(alan(alanlar, sutunlar.get("isbn")));
+            return Satir.dogrula(csv.kayitSatiri(), kitap);
+        };
+    }
+
+    // NDJSON kaynağı: her dolu satır bir Kitap nesnesidir.
+    private KayitKaynagi ndjsonKaynagi(BufferedReader okuyucu) {
+        long[] satirNo = { 0 };
+        return () -> {
+            String satir;
+            do {
+                satir = okuyucu.readLine();
+                satirNo[0]++;
+            } while (satir != null && satir.isBlank());
+            if (satir == null) {
+                return null;
+            }
+            try {
+                Kitap kitap = objectMapper.readValue(satir, Kitap.class);
+                kitap.setId(null); // Kimlikler hedef veritabanında yeniden üretilir
+                kitap.setMevcut(true); // Ödünç kayıtları aktarılmaz (bkz. iceAktar)
+                kitap.setBaslik(kirp(kitap.getBaslik()));
+                kitap.setYazar(kirp(kitap.getYazar()));
+                kitap.setIsbn(kirp(kitap.getIsbn()));
+                return Satir.dogrula(satirNo[0], kitap);
+            } catch (JacksonException e) {
+                return Satir.hatali(satirNo[0], null, "Geçersiz JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private static String alan(List<String> alanlar, Integer sira) {
+        if (sira == null || sira >= alanlar.size()) {
+            return null;
+        }
+        return kirp(alanlar.get(sira));
+    }
+
+    private static String kirp(String deger) {
+        return deger == null ? null : deger.trim();
+    }
+
+    // --- Yardımcı Tipler ---
+
+    // Okunan kayıtları sırayla veren kaynak (CSV veya NDJSON).
+    @FunctionalInterface
+    private interface KayitKaynagi {
+        Satir sonraki() throws IOException;
+    }
+
+    // Okunmuş tek bir kayıt: ya doğrulanmış bir kitap ya da hata nedeni.
+    private static final class Satir {
+        final long no;
+        final Kitap kitap;
+        final String isbn;
+        final String hata;
+
+        private Satir(long no, Kitap kitap, String isbn, String hata) {
+            this.no = no;
+            this.kitap = kitap;
+            this.isbn = isbn;
+            this.hata = hata;
+        }
+
+        static Satir hatali(long no, String isbn, String hata) {
+            return new Satir(no, null, isbn, hata);
+        }
+
+        // Kitap varlığındaki @NotBlank kurallarının aynısını uygular.
+        static Satir dogrula(long no, Kitap kitap) {
+            if (kitap.getBaslik() == null || kitap.getBaslik().isEmpty()) {
+                return hatali(no, kitap.getIsbn(), "Başlık boş olamaz");
+            }
+            if (kitap.getYazar() == null || kitap.getYazar().isEmpty()) {
+                return hatali(no, kitap.getIsbn(), "Yazar boş olamaz");
+            }
+            if (kitap.getIsbn() == null || kitap.getIsbn().isEmpty()) {
+                return hatali(no, null, "ISBN boş olamaz");
+            }
+            return new Satir(no, kitap, kitap.getIsbn(), null);
+        }
+    }
+
+    // İşlem boyunca biriken sayaçlar ve red ayrıntıları.
+    private final class Rapor {
+        long okunan;
+        long eklenen;
+        long reddedilen;
+        final List<ReddedilenKayit> ayrintilar = new ArrayList<>();
+
+        void reddet(long satir, String isbn, String sebep) {
+            reddedilen++;
+            if (ayrintilar.size() < enFazlaRedAyrintisi) {
+                ayrintilar.add(new ReddedilenKayit(satir, isbn, sebep));
+            }
+        }
+    }
+}
@@ -1,10 +1,32 @@
 package com.kutuphane.otomasyon.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import com.kutuphane.otomasyon.akis.StokAkisi;
+import com.kutuphane.otomasyon.config.OnbellekConfig;
+import com.kutuphane.otomasyon.arama.KitapAramaIndeksi;
+import com.kutuphane.otomasyon.arama.OneriAgaci;
+import com.kutuphane.otomasyon.dto.AramaSonucu;
+import com.kutuphane.otomasyon.dto.KitapSayfasi;
+import com.kutuphane.otomasyon.dto.Oneri;
+import com.kutuphane.otomasyon.dto.StokDegisikligi;
+import com.kutuphane.otomasyon.exception.IsKuraliException;
 import com.kutuphane.otomasyon.model.Kitap;
 import com.kutuphane.otomasyon.repository.KitapRepository; // Veri erişim katmanı
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service; // Bu sınıfın bir servis bileşeni olduğunu belirtir
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Kitap varlığı ile ilgili iş mantığı operasyonlarını yürüten servis sınıfı.
@@ -13,14 +35,40 @@ import org.springframework.stereotype.Service; // Bu sınıfın bir servis bile
 @Service
 public class KitapService {
 
+    // Devam anahtarının biçim sürümü. Biçim değişirse eski anahtarlar reddedilir.
+    private static final String DEVAM_ONEKI = "k1:";
+
     private final KitapRepository kitapRepository; // Repository bağımlılığı
+    private final KitapAramaIndeksi kitapAramaIndeksi; // Bellek içi arama indeksi
+    private final OneriAgaci oneriAgaci; // Otomatik tamamlama için önek ağacı
+    private final Cache isbnOnbellegi; // ISBN -> Kitap önbelleği (pozitif ve negatif kayıtlar)
+    private final StokAkisi stokAkisi; // Raf durumu değişikliklerini SSE abonelerine iletir
+    // ISBN okumaları için ana veritabanı (salt okunur olmayan) transaction'ı;
+    // önbellek isabetinde hiç açılmaz.
+    private final TransactionTemplate anaVeritabaniTransaction;
+    private final int varsayilanSayfaBoyutu; // İstemci boyut belirtmezse kullanılır
+    private final int enBuyukSayfaBoyutu; // Tek istekte dönebilecek en fazla kitap
+    // Katalog her değiştiğinde artan sürüm (ETag). Açılış anından (ms) başlar ki
+    // yeniden başlatma sonrası eski bir sürüm numarası başka bir içeriğe denk gelmesin.
+    private final AtomicLong katalogSurumu = new AtomicLong(System.currentTimeMillis());
 
     /**
      * Gerekli repository'yi enjekte etmek için kullanılan kurucu metot (Constructor
-     * Injection).
+     * Injection). Sayfa boyutları application.properties üzerinden ayarlanabilir.
      */
-    public KitapService(KitapRepository kitapRepository) {
+    public KitapService(KitapRepository kitapRepository, KitapAramaIndeksi kitapAramaIndeksi,
+            OneriAgaci oneriAgaci, CacheManager cacheManager, StokAkisi stokAkisi,
+            PlatformTransactionManager transactionManager,
+            @Value("${kutuphane.kitap.sayfa.varsayilan-boyut:50}") int varsayilanSayfaBoyutu,
+            @Value("${kutuphane.kitap.sayfa.en-buyuk-boyut:500}") int enBuyukSayfaBoyutu) {
         this.kitapRepository = kitapRepository;
+        this.kitapAramaIndeksi = kitapAramaIndeksi;
+        this.oneriAgaci = oneriAgaci;
+        this.isbnOnbellegi = cacheManager.getCache(OnbellekConfig.ISBNLER);
+        this.stokAkisi = stokAkisi;
+        this.anaVeritabaniTransaction = new TransactionTemplate(transactionManager);
+        this.varsayilanSayfaBoyutu = varsayilanSayfaBoyutu;
+        this.enBuyukSayfaBoyutu = enBuyukSayfaBoyutu;
     }
 
     /**
@@ -32,7 +80,11 @@ public class KitapService {
     public Kitap kitapEkle(Kitap kitap) {
         // İş kuralı (business logic) gerekirse buraya yazılır, yoksa doğrudan
         // Repository çağrılır.
-        return kitapRepository.save(kitap);
+        Kitap kaydedilen = kitapRepository.save(kitap);
+        kitapAramaIndeksi.ekle(kaydedilen); // Arama indeksini artımlı olarak güncelle
+        oneriAgaci.ekle(kaydedilen); // Öneri ağacındaki etkilenen yolları yeniden hesapla
+        stokDegisti(List.of(kaydedilen), kaydedilen.isMevcut()); // Varsa "bulunamadı" kaydını önbellekten at
+        return kaydedilen;
     }
 
     /**
@@ -40,17 +92,98 @@ public class KitapService {
      * 
      * @return Kitap nesnelerinden oluşan bir liste.
      */
+    @Transactional(readOnly = true) // Okuma kopyası tanımlıysa oradan okunur
     public List<Kitap> tumKitaplariGetir() {
         return kitapRepository.findAll();
     }
 
+    /**
+     * Tüm kitapları her zaman ana veritabanından listeler (R - Read). Katalog
+     * sürümüyle etiketlenecek anlık görüntüler (bkz. KatalogYanitOnbellegi)
+     * içindir: gecikmeli bir okuma kopyası, sürüm arttıktan sonra da eski
+     * listeyi döndürebilir ve bu liste yeni sürümle önbelleğe girerdi.
+     * 
+     * @return Kitap nesnelerinden oluşan bir liste.
+     */
+    @Transactional // Salt okunur değil: her zaman ana veritabanından okunur
+    public List<Kitap> tumKitaplariAnaVeritabanindanGetir() {
+        return kitapRepository.findAll();
+    }
+
+    /**
+     * Kitapları imleç (keyset) tabanlı sayfalama ile listeler (R - Read).
+     * Her sayfa "id > sonId" koşuluyla okunduğundan maliyet katalog
+     * büyüklüğünden bağımsızdır.
+     * 
+     * @param devam  Bir önceki sayfadan dönen devam anahtarı (ilk sayfa için null).
+     * @param boyut  İstenen sayfa boyutu (null ise varsayılan kullanılır).
+     * @param mevcut Opsiyonel stok durumu filtresi.
+     * @param yazar  Opsiyonel yazar filtresi (tam eşleşme).
+     * @return Kitapları ve sonraki sayfanın devam anahtarını içeren sayfa.
+     */
+    @Transactional(readOnly = true)
+    public KitapSayfasi kitapSayfasiGetir(String devam, Integer boyut, Boolean mevcut, String yazar) {
+        int sayfaBoyutu = sayfaBoyutunuBelirle(boyut);
+        long sonId = devamAnahtariniCoz(devam);
+
+        // Bir fazla kayıt istenir; gelirse sonraki sayfanın var olduğu anlaşılır.
+        Limit limit = Limit.of(sayfaBoyutu + 1);
+        boolean yazarVar = yazar != null && !yazar.isBlank();
+
+        List<Kitap> kitaplar;
+        if (mevcut != null && yazarVar) {
+            kitaplar = kitapRepository.findByIdGreaterThanAndMevcutAndYazarOrderByIdAsc(sonId, mevcut, yazar, limit);
+        } else if (mevcut != null) {
+            kitaplar = kitapRepository.findByIdGreaterThanAndMevcutOrderByIdAsc(sonId, mevcut, limit);
+        } else if (yazarVar) {
+            kitaplar = kitapRepository.findByIdGreaterThanAndYazarOrderByIdAsc(sonId, yazar, limit);
+        } else {
+            kitaplar = kitapRepository.findByIdGreaterThanOrderByIdAsc(sonId, limit);
+        }
+
+        if (kitaplar.size() <= sayfaBoyutu) {
+            return new KitapSayfasi(kitaplar, null); // Son sayfa
+        }
+        List<Kitap> sayfa = kitaplar.subList(0, sayfaBoyutu);
+        return new KitapSayfasi(sayfa, devamAnahtariOlustur(sayfa.get(sayfaBoyutu - 1).getId()));
+    }
+
     /**
      * Belirtilen ID'ye sahip kitabı veritabanından siler (D - Delete).
      * 
      * @param id Silinecek kitabın ID'si.
      */
     public void kitapSil(Long id) {
+        Optional<Kitap> silinecek = kitapRepository.findById(id); // ISBN önbelleğini temizlemek için
         kitapRepository.deleteById(id);
+        kitapAramaIndeksi.sil(id); // Silinen kitap arama sonuçlarından da çıkar
+        oneriAgaci.sil(id);
+        silinecek.ifPresent(kitap -> bildir(List.of(kitap), List.of(new StokDegisikligi(id, false, true))));
+    }
+
+    /**
+     * Kitapları başlık ve yazar alanlarında arar (R - Read).
+     * Arama bellek içi indeks üzerinden yapılır, veritabanına gidilmez.
+     * 
+     * @param sorgu   Arama metni (Türkçe karakter ve büyük/küçük harf duyarsız).
+     * @param limit   Dönecek en fazla sonuç sayısı.
+     * @param bulanik true ise yazım hatalarına toleranslı (1-2 harf) arama yapılır.
+     * @return Alaka sırasına göre sonuçlar.
+     */
+    public List<AramaSonucu> kitapAra(String sorgu, int limit, boolean bulanik) {
+        return kitapAramaIndeksi.ara(sorgu, Math.min(limit, enBuyukSayfaBoyutu), bulanik);
+    }
+
+    /**
+     * Yazılan öneke göre başlık ve yazar önerileri üretir (otomatik tamamlama).
+     * Öneriler bellek içi önek ağacından okunur, veritabanına gidilmez.
+     * 
+     * @param onek Kullanıcının o ana kadar yazdığı metin.
+     * @param k    İstenen öneri sayısı.
+     * @return En iyi k öneri.
+     */
+    public List<Oneri> oneriGetir(String onek, int k) {
+        return oneriAgaci.oner(onek, k);
     }
 
     /**
@@ -59,7 +192,145 @@ public class KitapService {
      * @return Kitap bulunursa Optional içinde döner, bulunamazsa boş Optional
      *         döner.
      */
+    @Transactional(readOnly = true)
     public Optional<Kitap> kitapBulById(Long id) {
         return kitapRepository.findById(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * ISBN'e göre kitabı bulur (R - Read). Masadaki barkod okuyucuların
+     * kullandığı yoldur; sonuç, bulunamayan ISBN'ler dahil önbellekte tutulur
+     * (bkz. OnbellekConfig.ISBNLER). Kitap eklendiğinde, silindiğinde veya
+     * ödünç/iade ile stok durumu değiştiğinde ilgili kayıt önbellekten atılır.
+     * Okuma kopyasına gidilmez: commit'ten hemen sonraki bir okuma, gecikmeli
+     * kopyadaki eski stok durumunu önbelleğe yazabilirdi.
+     * 
+     * Önbelleğe yazma katalog sürümüyle korunur (@Cacheable kullanılmaz): okuma
+     * sürerken bir değişiklik commit edilirse, okunan eski hal commit sonrası
+     * atmadan (bildir) sonra önbelleğe yazılıp yaşam süresi boyunca
+     * kalabilirdi. Sürüm okumadan önce alınır; yazmadan sonra değişmişse kayıt
+     * geri atılır. bildir sürümü atmadan önce artırdığından, sürümü değişmemiş
+     * gören bir yazma, o değişikliğin atmasından önce yapılmış olur.
+     * 
+     * @param isbn Aranacak ISBN.
+     * @return Kitap bulunursa Optional içinde döner, bulunamazsa boş Optional.
+     */
+    public Optional<Kitap> kitapBulByIsbn(String isbn) {
+        Cache.ValueWrapper kayit = isbnOnbellegi.get(isbn);
+        if (kayit != null) {
+            return Optional.ofNullable((Kitap) kayit.get()); // null: negatif kayıt
+        }
+        long surum = katalogSurumu.get();
+        // Salt okunur değil: her zaman ana veritabanından okunur
+        Optional<Kitap> kitap = anaVeritabaniTransaction.execute(durum -> kitapRepository.findByIsbn(isbn));
+        isbnOnbellegi.put(isbn, kitap.orElse(null));
+        if (katalogSurumu.get() != surum) {
+            isbnOnbellegi.evict(isbn); // Okunan hal eski olabilir
+        }
+        return kitap;
+    }
+
+    /**
+     * Kitapların kendisi değiştiğinde çağrılır; ISBN önbelleğindeki
+     * kayıtlarını atar ve katalog sürümünü artırır. Aktif bir transaction
+     * varsa her ikisi de commit sonrasına ertelenir, böylece commit'ten önce
+     * gelen bir okuma eski hali tekrar önbelleğe yazamaz veya yeni sürümle
+     * etiketleyemez. Raf durumu değiştiyse bunun yerine stokDegisti çağrılır.
+     * 
+     * @param kitaplar Değişen kitaplar.
+     */
+    public void katalogDegisti(Collection<Kitap> kitaplar) {
+        bildir(kitaplar, List.of());
+    }
+
+    /**
+     * Kitapların raf durumu değiştiğinde çağrılır. katalogDegisti'ye ek olarak
+     * commit sonrasında stok akışı abonelerine yeni durumu yayınlar. Toplu
+     * UPDATE sorgularıyla değişen kitapların entity'leri eski durumu
+     * taşıyabileceğinden yeni durum ayrıca verilir.
+     * 
+     * @param kitaplar Durumu değişen kitaplar.
+     * @param mevcut   Kitapların yeni durumu (rafta mı).
+     */
+    public void stokDegisti(Collection<Kitap> kitaplar, boolean mevcut) {
+        bildir(kitaplar, kitaplar.stream().map(kitap -> new StokDegisikligi(kitap.getId(), mevcut, false)).toList());
+    }
+
+    /**
+     * Katalogun o anki sürümünü döndürür. Sürüm yalnızca bu uygulama örneği
+     * üzerinden yapılan değişikliklerle artar; veritabanına dışarıdan yapılan
+     * değişiklikleri ve diğer sunuculardaki değişiklikleri görmez.
+     * 
+     * Listeyi okumadan ÖNCE alınmalı ve liste ana veritabanından okunmalıdır
+     * (tumKitaplariAnaVeritabanindanGetir): okuma sırasında bir değişiklik
+     * commit edilirse liste eski sürümle etiketlenir ve bir sonraki istekte
+     * yeniden gönderilir. Sürüm commit'ten sonra arttığı için ana veritabanından
+     * yapılan okuma, aldığı sürümdeki değişiklikleri her zaman görür. Okuma
+     * kopyası için bu geçerli değildir; gecikmeli kopya yeni sürümle birlikte
+     * eski listeyi döndürebilir.
+     */
+    public long getKatalogSurumu() {
+        return katalogSurumu.get();
+    }
+
+    // --- Yardımcı Metotlar ---
+
+    // Katalog sürümünü artırır, önbelleği atar ve stok olaylarını yayınlar;
+    // transaction varsa commit sonrasında. Sıra önemlidir: sürüm atmadan önce
+    // artar (bkz. kitapBulByIsbn) ve olayı alan istemci listeyi yeniden çekerse
+    // yeni sürümü görmelidir.
+    private void bildir(Collection<Kitap> kitaplar, List<StokDegisikligi> olaylar) {
+        if (kitaplar.isEmpty()) {
+            return;
+        }
+        List<String> isbnler = kitaplar.stream().map(Kitap::getIsbn).toList();
+        Runnable uygula = () -> {
+            katalogSurumu.incrementAndGet();
+            isbnler.forEach(isbnOnbellegi::evict);
+            stokAkisi.yayinla(olaylar);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    uygula.run();
+                }
+            });
+        } else {
+            uygula.run();
+        }
+    }
+
+    // İstenen boyutu [1, enBuyukSayfaBoyutu] aralığına sıkıştırır.
+    private int sayfaBoyutunuBelirle(Integer boyut) {
+        if (boyut == null) {
+            return varsayilanSayfaBoyutu;
+        }
+        if (boyut < 1) {
+            throw new IsKuraliException("Sayfa boyutu en az 1 olmalıdır.");
+        }
+        return Math.min(boyut, enBuyukSayfaBoyutu);
+    }
+
+    // Son ID'yi istemcinin yorumlamaması gereken opak bir anahtara dönüştürür.
+    private static String devamAnahtariOlustur(Long sonId) {
+        byte[] ham = (DEVAM_ONEKI + sonId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ham);
+    }
+
+    // Devam anahtarını çözer. Anahtar yoksa ilk sayfadan (0) başlanır.
+    private static long devamAnahtariniCoz(String devam) {
+        if (devam == null || devam.isBlank()) {
+            return 0L;
+        }
+        try {
+            String ham = new String(Base64.getUrlDecoder().decode(devam), StandardCharsets.UTF_8);
+            if (!ham.startsWith(DEVAM_ONEKI)) {
+                throw new IsKuraliException("Geçersiz devam anahtarı.");
+            }
+            return Long.parseLong(ham.substring(DEVAM_ONEKI.length()));
+        } catch (IllegalArgumentException e) { // NumberFormatException da bu sınıftan türer
+            throw new IsKuraliException("Geçersiz devam anahtarı.");
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.kutuphane.otomasyon.service;
 
+import com.kutuphane.otomasyon.config.OnbellekConfig;
+import com.kutuphane.otomasyon.guvenlik.KimlikDogrulamaOnbellegi;
 import com.kutuphane.otomasyon.model.Personel;
 import com.kutuphane.otomasyon.model.Kullanici; // Temel soyut sınıf
 import com.kutuphane.otomasyon.model.Uye; // Alt sınıf
 import com.kutuphane.otomasyon.repository.KullaniciRepository; // Veri erişim katmanı
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service; // Bu sınıfın bir servis bileşeni olduğunu belirtir
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,13 +19,18 @@ import java.util.Optional;
 public class KullaniciService {
 
     private final KullaniciRepository kullaniciRepository; // Repository bağımlılığı
+    private final PasswordEncoder passwordEncoder; // Şifre özetleri için
+    private final KimlikDogrulamaOnbellegi kimlikDogrulamaOnbellegi; // Başarılı giriş önbelleği
 
     /**
      * Repository'yi enjekte etmek için kullanılan kurucu metot (Constructor
      * Injection).
      */
-    public KullaniciService(KullaniciRepository kullaniciRepository) {
+    public KullaniciService(KullaniciRepository kullaniciRepository, PasswordEncoder passwordEncoder,
+            KimlikDogrulamaOnbellegi kimlikDogrulamaOnbellegi) {
         this.kullaniciRepository = kullaniciRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.kimlikDogrulamaOnbellegi = kimlikDogrulamaOnbellegi;
     }
 
     // --- TEMEL İŞ MANTIKLARI ---
@@ -27,18 +39,46 @@ public class KullaniciService {
      * 1. Yeni Kullanıcı Ekleme veya Mevcut Kullanıcıyı Güncelleme.
      * Generics (<T extends Kullanici>) ve Polimorfizm sayesinde hem Uye hem de
      * Personel kaydedilebilir.
+     * Güncellemelerde kullanıcı önbellekten hem kayıttan önce hem sonra atılır:
+     * önceki atma, güncelleme yarıda kalırsa değiştirilmiş nesnenin önbellekte
+     * kalmasını; sonraki atma, bu arada eski halin tekrar yüklenmesini önler.
+     * Gönderilen açık şifre (varsa) özetlenerek saklanır; güncellenen
+     * kullanıcının önbellekteki giriş doğrulamaları atılır.
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = OnbellekConfig.KULLANICILAR, key = "#kullanici.id",
+                    condition = "#kullanici.id != null", beforeInvocation = true),
+            @CacheEvict(cacheNames = OnbellekConfig.KULLANICILAR, key = "#kullanici.id",
+                    condition = "#kullanici.id != null")
+    })
     public <T extends Kullanici> T kullaniciEkle(T kullanici) {
         // İş kuralı (Örn: Emailin daha önce kaydedilip kaydedilmediği) gerekirse buraya
         // yazılır.
-        return kullaniciRepository.save(kullanici);
+        if (kullanici.getSifre() != null) {
+            kullanici.setSifreOzeti(passwordEncoder.encode(kullanici.getSifre()));
+            kullanici.setSifre(null); // Açık şifre bellekte tutulmaz
+        }
+        boolean guncelleme = kullanici.getId() != null; // save() yeni kayda ID atar
+        T kaydedilen = kullaniciRepository.save(kullanici);
+        if (guncelleme) {
+            kimlikDogrulamaOnbellegi.unut(kaydedilen.getId());
+        }
+        return kaydedilen;
     }
 
     /**
      * 2. ID ile Kullanıcı Bulma.
+     * Sonuç önbellekte tutulur (bkz. OnbellekConfig); ödünç verme yolundaki
+     * kullanıcı okumaları veritabanına gitmez. Bulunamayan ID'ler önbelleğe
+     * alınmaz. Önbellekteki nesnenin aktifOduncSayisi alanı yaşam süresi kadar
+     * eski olabilir; limit kontrolleri bu alana değil veritabanındaki sayaca
+     * dayanır. Ödünç verme transaction'ı içinden çağrıldığında o transaction'a
+     * katılır ve ana veritabanından okur.
      * 
      * @return Bulunan kullanıcıyı (Uye veya Personel olabilir) içeren Optional.
      */
+    @Cacheable(cacheNames = OnbellekConfig.KULLANICILAR, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true) // Okuma kopyası tanımlıysa oradan okunur
     public Optional<Kullanici> kullaniciBulById(Long id) {
         return kullaniciRepository.findById(id);
     }
@@ -48,6 +88,7 @@ public class KullaniciService {
      * 
      * @return Kullanici tipinde Polimorfik bir liste.
      */
+    @Transactional(readOnly = true)
     public List<Kullanici> tumKullanicilariGetir() {
         return kullaniciRepository.findAll();
     }
@@ -57,6 +98,7 @@ public class KullaniciService {
      * Repository'deki özel JPQL sorgusu (@Query) kullanılarak sadece Uye tipleri
      * filtrelenir.
      */
+    @Transactional(readOnly = true)
     public List<Uye> tumUyeleriGetir() {
         return kullaniciRepository.findAllUyeler();
     }
@@ -66,14 +108,17 @@ public class KullaniciService {
      * Repository'deki özel JPQL sorgusu kullanılarak sadece Personel tipleri
      * filtrelenir.
      */
+    @Transactional(readOnly = true)
     public List<Personel> tumPersonelleriGetir() {
         return kullaniciRepository.findAllPersoneller();
     }
 
     /**
-     * 4. Kullanıcıyı ID ile silme.
+     * 4. Kullanıcıyı ID ile silme. Önbellekteki giriş doğrulamaları da atılır.
      */
+    @CacheEvict(cacheNames = OnbellekConfig.KULLANICILAR, key = "#id")
     public void kullaniciSil(Long id) {
         kullaniciRepository.deleteById(id);
+        kimlikDogrulamaOnbellegi.unut(id);
     }
 }
\ No newline at end of file
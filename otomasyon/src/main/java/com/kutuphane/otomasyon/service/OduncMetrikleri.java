@@ -0,0 +1,73 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.exception.KaynakBulunamadiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ödünç verme ve iade işlemlerinin sürelerini sonuçlarına göre ölçen bileşen.
+ * Ölçüm, OduncService'in transaction proxy'si dışından yapılır; böylece commit
+ * süresi ve kilit beklemeleri de süreye dahil olur.
+ *
+ * Metrikler "kutuphane.odunc.ver" ve "kutuphane.odunc.iade" adlı, "sonuc"
+ * etiketli (basarili, limit_dolu, stokta_yok, bulunamadi, zaten_iade_edilmis,
+ * diger, hata) zamanlayıcılardır. Yüzdelik (p50/p99) hesaplaması için
+ * Prometheus tarafında histogram kovaları yayınlanır.
+ */
+@Component
+public class OduncMetrikleri {
+
+    public static final String ODUNC_VER = "kutuphane.odunc.ver";
+    public static final String IADE_AL = "kutuphane.odunc.iade";
+
+    private static final String BASARILI = "basarili";
+
+    private final MeterRegistry meterRegistry;
+
+    public OduncMetrikleri(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Verilen işlemi çalıştırır ve süresini sonucuna göre etiketlenmiş
+     * zamanlayıcıya kaydeder. İşlemin fırlattığı istisna aynen iletilir.
+     */
+    public <T> T olc(String metrik, Supplier<T> islem) {
+        long baslangic = System.nanoTime();
+        String sonuc = BASARILI;
+        try {
+            return islem.get();
+        } catch (RuntimeException e) {
+            sonuc = sonuc(e);
+            throw e;
+        } finally {
+            zamanlayici(metrik, sonuc).record(System.nanoTime() - baslangic, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer zamanlayici(String metrik, String sonuc) {
+        // Timer'lar registry'de ad ve etiketlere göre tekilleştirilir; aynı
+        // kombinasyon için her çağrıda aynı nesne döner.
+        return Timer.builder(metrik)
+                .description(ODUNC_VER.equals(metrik) ? "Ödünç verme süresi" : "İade alma süresi")
+                .tag("sonuc", sonuc)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String sonuc(RuntimeException e) {
+        if (e instanceof KaynakBulunamadiException) {
+            return "bulunamadi";
+        }
+        if (e instanceof IsKuraliException isKurali) {
+            return isKurali.getSebep().name().toLowerCase(Locale.ROOT);
+        }
+        return "hata";
+    }
+}
@@ -1,7 +1,9 @@
 package com.kutuphane.otomasyon.service;
 
+import com.kutuphane.otomasyon.dto.TopluIslemSonucu;
 import com.kutuphane.otomasyon.model.Kitap;
 import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.exception.IsKuraliException.Sebep;
 import com.kutuphane.otomasyon.exception.KaynakBulunamadiException;
 import com.kutuphane.otomasyon.model.Odunc;
 import com.kutuphane.otomasyon.model.Kullanici;
@@ -14,7 +16,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Kitap ödünç alma ve iade etme ile ilgili iş mantığını yöneten servis sınıfı.
@@ -27,10 +34,18 @@ public class OduncService {
     private static final String KULLANICI_BULUNAMADI_MESAJI = "Kullanıcı bulunamadı. ID: ";
     private static final String KITAP_BULUNAMADI_MESAJI = "Kitap bulunamadı. ID: ";
     private static final String ODUNC_KAYDI_BULUNAMADI_MESAJI = "Ödünç kaydı bulunamadı. ID: ";
+    private static final String STOKTA_YOK_MESAJI = "Seçilen kitap stokta mevcut değil.";
+    private static final String ZATEN_IADE_EDILMIS_MESAJI = "Bu kitap zaten iade edilmiş.";
+
+    // SQL Server'ın sorgu başına 2100 parametre sınırına takılmamak için IN
+    // listeleri bu boyutta parçalara bölünür.
+    private static final int IN_PARCA_BOYUTU = 500;
 
     private final KitapRepository kitapRepository;
     private final KullaniciRepository kullaniciRepository;
     private final OduncRepository oduncRepository;
+    private final KullaniciService kullaniciService; // Önbellekli kullanıcı okumaları için
+    private final KitapService kitapService; // Stok durumu değişikliklerini bildirmek için
 
     /**
      * Gerekli repository'leri enjekte etmek için kullanılan kurucu metot.
@@ -38,12 +53,16 @@ public class OduncService {
      * @param kitapRepository     Kitap veritabanı işlemleri için.
      * @param kullaniciRepository Kullanıcı veritabanı işlemleri için.
      * @param oduncRepository     Ödünç kaydı veritabanı işlemleri için.
+     * @param kullaniciService    Kullanıcıları önbellek üzerinden bulmak için.
+     * @param kitapService        Stok durumu değişen kitapları bildirmek için.
      */
     public OduncService(KitapRepository kitapRepository, KullaniciRepository kullaniciRepository,
-            OduncRepository oduncRepository) {
+            OduncRepository oduncRepository, KullaniciService kullaniciService, KitapService kitapService) {
         this.kitapRepository = kitapRepository;
         this.kullaniciRepository = kullaniciRepository;
         this.oduncRepository = oduncRepository;
+        this.kullaniciService = kullaniciService;
+        this.kitapService = kitapService;
     }
 
     /**
@@ -51,6 +70,11 @@ public class OduncService {
      * Bu metot; kullanıcı ve kitap varlığını, ödünç alma limitini ve kitap stok
      * durumunu kontrol eder.
      * 
+     * Stok kontrolü "oku-kontrol et-yaz" şeklinde değil, koşullu tek bir UPDATE
+     * ile yapılır (bkz. KitapRepository.oduncIcinAyir). Böylece aynı kitap için
+     * eşzamanlı gelen istekler kilit kullanmadan ve çift ödünç oluşmadan
+     * sıralanır.
+     * 
      * @param userId  Kitabı alacak kullanıcının ID'si.
      * @param kitapId Ödünç verilecek kitabın ID'si.
      * @return Oluşturulan yeni Odunc kaydı.
@@ -59,32 +83,31 @@ public class OduncService {
                    // sağlar.
     public Odunc kitapOduncVer(Long userId, Long kitapId) {
 
-        // 1. Kullanıcıyı ve Kitabı bul
-        Kullanici kullanici = kullaniciRepository.findById(userId)
+        // 1. Kullanıcıyı bul (önbellekten; tip ve limit bilgisi nadiren değişir)
+        Kullanici kullanici = kullaniciService.kullaniciBulById(userId)
                 .orElseThrow(() -> new KaynakBulunamadiException(KULLANICI_BULUNAMADI_MESAJI + userId));
 
-        Kitap kitap = kitapRepository.findById(kitapId)
-                .orElseThrow(() -> new KaynakBulunamadiException(KITAP_BULUNAMADI_MESAJI + kitapId));
-
         // Polimorfizm: User nesnesi Uye veya Personel olabilir, doğru metot çalışır.
         int limit = kullanici.oduncAlmaLimitiHesapla();
 
-        // 2. Limit Kontrolü (İş Mantığı)
-        List<Odunc> uyeninOduncleri = oduncRepository.findByKullaniciIdAndTeslimTarihiIsNull(userId);
-        if (uyeninOduncleri.size() >= limit) {
-            throw new IsKuraliException("Ödünç alma limiti dolmuştur (" + limit + " kitap).");
-        }
+        // 2. Limit Kontrolü (İş Mantığı): sayaç, limit dolmamışsa atomik olarak
+        // artırılır. Transaction geri alınırsa artış da geri alınır.
+        limitAyir(userId, limit);
 
-        // 3. Stok kontrolü
-        if (!kitap.isMevcut()) {
-            throw new IsKuraliException("Seçilen kitap stokta mevcut değil.");
+        // 3. Stok kontrolü ve kitabın ayrılması (tek atomik UPDATE)
+        if (kitapRepository.oduncIcinAyir(kitapId) == 0) {
+            // Hiçbir satır güncellenmediyse ya kitap yoktur ya da başkası almıştır.
+            if (!kitapRepository.existsById(kitapId)) {
+                throw new KaynakBulunamadiException(KITAP_BULUNAMADI_MESAJI + kitapId);
+            }
+            throw new IsKuraliException(STOKTA_YOK_MESAJI, Sebep.STOKTA_YOK);
         }
 
-        // 4. İşlemleri yap (Veritabanını güncelle)
-        kitap.setMevcut(false); // Kitabın durumunu "mevcut değil" yap
-        kitapRepository.save(kitap); // Kitap Entity'sini DB'de güncelle
+        // Kitap bu transaction'a ayrıldı; güncel hali (mevcut = false) okunur.
+        Kitap kitap = kitapRepository.findById(kitapId)
+                .orElseThrow(() -> new KaynakBulunamadiException(KITAP_BULUNAMADI_MESAJI + kitapId));
 
-        // 6. Odunc tablosuna yeni kayıt ekle
+        // 4. Odunc tablosuna yeni kayıt ekle
         Odunc yeniOdunc = new Odunc();
         yeniOdunc.setKullanici(kullanici);
         yeniOdunc.setKitap(kitap);
@@ -94,9 +117,153 @@ public class OduncService {
         log.info("{} ({}) adlı kullanıcı, '{}' adlı kitabı ödünç aldı. Kullanıcı ID: {}, Kitap ID: {}",
                 kullanici.getAdSoyad(), kullanici.getClass().getSimpleName(), kitap.getBaslik(), userId, kitapId);
 
+        kitapService.stokDegisti(List.of(kitap), false);
         return oduncRepository.save(yeniOdunc);
     }
 
+    /**
+     * Bir kullanıcıya birden fazla kitabı tek transaction içinde ödünç verir
+     * (masaya 3-5 kitapla gelen üye için).
+     * Kullanıcı bir kez okunur, kitaplar tek sorguda (findAllById) yüklenir,
+     * limit bir kez kontrol edilir, stok durumları tek bir JDBC batch ile
+     * güncellenir ve ödünç kayıtları toplu olarak eklenir.
+     * 
+     * Limit veya stok nedeniyle verilemeyen kitaplar işlemin geri kalanını
+     * engellemez; her kitap için ayrı bir sonuç döner.
+     * 
+     * @param userId      Kitapları alacak kullanıcının ID'si.
+     * @param kitapIdleri Ödünç verilecek kitapların ID'leri (tekrarlar yok sayılır).
+     * @return Her kitap için işlem sonucu (istek sırasıyla).
+     */
+    @Transactional
+    public List<TopluIslemSonucu> topluOduncVer(Long userId, List<Long> kitapIdleri) {
+        if (userId == null || kitapIdleri == null || kitapIdleri.isEmpty()) {
+            throw new IsKuraliException("Kullanıcı ve ödünç verilecek en az bir kitap belirtilmelidir.");
+        }
+
+        // 1. Kullanıcıyı bir kez bul ve kalan hakkını hesapla. Önbellekteki
+        // nesnenin sayacı eski olabileceğinden güncel sayaç ayrıca okunur.
+        Kullanici kullanici = kullaniciService.kullaniciBulById(userId)
+                .orElseThrow(() -> new KaynakBulunamadiException(KULLANICI_BULUNAMADI_MESAJI + userId));
+        int limit = kullanici.oduncAlmaLimitiHesapla();
+        Integer aktifOdunc = kullaniciRepository.aktifOduncSayisiGetir(userId);
+        int kalanHak = Math.max(0, limit - (aktifOdunc == null ? 0 : aktifOdunc));
+
+        // 2. Tüm kitapları tek sorguda yükle
+        List<Long> istenenler = new ArrayList<>(new LinkedHashSet<>(kitapIdleri));
+        Map<Long, Kitap> kitaplar = new HashMap<>();
+        for (Kitap kitap : kitapRepository.findAllById(istenenler)) {
+            kitaplar.put(kitap.getId(), kitap);
+        }
+
+        // 3. Bellekte ön eleme: olmayan, rafta olmayan ve limiti aşan kitaplar
+        Map<Long, TopluIslemSonucu> sonuclar = new HashMap<>();
+        List<Long> adaylar = new ArrayList<>();
+        for (Long kitapId : istenenler) {
+            Kitap kitap = kitaplar.get(kitapId);
+            if (kitap == null) {
+                sonuclar.put(kitapId, TopluIslemSonucu.reddedildi(String.valueOf(kitapId), null,
+                        KITAP_BULUNAMADI_MESAJI + kitapId));
+            } else if (!kitap.isMevcut()) {
+                sonuclar.put(kitapId, TopluIslemSonucu.reddedildi(String.valueOf(kitapId), kitapId,
+                        STOKTA_YOK_MESAJI));
+            } else if (adaylar.size() >= kalanHak) {
+                sonuclar.put(kitapId, TopluIslemSonucu.reddedildi(String.valueOf(kitapId), kitapId,
+                        "Ödünç alma limiti dolmuştur (" + limit + " kitap)."));
+            } else {
+                adaylar.add(kitapId);
+            }
+        }
+
+        // 4. Adayları tek JDBC batch'i ile koşullu olarak ayır. Okuma ile bu adım
+        // arasında başkası almış olabilir; o kitaplar 0 satır döndürür.
+        List<Long> ayrilanlar = new ArrayList<>();
+        if (!adaylar.isEmpty()) {
+            int[] guncellenen = kitapRepository.topluOduncIcinAyir(adaylar);
+            for (int i = 0; i < adaylar.size(); i++) {
+                Long kitapId = adaylar.get(i);
+                if (guncellenen[i] == 1) {
+                    ayrilanlar.add(kitapId);
+                } else {
+                    sonuclar.put(kitapId, TopluIslemSonucu.reddedildi(String.valueOf(kitapId), kitapId,
+                            STOKTA_YOK_MESAJI));
+                }
+            }
+        }
+
+        if (!ayrilanlar.isEmpty()) {
+            // 5. Limit sayacını tek seferde artır. Bu arada aynı kullanıcıya başka
+            // bir masadan kitap verildiyse limit aşılır ve tüm işlem geri alınır.
+            if (kullaniciRepository.aktifOduncEkle(userId, ayrilanlar.size(), limit) == 0) {
+                throw new IsKuraliException("Ödünç alma limiti dolmuştur (" + limit + " kitap).", Sebep.LIMIT_DOLU);
+            }
+
+            // 6. Ödünç kayıtlarını toplu ekle (hibernate.jdbc.batch_size)
+            LocalDate bugun = LocalDate.now();
+            List<Odunc> yeniOduncler = new ArrayList<>(ayrilanlar.size());
+            for (Long kitapId : ayrilanlar) {
+                Odunc odunc = new Odunc();
+                odunc.setKullanici(kullanici);
+                odunc.setKitap(kitaplar.get(kitapId));
+                odunc.setOduncTarihi(bugun);
+                yeniOduncler.add(odunc);
+            }
+            kitapService.stokDegisti(ayrilanlar.stream().map(kitaplar::get).toList(), false);
+            for (Odunc odunc : oduncRepository.saveAll(yeniOduncler)) {
+                Long kitapId = odunc.getKitap().getId();
+                sonuclar.put(kitapId, TopluIslemSonucu.basarili(String.valueOf(kitapId), kitapId, odunc.getId(),
+                        "Kitap ödünç verildi."));
+            }
+        }
+
+        log.info("{} ({}) adlı kullanıcıya toplu ödünç verildi. Kullanıcı ID: {}, istenen: {}, verilen: {}",
+                kullanici.getAdSoyad(), kullanici.getClass().getSimpleName(), userId, istenenler.size(),
+                ayrilanlar.size());
+
+        List<TopluIslemSonucu> sirali = new ArrayList<>(istenenler.size());
+        for (Long kitapId : istenenler) {
+            sirali.add(sonuclar.get(kitapId));
+        }
+        return sirali;
+    }
+
+    /**
+     * Kullanıcının aktif ödünç sayacını limit dahilinde bir artırır; limit
+     * doluysa hata fırlatır. Sayaç gerçek sayıdan sapmışsa (ör. elle yapılan
+     * veritabanı müdahalesi) önce düzeltilir ve işlem bir kez daha denenir.
+     */
+    private void limitAyir(Long userId, int limit) {
+        if (kullaniciRepository.aktifOduncArttir(userId, limit) == 1) {
+            return;
+        }
+        // Nadir yol: sayaç dolu görünüyor, gerçek açık ödünç sayısıyla doğrula.
+        long gercekSayi = oduncRepository.countByKullaniciIdAndTeslimTarihiIsNull(userId);
+        if (gercekSayi < limit) {
+            log.warn("Aktif ödünç sayacı sapmış, düzeltiliyor. Kullanıcı ID: {}, gerçek sayı: {}", userId,
+                    gercekSayi);
+            kullaniciRepository.aktifOduncSayisiniEsitle(userId);
+            if (kullaniciRepository.aktifOduncArttir(userId, limit) == 1) {
+                return;
+            }
+        }
+        throw new IsKuraliException("Ödünç alma limiti dolmuştur (" + limit + " kitap).", Sebep.LIMIT_DOLU);
+    }
+
+    /**
+     * Tüm kullanıcıların aktif ödünç sayaçlarını oduncler tablosuyla eşitler.
+     * Tüm tabloyu güncellediği için yalnızca bir kez gerekir: sayaç sütunu
+     * sonradan eklenen (veya tablosu yeniden kurulan) kurulumlarda. Tekil
+     * sapmalar ödünç verirken kendiliğinden düzeltilir (bkz. limitAyir).
+     * 
+     * @return Güncellenen kullanıcı sayısı.
+     */
+    @Transactional
+    public int aktifOduncSayaclariniEsitle() {
+        int sayi = kullaniciRepository.tumAktifOduncSayilariniEsitle();
+        log.info("Aktif ödünç sayaçları eşitlendi. Kullanıcı sayısı: {}", sayi);
+        return sayi;
+    }
+
     /**
      * Bir ödünç kaydını sonlandırarak kitabın iade edilmesini sağlar.
      * Kitabın durumunu tekrar "mevcut" yapar ve ödünç kaydına teslim tarihini
@@ -109,12 +276,13 @@ public class OduncService {
                    // sağlar.
     public Odunc kitapIadeAl(Long oduncId) {
 
-        // 1. İade edilecek ödünç kaydını bul
-        Odunc oduncKaydi = oduncRepository.findById(oduncId)
+        // 1. İade edilecek ödünç kaydını bul (satır kilidiyle; aynı kaydın eşzamanlı
+        // iki kez iade edilip sayacın iki kez düşürülmesini önler)
+        Odunc oduncKaydi = oduncRepository.findForUpdateById(oduncId)
                 .orElseThrow(() -> new KaynakBulunamadiException(ODUNC_KAYDI_BULUNAMADI_MESAJI + oduncId));
 
         if (oduncKaydi.getTeslimTarihi() != null) {
-            throw new IsKuraliException("Bu kitap zaten iade edilmiş.");
+            throw new IsKuraliException(ZATEN_IADE_EDILMIS_MESAJI, Sebep.ZATEN_IADE_EDILMIS);
         }
 
         // 2. Kitabın durumunu "mevcut" yap
@@ -122,11 +290,150 @@ public class OduncService {
         kitap.setMevcut(true);
         kitapRepository.save(kitap);
 
-        // 3. Ödünç kaydını güncelle (teslim tarihini ayarla)
+        // 3. Ödünç kaydını güncelle (teslim tarihini ayarla) ve kullanıcının aktif
+        // ödünç sayacını düşür
         oduncKaydi.setTeslimTarihi(LocalDate.now());
+        kullaniciRepository.aktifOduncAzalt(oduncKaydi.getKullanici().getId());
 
         log.info("'{}' adlı kitap iade edildi. Ödünç ID: {}", kitap.getBaslik(), oduncId);
 
+        kitapService.stokDegisti(List.of(kitap), true);
         return oduncRepository.save(oduncKaydi);
     }
-}
\ No newline at end of file
+
+    /**
+     * İade kutusundaki kitapları ödünç kayıt ID'leri ile toplu olarak iade alır.
+     * Kayıtlar tek sorguda çözülür; teslim tarihleri, kitap stok durumları ve
+     * kullanıcı sayaçları küme tabanlı (set-based) UPDATE'lerle güncellenir.
+     * 
+     * @param oduncIdleri İade edilecek ödünç kayıtlarının ID'leri.
+     * @return Her kalem için işlem sonucu (istek sırasıyla).
+     */
+    @Transactional
+    public List<TopluIslemSonucu> topluIadeAl(List<Long> oduncIdleri) {
+        List<Long> istenenler = benzersiz(oduncIdleri);
+        Map<Long, Odunc> kayitlar = new HashMap<>();
+        for (List<Long> parca : parcala(istenenler)) {
+            for (Odunc odunc : oduncRepository.findForUpdateByIdIn(parca)) {
+                kayitlar.put(odunc.getId(), odunc);
+            }
+        }
+
+        Map<String, TopluIslemSonucu> sonuclar = new HashMap<>();
+        List<Odunc> iadeEdilecekler = new ArrayList<>();
+        for (Long oduncId : istenenler) {
+            String referans = String.valueOf(oduncId);
+            Odunc odunc = kayitlar.get(oduncId);
+            if (odunc == null) {
+                sonuclar.put(referans, TopluIslemSonucu.reddedildi(referans, null,
+                        ODUNC_KAYDI_BULUNAMADI_MESAJI + oduncId));
+            } else if (odunc.getTeslimTarihi() != null) {
+                sonuclar.put(referans, TopluIslemSonucu.reddedildi(referans, odunc.getKitap().getId(),
+                        ZATEN_IADE_EDILMIS_MESAJI));
+            } else {
+                iadeEdilecekler.add(odunc);
+            }
+        }
+
+        topluIadeIsle(iadeEdilecekler, odunc -> String.valueOf(odunc.getId()), sonuclar);
+        return sirala(istenenler.stream().map(String::valueOf).toList(), sonuclar);
+    }
+
+    /**
+     * İade kutusundaki kitapları (barkod okuyucudan gelen) ISBN'leri ile toplu
+     * olarak iade alır. Her ISBN için kitabın açık ödünç kaydı iade edilir.
+     * 
+     * @param isbnler İade edilen kitapların ISBN'leri.
+     * @return Her kalem için işlem sonucu (istek sırasıyla).
+     */
+    @Transactional
+    public List<TopluIslemSonucu> topluIadeAlIsbn(List<String> isbnler) {
+        List<String> istenenler = benzersiz(isbnler);
+        Map<String, Odunc> kayitlar = new HashMap<>();
+        for (List<String> parca : parcala(istenenler)) {
+            for (Odunc odunc : oduncRepository.findAcikOduncForUpdateByIsbnIn(parca)) {
+                kayitlar.put(odunc.getKitap().getIsbn(), odunc);
+            }
+        }
+
+        Map<String, TopluIslemSonucu> sonuclar = new HashMap<>();
+        List<Odunc> iadeEdilecekler = new ArrayList<>();
+        for (String isbn : istenenler) {
+            Odunc odunc = kayitlar.get(isbn);
+            if (odunc == null) {
+                sonuclar.put(isbn, TopluIslemSonucu.reddedildi(isbn, null,
+                        "Bu ISBN için açık ödünç kaydı bulunamadı: " + isbn));
+            } else {
+                iadeEdilecekler.add(odunc);
+            }
+        }
+
+        topluIadeIsle(iadeEdilecekler, odunc -> odunc.getKitap().getIsbn(), sonuclar);
+        return sirala(istenenler, sonuclar);
+    }
+
+    // --- Toplu İşlem Yardımcıları ---
+
+    // Çözülmüş ve kilitlenmiş ödünç kayıtlarını küme tabanlı UPDATE'lerle iade
+    // eder: teslim tarihi, kitap stok durumu ve kullanıcı sayaçları.
+    private void topluIadeIsle(List<Odunc> iadeEdilecekler, Function<Odunc, String> referans,
+            Map<String, TopluIslemSonucu> sonuclar) {
+        if (iadeEdilecekler.isEmpty()) {
+            return;
+        }
+        LocalDate bugun = LocalDate.now();
+        List<Long> oduncIdleri = new ArrayList<>(iadeEdilecekler.size());
+        List<Long> kitapIdleri = new ArrayList<>(iadeEdilecekler.size());
+        Map<Long, Integer> kullaniciAzaltmalari = new HashMap<>();
+        for (Odunc odunc : iadeEdilecekler) {
+            oduncIdleri.add(odunc.getId());
+            kitapIdleri.add(odunc.getKitap().getId());
+            kullaniciAzaltmalari.merge(odunc.getKullanici().getId(), 1, Integer::sum);
+        }
+
+        for (List<Long> parca : parcala(oduncIdleri)) {
+            oduncRepository.topluIadeIsaretle(parca, bugun);
+        }
+        for (List<Long> parca : parcala(kitapIdleri)) {
+            kitapRepository.topluRafaKoy(parca);
+        }
+        kullaniciRepository.topluAktifOduncAzalt(kullaniciAzaltmalari);
+        kitapService.stokDegisti(iadeEdilecekler.stream().map(Odunc::getKitap).toList(), true);
+
+        for (Odunc odunc : iadeEdilecekler) {
+            String ref = referans.apply(odunc);
+            sonuclar.put(ref, TopluIslemSonucu.basarili(ref, odunc.getKitap().getId(), odunc.getId(),
+                    "Kitap iade edildi."));
+        }
+        log.info("Toplu iade alındı. Kitap sayısı: {}, kullanıcı sayısı: {}", iadeEdilecekler.size(),
+                kullaniciAzaltmalari.size());
+    }
+
+    // Tekrarlanan ve null değerleri ayıklar, sırayı korur.
+    private static <T> List<T> benzersiz(List<T> degerler) {
+        if (degerler == null || degerler.isEmpty()) {
+            throw new IsKuraliException("İşlenecek en az bir kayıt gönderilmelidir.");
+        }
+        LinkedHashSet<T> kume = new LinkedHashSet<>(degerler);
+        kume.remove(null);
+        return new ArrayList<>(kume);
+    }
+
+    // Listeyi IN sorguları için en fazla IN_PARCA_BOYUTU elemanlı parçalara böler.
+    private static <T> List<List<T>> parcala(List<T> liste) {
+        List<List<T>> parcalar = new ArrayList<>();
+        for (int i = 0; i < liste.size(); i += IN_PARCA_BOYUTU) {
+            parcalar.add(liste.subList(i, Math.min(i + IN_PARCA_BOYUTU, liste.size())));
+        }
+        return parcalar;
+    }
+
+    // Sonuçları istekteki sıraya göre dizer.
+    private static List<TopluIslemSonucu> sirala(List<String> referanslar, Map<String, TopluIslemSonucu> sonuclar) {
+        List<TopluIslemSonucu> sirali = new ArrayList<>(referanslar.size());
+        for (String referans : referanslar) {
+            sirali.add(sonuclar.get(referans));
+        }
+        return sirali;
+    }
+}
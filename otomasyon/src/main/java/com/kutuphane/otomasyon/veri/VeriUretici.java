@@ -0,0 +1,378 @@
+package com.kutuphane.otomasyon.veri;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ölçekleme testleri için kitap, kullanıcı ve ödünç tablolarını sentetik
+ * verilerle dolduran üretici. Yalnızca "veri-uretimi" profili aktifken,
+ * uygulama açılışında (arama indeksleri yüklenmeden önce) bir kez çalışır:
+ *
+ * <pre>
+ * java -jar otomasyon.jar --spring.profiles.active=veri-uretimi \
+ *     --kutuphane.veri-uretimi.kitap-sayisi=1000000 --kutuphane.veri-uretimi.tohum=7
+ * </pre>
+ *
+ * Hedef veritabanı normal datasource ayarlarıyla seçilir. H2 uygulamanın
+ * paketinde yoktur; H2'ye üretmek için Maven'ın veri-uretimi profiliyle
+ * çalıştırılır ({@code mvn spring-boot:run -Pveri-uretimi ...}) ve örneğin
+ * {@code --spring.datasource.url=jdbc:h2:file:./veri/kutuphane} ile
+ * {@code --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect}
+ * verilir. SQL Server'da JDBC URL'ine {@code useBulkCopyForBatchInsert=true}
+ * eklemek batch INSERT'leri belirgin şekilde hızlandırır.
+ *
+ * Aynı tohum ve sayılarla her çalıştırma aynı satırları üretir: satırlar
+ * sabit boyutlu parçalara bölünür ve her parçanın rastgele sayı üreteci
+ * tohumdan ve parça numarasından türetilir; iş parçacığı sayısı sonucu
+ * değiştirmez. Ödünç tarihleri çalıştırma gününe göredir.
+ *
+ * Kitap popülerliği Zipf dağılımına uyar (sıralar kitaplara tohumlu bir
+ * karıştırmayla dağıtılır). Açık ödünçler uygulamanın kurallarıyla tutarlıdır:
+ * ödünçteki kitapların mevcut alanı false'tur, bir kitabın en fazla bir açık
+ * ödüncü vardır ve kullanıcıların aktif ödünç sayıları limitlerini aşmaz.
+ *
+ * Satırlar mevcut en büyük ID'lerden sonra eklenir; sonunda sequence'ler
+ * (pooled-lo) eklenen son ID'nin ötesine taşınır.
+ */
+@Component
+@Profile("veri-uretimi")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class VeriUretici implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(VeriUretici.class);
+
+    // Bir parçadaki satır sayısı. Parça sınırları (ve dolayısıyla üretilen
+    // veri) bu sabite bağlıdır; değiştirilirse aynı tohum farklı veri üretir.
+    private static final int PARCA_BOYUTU = 10_000;
+
+    private static final int UYE_LIMITI = 3; // Uye.oduncAlmaLimitiHesapla() ile aynı
+    private static final int PERSONEL_LIMITI = 5; // Personel.oduncAlmaLimitiHesapla() ile aynı
+    private static final int GECMIS_GUN = 3 * 365; // Kapalı ödünçlerin yayıldığı geçmiş
+    private static final int EN_UZUN_ODUNC_GUNU = 28;
+
+    // Parça rastgele üreteçlerini tablolara göre ayırmak için sabitler
+    private static final int KITAP_TABLOSU = 1;
+    private static final int KULLANICI_TABLOSU = 2;
+    private static final int ODUNC_TABLOSU = 3;
+
+    private static final String KITAP_EKLE_SQL = "INSERT INTO kitaplar (id, baslik, yazar, isbn, mevcut) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String KULLANICI_EKLE_SQL = "INSERT INTO kullanicilar "
+            + "(dtype, id, ad_soyad, email, telefon, aktif_odunc_sayisi, uye_no, sicil_no, departman) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ODUNC_EKLE_SQL = "INSERT INTO oduncler "
+            + "(id, kitap_id, kullanici_id, odunc_tarihi, teslim_tarihi) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String[] SIFATLAR = { "Kayıp", "Sessiz", "Kırmızı", "Son", "Uzak", "Eski", "Gizli",
+            "Yalnız", "Büyük", "Karanlık", "Beyaz", "Unutulmuş", "Sonsuz", "Kısa", "Derin", "Yeni" };
+    private static final String[] ISIMLER = { "Şehir", "Deniz", "Zaman", "Ev", "Yol", "Bahçe", "Gece", "Nehir",
+            "Kitap", "Ada", "Dağ", "Rüya", "Mektup", "Saat", "Orman", "Köprü", "Yıldız", "Kapı", "Ayna", "Kule" };
+    private static final String[] EKLER = { "", "", "", " Üzerine", " Günlükleri", " Hikâyeleri", "nın Sırrı",
+            " ve Ötesi", " Kitabı", " Yılları" };
+    private static final String[] ADLAR = { "Ahmet", "Ayşe", "Mehmet", "Fatma", "Ali", "Zeynep", "Mustafa",
+            "Elif", "Hasan", "Emine", "Hüseyin", "Merve", "İbrahim", "Selin", "Murat", "Deniz", "Can", "Ece",
+            "Burak", "Gül", "Oğuz", "Şule", "Kemal", "Nazlı", "Orhan", "Sevgi", "Yaşar", "İpek" };
+    private static final String[] SOYADLAR = { "Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım",
+            "Öztürk", "Aydın", "Özdemir", "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt",
+            "Özkan", "Şimşek", "Polat", "Korkmaz", "Güneş", "Erdem", "Aksoy", "Tekin", "Uçar", "Işık" };
+    private static final String[] DEPARTMANLAR = { "Ödünç Masası", "Katalog", "Arşiv", "Bilgi İşlem",
+            "Okuyucu Hizmetleri", "Yönetim" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate; // Her parça kendi transaction'ında yazılır
+    private final int kitapSayisi;
+    private final int kullaniciSayisi;
+    private final long oduncSayisi;
+    private final double acikOduncOrani; // Ödünçlerin ne kadarının henüz iade edilmediği
+    private final double personelOrani; // Kullanıcıların ne kadarının Personel olduğu
+    private final double zipfUssu;
+    private final long tohum;
+    private final int isParcacigiSayisi;
+    private final int grupBoyutu; // Tek JDBC batch'inde gönderilecek satır sayısı
+
+    public VeriUretici(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${kutuphane.veri-uretimi.kitap-sayisi:1000000}") int kitapSayisi,
+            @Value("${kutuphane.veri-uretimi.kullanici-sayisi:200000}") int kullaniciSayisi,
+            @Value("${kutuphane.veri-uretimi.odunc-sayisi:10000000}") long oduncSayisi,
+            @Value("${kutuphane.veri-uretimi.acik-odunc-orani:0.01}") double acikOduncOrani,
+            @Value("${kutuphane.veri-uretimi.personel-orani:0.05}") double personelOrani,
+            @Value("${kutuphane.veri-uretimi.zipf-ussu:1.0}") double zipfUssu,
+            @Value("${kutuphane.veri-uretimi.tohum:42}") long tohum,
+            @Value("${kutuphane.veri-uretimi.is-parcacigi:4}") int isParcacigiSayisi,
+            @Value("${kutuphane.veri-uretimi.grup-boyutu:1000}") int grupBoyutu) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.kitapSayisi = kitapSayisi;
+        this.kullaniciSayisi = kullaniciSayisi;
+        this.oduncSayisi = oduncSayisi;
+        this.acikOduncOrani = acikOduncOrani;
+        this.personelOrani = personelOrani;
+        this.zipfUssu = zipfUssu;
+        this.tohum = tohum;
+        this.isParcacigiSayisi = isParcacigiSayisi;
+        this.grupBoyutu = grupBoyutu;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        uret();
+    }
+
+    /**
+     * Tüm tabloları üretir. Kitaplar ve kullanıcılar ödünçlerden önce yazılır
+     * (yabancı anahtarlar); her aşama kendi içinde paralel çalışır.
+     */
+    public void uret() {
+        long baslangic = System.nanoTime();
+        log.info("Veri üretimi başladı: {} kitap, {} kullanıcı, {} ödünç, tohum {}, {} iş parçacığı", kitapSayisi,
+                kullaniciSayisi, oduncSayisi, tohum, isParcacigiSayisi);
+
+        long kitapTaban = enBuyukId("kitaplar") + 1;
+        long kullaniciTaban = enBuyukId("kullanicilar") + 1;
+        long oduncTaban = enBuyukId("oduncler") + 1;
+
+        // Popülerlik sırası -> kitap sırası eşlemesi; en popüler kitaplar ID
+        // aralığının başında toplanmasın.
+        int[] populerKitaplar = karistir(kitapSayisi, new SplittableRandom(tohum));
+        ZipfDagilimi populerlik = new ZipfDagilimi(kitapSayisi, zipfUssu);
+        AcikOduncPlani plan = acikOdunclariPlanla(populerKitaplar, populerlik);
+
+        ExecutorService havuz = Executors.newFixedThreadPool(isParcacigiSayisi);
+        try {
+            asama(havuz, "kitaplar", kitapSayisi, KITAP_TABLOSU, KITAP_EKLE_SQL,
+                    (i, rastgele) -> kitapSatiri(kitapTaban + i, rastgele, !plan.oduncte.get((int) i)));
+            asama(havuz, "kullanicilar", kullaniciSayisi, KULLANICI_TABLOSU, KULLANICI_EKLE_SQL,
+                    (i, rastgele) -> kullaniciSatiri((int) i, kullaniciTaban + i, plan.aktifSayilar[(int) i],
+                            rastgele));
+
+            // Önce kapalı (iade edilmiş) ödünçler, ardından plandaki açık ödünçler
+            long kapaliSayisi = oduncSayisi - plan.sayi;
+            LocalDate bugun = LocalDate.now();
+            asama(havuz, "oduncler", oduncSayisi, ODUNC_TABLOSU, ODUNC_EKLE_SQL, (i, rastgele) -> {
+                if (i < kapaliSayisi) {
+                    int kitap = populerKitaplar[populerlik.ornekle(rastgele)];
+                    int kullanici = rastgele.nextInt(kullaniciSayisi);
+                    LocalDate oduncTarihi = bugun.minusDays(EN_UZUN_ODUNC_GUNU + 1 + rastgele.nextInt(GECMIS_GUN));
+                    LocalDate teslimTarihi = oduncTarihi.plusDays(1 + rastgele.nextInt(EN_UZUN_ODUNC_GUNU));
+                    return new Object[] { oduncTaban + i, kitapTaban + kitap, kullaniciTaban + kullanici,
+                            oduncTarihi, teslimTarihi };
+                }
+                int j = (int) (i - kapaliSayisi);
+                return new Object[] { oduncTaban + i, kitapTaban + plan.kitaplar[j],
+                        kullaniciTaban + plan.kullanicilar[j], bugun.minusDays(rastgele.nextInt(EN_UZUN_ODUNC_GUNU)),
+                        null };
+            });
+        } finally {
+            havuz.shutdown();
+        }
+
+        sequenceIlerlet("kitaplar_seq", kitapTaban + kitapSayisi);
+        sequenceIlerlet("kullanicilar_seq", kullaniciTaban + kullaniciSayisi);
+        sequenceIlerlet("oduncler_seq", oduncTaban + oduncSayisi);
+
+        log.info("Veri üretimi tamamlandı: {} açık ödünç, süre {} sn", plan.sayi,
+                (System.nanoTime() - baslangic) / 1_000_000_000);
+    }
+
+    /**
+     * Açık ödünçlerin hangi kitap ve kullanıcılara ait olacağını tek iş
+     * parçacığında, tohuma bağlı olarak belirler. Popüler kitaplar daha sık
+     * ödünçtedir; rafta olmayan kitaplar ve limiti dolan kullanıcılar atlanır.
+     */
+    private AcikOduncPlani acikOdunclariPlanla(int[] populerKitaplar, ZipfDagilimi populerlik) {
+        int hedef = (int) Math.min(Math.round(oduncSayisi * acikOduncOrani), Math.min(oduncSayisi, kitapSayisi));
+        AcikOduncPlani plan = new AcikOduncPlani(hedef);
+        if (kullaniciSayisi == 0) {
+            return plan;
+        }
+        SplittableRandom rastgele = new SplittableRandom(tohum + 1);
+        long denemeSiniri = 20L * hedef + 1000;
+        for (long deneme = 0; plan.sayi < hedef && deneme < denemeSiniri; deneme++) {
+            int kitap = populerKitaplar[populerlik.ornekle(rastgele)];
+            int kullanici = rastgele.nextInt(kullaniciSayisi);
+            int limit = personelMi(kullanici) ? PERSONEL_LIMITI : UYE_LIMITI;
+            if (plan.oduncte.get(kitap) || plan.aktifSayilar[kullanici] >= limit) {
+                continue;
+            }
+            plan.oduncte.set(kitap);
+            plan.aktifSayilar[kullanici]++;
+            plan.kitaplar[plan.sayi] = kitap;
+            plan.kullanicilar[plan.sayi] = kullanici;
+            plan.sayi++;
+        }
+        if (plan.sayi < hedef) {
+            log.warn("Açık ödünç hedefine ulaşılamadı: {} / {} (kitap veya kullanıcı sayısı yetersiz)", plan.sayi,
+                    hedef);
+        }
+        return plan;
+    }
+
+    /**
+     * Bir tabloyu PARCA_BOYUTU'luk parçalara bölüp havuzda paralel yazar.
+     * Satır üreticisi parça içindeki genel sıra numarasını (0'dan başlayarak) ve
+     * parçanın rastgele sayı üretecini alır.
+     */
+    private void asama(ExecutorService havuz, String tablo, long satirSayisi, int tabloNo, String sql,
+            SatirUretici satirUretici) {
+        long baslangic = System.nanoTime();
+        long parcaSayisi = (satirSayisi + PARCA_BOYUTU - 1) / PARCA_BOYUTU;
+        List<Future<?>> isler = new ArrayList<>();
+        for (long parca = 0; parca < parcaSayisi; parca++) {
+            long ilk = parca * PARCA_BOYUTU;
+            long son = Math.min(ilk + PARCA_BOYUTU, satirSayisi);
+            SplittableRandom rastgele = parcaRastgele(tabloNo, parca);
+            isler.add(havuz.submit(() -> parcaYaz(sql, ilk, son, rastgele, satirUretici)));
+        }
+        long tamamlanan = 0;
+        for (Future<?> is : isler) {
+            try {
+                is.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                isler.forEach(kalan -> kalan.cancel(true));
+                throw new IllegalStateException("Veri üretimi kesildi.", e);
+            } catch (ExecutionException e) {
+                isler.forEach(kalan -> kalan.cancel(true));
+                throw new IllegalStateException(tablo + " tablosu yazılamadı.", e.getCause());
+            }
+            if (++tamamlanan % 100 == 0) {
+                log.info("{}: {} / {} satır", tablo, Math.min(tamamlanan * PARCA_BOYUTU, satirSayisi), satirSayisi);
+            }
+        }
+        double sureSn = Math.max((System.nanoTime() - baslangic) / 1e9, 0.001);
+        log.info("{}: {} satır {} sn'de yazıldı ({} satır/sn)", tablo, satirSayisi, String.format("%.1f", sureSn),
+                Math.round(satirSayisi / sureSn));
+    }
+
+    // Tek bir parçayı grupBoyutu'luk JDBC batch'leriyle, tek transaction'da yazar.
+    private void parcaYaz(String sql, long ilk, long son, SplittableRandom rastgele,
+            SatirUretici satirUretici) {
+        transactionTemplate.executeWithoutResult(durum -> {
+            List<Object[]> grup = new ArrayList<>(grupBoyutu);
+            for (long i = ilk; i < son; i++) {
+                grup.add(satirUretici.uret(i, rastgele));
+                if (grup.size() == grupBoyutu) {
+                    jdbcTemplate.batchUpdate(sql, grup);
+                    grup.clear();
+                }
+            }
+            if (!grup.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, grup);
+            }
+        });
+    }
+
+    private Object[] kitapSatiri(long id, SplittableRandom rastgele, boolean mevcut) {
+        String baslik = sec(SIFATLAR, rastgele) + " " + sec(ISIMLER, rastgele) + sec(EKLER, rastgele);
+        String yazar = sec(ADLAR, rastgele) + " " + sec(SOYADLAR, rastgele);
+        return new Object[] { id, baslik, yazar, isbn(id), mevcut };
+    }
+
+    private Object[] kullaniciSatiri(int sira, long id, int aktifOduncSayisi, SplittableRandom rastgele) {
+        String adSoyad = sec(ADLAR, rastgele) + " " + sec(SOYADLAR, rastgele);
+        String email = "kullanici" + id + "@ornek.kutuphane.org";
+        String telefon = rastgele.nextInt(4) == 0 ? null
+                : "05" + (300_000_000 + rastgele.nextInt(700_000_000)); // Çeyreği telefonsuz
+        if (personelMi(sira)) {
+            return new Object[] { "PERSONEL", id, adSoyad, email, telefon, aktifOduncSayisi, null, "P" + id,
+                    sec(DEPARTMANLAR, rastgele) };
+        }
+        return new Object[] { "UYE", id, adSoyad, email, telefon, aktifOduncSayisi, "U" + id, null, null };
+    }
+
+    // Personelleri kullanıcı sıraları arasına personelOrani'na göre eşit aralıklarla dağıtır.
+    private boolean personelMi(int sira) {
+        return Math.floor((sira + 1) * personelOrani) > Math.floor(sira * personelOrani);
+    }
+
+    // ID'den türetilen, 979 önekli ve geçerli kontrol basamaklı ISBN-13.
+    private static String isbn(long id) {
+        String govde = "979" + String.format("%09d", id % 1_000_000_000L);
+        int toplam = 0;
+        for (int i = 0; i < govde.length(); i++) {
+            toplam += (govde.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return govde + (10 - toplam % 10) % 10;
+    }
+
+    private SplittableRandom parcaRastgele(int tabloNo, long parca) {
+        return new SplittableRandom(tohum ^ (tabloNo * 0x9E3779B97F4A7C15L + parca * 0xBF58476D1CE4E5B9L));
+    }
+
+    // 0..n-1'in tohumlu bir permütasyonu (Fisher-Yates).
+    private static int[] karistir(int n, SplittableRandom rastgele) {
+        int[] dizi = new int[n];
+        for (int i = 0; i < n; i++) {
+            dizi[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rastgele.nextInt(i + 1);
+            int gecici = dizi[i];
+            dizi[i] = dizi[j];
+            dizi[j] = gecici;
+        }
+        return dizi;
+    }
+
+    private static String sec(String[] secenekler, SplittableRandom rastgele) {
+        return secenekler[rastgele.nextInt(secenekler.length)];
+    }
+
+    private long enBuyukId(String tablo) {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tablo, Long.class);
+        return id == null ? 0 : id;
+    }
+
+    // Sequence'i verilen değerden devam ettirir; pooled-lo bu değeri bir sonraki
+    // bloğun ilk ID'si olarak kullanır. RESTART WITH sabit değer istediği için
+    // (SQL Server) parametre yerine SQL'e yazılır.
+    private void sequenceIlerlet(String sequence, long sonrakiDeger) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + sonrakiDeger);
+    }
+
+    /**
+     * Bir tablonun sıra numarasından (ve parçanın rastgele sayı üretecinden)
+     * INSERT parametrelerini üreten fonksiyon.
+     */
+    @FunctionalInterface
+    private interface SatirUretici {
+        Object[] uret(long sira, SplittableRandom rastgele);
+    }
+
+    /**
+     * Açık ödünçlerin kitap/kullanıcı sıraları ve bunlardan türeyen kitap
+     * durumları ile kullanıcı sayaçları.
+     */
+    private final class AcikOduncPlani {
+        final int[] kitaplar;
+        final int[] kullanicilar;
+        final BitSet oduncte = new BitSet(kitapSayisi);
+        final int[] aktifSayilar = new int[kullaniciSayisi];
+        int sayi;
+
+        AcikOduncPlani(int hedef) {
+            kitaplar = new int[hedef];
+            kullanicilar = new int[hedef];
+        }
+    }
+}
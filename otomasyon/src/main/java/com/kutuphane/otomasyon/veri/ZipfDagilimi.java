@@ -0,0 +1,45 @@
+package com.kutuphane.otomasyon.veri;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 0..n-1 arasındaki sıralara Zipf dağılımıyla örnek üreten yardımcı sınıf.
+ * k. sıranın seçilme olasılığı 1 / (k + 1)^us ile orantılıdır; us = 1 iken en
+ * popüler kitap ikinciden iki, onuncudan on kat daha sık seçilir.
+ *
+ * Birikimli olasılıklar bir kez hesaplanır; her örnek tek bir ikili arama
+ * (log n adım) ile bulunur. Sınıf değişmezdir, iş parçacıkları arasında
+ * paylaşılabilir (rastgele sayı üreteci çağırandan gelir).
+ */
+final class ZipfDagilimi {
+
+    private final double[] birikimli;
+
+    ZipfDagilimi(int n, double us) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf dağılımı için en az bir eleman gerekir: " + n);
+        }
+        birikimli = new double[n];
+        double toplam = 0;
+        for (int k = 0; k < n; k++) {
+            toplam += 1.0 / Math.pow(k + 1, us);
+            birikimli[k] = toplam;
+        }
+        for (int k = 0; k < n; k++) {
+            birikimli[k] /= toplam;
+        }
+        birikimli[n - 1] = 1.0; // Yuvarlama hatasına karşı
+    }
+
+    /**
+     * Dağılımdan bir sıra (0 en popüler) döndürür.
+     */
+    int ornekle(SplittableRandom rastgele) {
+        double u = rastgele.nextDouble(); // [0, 1)
+        int i = Arrays.binarySearch(birikimli, u);
+        // Bulunamazsa ekleme noktası, u'dan büyük ilk birikimli değerin sırasıdır.
+        int sira = i >= 0 ? i + 1 : -i - 1;
+        return Math.min(sira, birikimli.length - 1);
+    }
+}
@@ -0,0 +1,146 @@
+-- IDENTITY kimliklerden sequence (pooled-lo) kimliklere geçiş (SQL Server).
+--
+-- Kitap, Kullanici ve Odunc ID'leri artık kitaplar_seq, kullanicilar_seq ve
+-- oduncler_seq'ten 50'lik bloklar halinde alınır (bkz. Kitap.id).
+-- ddl-auto=update mevcut tablolardaki IDENTITY özelliğini kaldırmaz ve
+-- sequence'leri 1'den başlatır; bu durumda INSERT'ler ya IDENTITY sütununa
+-- açık değer yazılamadığı için ya da mevcut ID'lerle çakıştığı için hata
+-- verir. Uygulama bu durumu açılışta tespit eder ve başlamaz
+-- (bkz. KimlikSequenceKontrolu).
+--
+-- Sıra:
+--   1. Eski sürümü durdurun.
+--   2. Betiği bir kez çalıştırın:
+--        sqlcmd -S localhost -d kutuphane -i kimlik-sequence-gecisi.sql
+--   3. Yeni sürümü başlatın. ddl-auto=update, sonraki sürümlerin eklediği
+--      sütunları (aktif_odunc_sayisi, sifre_ozeti vb.) bu aşamada ekler.
+--      aktif_odunc_sayisi 0 ile eklendiğinden bu ilk açılışta
+--      kutuphane.odunc.sayac-esitleme.acilista=true verin (veya açılıştan
+--      sonra POST /api/odunc/sayaclar/esitle çağırın).
+--
+-- Betik yalnızca IDENTITY'li sürümlerde var olan sütunları taşır. Yeni sürüm
+-- yanlışlıkla önce başlatılmış ve kontrol tarafından durdurulmuşsa da betik
+-- aynı şekilde çalıştırılabilir: o açılışta ddl-auto=update'in eklediği
+-- sütunlar henüz veri içermez; yeniden kurulan tablolarda yer almazlar ve
+-- sonraki açılışta tekrar eklenirler.
+--
+-- Üç tabloyu IDENTITY olmadan yeniden kurar, verileri ID'leriyle birlikte
+-- taşır, indeks ve kısıtları entity'lerde verilen adlarla (uk_*, fk_*, ix_*)
+-- yeniden oluşturur ve her sequence'i tablodaki en büyük ID'nin üstünden
+-- yeniden başlatır. Eski tablolardaki Hibernate'in ürettiği kısıt adları
+-- tablolarla birlikte silinir. Tümü tek transaction'dadır; herhangi bir hata
+-- tüm değişiklikleri geri alır. IDENTITY'si zaten kaldırılmış tablolar
+-- yeniden kurulmaz; betik tekrar çalıştırılabilir.
+
+SET XACT_ABORT ON;
+SET NOCOUNT ON;
+BEGIN TRANSACTION;
+
+DECLARE @komut nvarchar(max);
+
+-- 1. oduncler'in yabancı anahtarları (eski sürümlerde adları Hibernate
+-- tarafından üretilmiştir; adla değil katalogdan bulunur)
+SET @komut = N'';
+SELECT @komut = @komut + N'ALTER TABLE oduncler DROP CONSTRAINT ' + QUOTENAME(name) + N';'
+FROM sys.foreign_keys
+WHERE parent_object_id = OBJECT_ID(N'oduncler');
+EXEC sp_executesql @komut;
+
+-- 2. kitaplar
+IF COLUMNPROPERTY(OBJECT_ID(N'kitaplar'), 'id', 'IsIdentity') = 1
+BEGIN
+    EXEC sp_rename N'kitaplar', N'kitaplar_eski';
+    CREATE TABLE kitaplar (
+        mevcut bit NOT NULL,
+        id bigint NOT NULL,
+        baslik varchar(255) NOT NULL,
+        isbn varchar(255) NOT NULL,
+        yazar varchar(255) NOT NULL,
+        PRIMARY KEY (id)
+    );
+    EXEC(N'INSERT INTO kitaplar (mevcut, id, baslik, isbn, yazar)
+          SELECT mevcut, id, baslik, isbn, yazar FROM kitaplar_eski;
+          DROP TABLE kitaplar_eski;');
+    CREATE INDEX ix_kitaplar_yazar_id ON kitaplar (yazar, id);
+    CREATE INDEX ix_kitaplar_mevcut_id ON kitaplar (mevcut, id);
+    ALTER TABLE kitaplar ADD CONSTRAINT uk_kitaplar_isbn UNIQUE (isbn);
+END;
+
+-- 3. kullanicilar
+IF COLUMNPROPERTY(OBJECT_ID(N'kullanicilar'), 'id', 'IsIdentity') = 1
+BEGIN
+    EXEC sp_rename N'kullanicilar', N'kullanicilar_eski';
+    CREATE TABLE kullanicilar (
+        id bigint NOT NULL,
+        dtype varchar(31) NOT NULL CHECK (dtype IN ('UYE', 'PERSONEL')),
+        ad_soyad varchar(255) NOT NULL,
+        departman varchar(255),
+        email varchar(255) NOT NULL,
+        sicil_no varchar(255),
+        telefon varchar(255),
+        uye_no varchar(255),
+        PRIMARY KEY (id)
+    );
+    EXEC(N'INSERT INTO kullanicilar (id, dtype, ad_soyad, departman, email, sicil_no, telefon, uye_no)
+          SELECT id, dtype, ad_soyad, departman, email, sicil_no, telefon, uye_no FROM kullanicilar_eski;
+          DROP TABLE kullanicilar_eski;');
+    ALTER TABLE kullanicilar ADD CONSTRAINT uk_kullanicilar_email UNIQUE (email);
+    -- Boş bırakılabilen sütunlarda Hibernate'in SQL Server için ürettiği gibi
+    -- filtreli benzersiz indeks (birden fazla NULL'a izin verir)
+    CREATE UNIQUE NONCLUSTERED INDEX uk_kullanicilar_uye_no
+        ON kullanicilar (uye_no) WHERE uye_no IS NOT NULL;
+    CREATE UNIQUE NONCLUSTERED INDEX uk_kullanicilar_sicil_no
+        ON kullanicilar (sicil_no) WHERE sicil_no IS NOT NULL;
+END;
+
+-- 4. oduncler
+IF COLUMNPROPERTY(OBJECT_ID(N'oduncler'), 'id', 'IsIdentity') = 1
+BEGIN
+    EXEC sp_rename N'oduncler', N'oduncler_eski';
+    CREATE TABLE oduncler (
+        odunc_tarihi date,
+        teslim_tarihi date,
+        id bigint NOT NULL,
+        kitap_id bigint,
+        kullanici_id bigint,
+        PRIMARY KEY (id)
+    );
+    EXEC(N'INSERT INTO oduncler (odunc_tarihi, teslim_tarihi, id, kitap_id, kullanici_id)
+          SELECT odunc_tarihi, teslim_tarihi, id, kitap_id, kullanici_id FROM oduncler_eski;
+          DROP TABLE oduncler_eski;');
+    CREATE INDEX ix_oduncler_kullanici_teslim ON oduncler (kullanici_id, teslim_tarihi);
+END;
+
+-- 5. Yabancı anahtarlar (Odunc entity'sindeki @OnDelete(CASCADE) ile aynı)
+ALTER TABLE oduncler ADD CONSTRAINT fk_oduncler_kitap
+    FOREIGN KEY (kitap_id) REFERENCES kitaplar ON DELETE CASCADE;
+ALTER TABLE oduncler ADD CONSTRAINT fk_oduncler_kullanici
+    FOREIGN KEY (kullanici_id) REFERENCES kullanicilar ON DELETE CASCADE;
+
+-- 6. Sequence'ler: yoksa oluşturulur, en büyük ID'nin bir fazlasından yeniden
+-- başlatılır (pooled-lo: alınan değer bloğun ilk ID'sidir).
+DECLARE @tablo sysname, @sequence sysname, @baslangic bigint;
+DECLARE sequenceler CURSOR LOCAL FAST_FORWARD FOR
+    SELECT tablo, sequence_adi
+    FROM (VALUES (N'kitaplar', N'kitaplar_seq'),
+                 (N'kullanicilar', N'kullanicilar_seq'),
+                 (N'oduncler', N'oduncler_seq')) AS t (tablo, sequence_adi);
+OPEN sequenceler;
+FETCH NEXT FROM sequenceler INTO @tablo, @sequence;
+WHILE @@FETCH_STATUS = 0
+BEGIN
+    SET @komut = N'SELECT @enBuyuk = ISNULL(MAX(id), 0) + 1 FROM ' + QUOTENAME(@tablo) + N' WITH (TABLOCKX);';
+    EXEC sp_executesql @komut, N'@enBuyuk bigint OUTPUT', @enBuyuk = @baslangic OUTPUT;
+    IF OBJECT_ID(@sequence, N'SO') IS NULL
+        SET @komut = N'CREATE SEQUENCE ' + QUOTENAME(@sequence) + N' START WITH '
+            + CAST(@baslangic AS nvarchar(20)) + N' INCREMENT BY 50;';
+    ELSE
+        SET @komut = N'ALTER SEQUENCE ' + QUOTENAME(@sequence) + N' RESTART WITH '
+            + CAST(@baslangic AS nvarchar(20)) + N';';
+    EXEC sp_executesql @komut;
+    FETCH NEXT FROM sequenceler INTO @tablo, @sequence;
+END;
+CLOSE sequenceler;
+DEALLOCATE sequenceler;
+
+COMMIT TRANSACTION;
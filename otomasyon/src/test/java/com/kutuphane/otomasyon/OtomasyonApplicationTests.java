@@ -1,5 +1,6 @@
 package com.kutuphane.otomasyon;
 
+import com.kutuphane.otomasyon.dto.TopluIslemSonucu;
 import com.kutuphane.otomasyon.exception.IsKuraliException;
 import com.kutuphane.otomasyon.exception.KaynakBulunamadiException;
 import com.kutuphane.otomasyon.model.Kitap;
@@ -8,6 +9,8 @@ import com.kutuphane.otomasyon.model.Uye;
 import com.kutuphane.otomasyon.repository.KitapRepository;
 import com.kutuphane.otomasyon.repository.KullaniciRepository;
 import com.kutuphane.otomasyon.repository.OduncRepository;
+import com.kutuphane.otomasyon.service.KitapService;
+import com.kutuphane.otomasyon.service.KullaniciService;
 import com.kutuphane.otomasyon.service.OduncService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,7 +21,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +41,12 @@ class OtomasyonApplicationTests {
 	@Mock
 	private OduncRepository oduncRepository;
 
+	@Mock
+	private KullaniciService kullaniciService; // Önbellekli kullanıcı okumaları
+
+	@Mock
+	private KitapService kitapService; // Stok değişikliği bildirimleri (önbellek temizliği)
+
 	@InjectMocks
 	private OduncService oduncService; // Test edilecek servis sınıfı
 
@@ -69,9 +77,12 @@ class OtomasyonApplicationTests {
 	@DisplayName("Başarılı Kitap Ödünç Verme Testi")
 	void kitapOduncVer_Basarili() {
 		// Hazırlık: Kullanıcı, Kitap bulundu, şu an ödünç yok.
-		when(kullaniciRepository.findById(uyeId)).thenReturn(Optional.of(testUye));
+		// Koşullu UPDATE kitabı ayırır (1 satır güncellendi), ardından güncel hali okunur.
+		testKitap.setMevcut(false);
+		when(kullaniciService.kullaniciBulById(uyeId)).thenReturn(Optional.of(testUye));
+		when(kullaniciRepository.aktifOduncArttir(uyeId, 3)).thenReturn(1); // Limit dolmamış
+		when(kitapRepository.oduncIcinAyir(kitapId)).thenReturn(1);
 		when(kitapRepository.findById(kitapId)).thenReturn(Optional.of(testKitap));
-		when(oduncRepository.findByKullaniciIdAndTeslimTarihiIsNull(uyeId)).thenReturn(Collections.emptyList());
 
 		Odunc mockOdunc = new Odunc();
 		mockOdunc.setId(oduncId);
@@ -86,41 +97,39 @@ class OtomasyonApplicationTests {
 		assertNotNull(sonuc);
 		assertEquals(kitapId, sonuc.getKitap().getId());
 
-		// Kitabın mevcut durumu güncellendi mi?
-		assertFalse(testKitap.isMevcut());
-		verify(kitapRepository, times(1)).save(testKitap);
+		// Kitap atomik UPDATE ile ayrıldı mı? (Entity üzerinden ayrıca save yapılmaz)
+		verify(kitapRepository, times(1)).oduncIcinAyir(kitapId);
+		verify(kitapRepository, never()).save(any(Kitap.class));
 		verify(oduncRepository, times(1)).save(any(Odunc.class));
 	}
 
 	@Test
 	@DisplayName("Kullanıcı Ödünç Alma Limiti Dolu Testi")
 	void kitapOduncVer_LimitDoldu_HataFirlat() {
-		// Hazırlık: Üye limiti 3 (Uye.java). 3 kayıt döndür.
-		List<Odunc> doluOduncler = List.of(new Odunc(), new Odunc(), new Odunc());
-
-		when(kullaniciRepository.findById(uyeId)).thenReturn(Optional.of(testUye));
-		when(kitapRepository.findById(kitapId)).thenReturn(Optional.of(testKitap)); // Hata düzeltmesi: Bu mock tanımı
-																					// eksikti.
-		when(oduncRepository.findByKullaniciIdAndTeslimTarihiIsNull(uyeId)).thenReturn(doluOduncler);
+		// Hazırlık: Üye limiti 3 (Uye.java). Sayaç artırılamaz, gerçek sayı da 3.
+		when(kullaniciService.kullaniciBulById(uyeId)).thenReturn(Optional.of(testUye));
+		when(kullaniciRepository.aktifOduncArttir(uyeId, 3)).thenReturn(0);
+		when(oduncRepository.countByKullaniciIdAndTeslimTarihiIsNull(uyeId)).thenReturn(3L);
 
 		// Aksiyon ve Doğrulama: IsKuraliException fırlatılmalı
 		assertThrows(IsKuraliException.class, () -> {
 			oduncService.kitapOduncVer(uyeId, kitapId);
 		}, "Ödünç alma limiti dolmuştur (3 kitap).");
 
-		// Doğrulama: Save metotları çağrılmadı
+		// Doğrulama: Kitap ayrılmadı ve save metotları çağrılmadı
+		verify(kitapRepository, never()).oduncIcinAyir(anyLong());
 		verify(oduncRepository, never()).save(any(Odunc.class));
 	}
 
 	@Test
 	@DisplayName("Kitap Stokta Mevcut Değil Testi")
 	void kitapOduncVer_StoktaYok_HataFirlat() {
-		// Hazırlık: Kitabı mevcut değil olarak ayarla.
-		testKitap.setMevcut(false);
-
-		when(kullaniciRepository.findById(uyeId)).thenReturn(Optional.of(testUye));
-		when(kitapRepository.findById(kitapId)).thenReturn(Optional.of(testKitap));
-		when(oduncRepository.findByKullaniciIdAndTeslimTarihiIsNull(uyeId)).thenReturn(Collections.emptyList());
+		// Hazırlık: Koşullu UPDATE hiçbir satırı güncellemez (kitap başkasında),
+		// ancak kitap veritabanında vardır.
+		when(kullaniciService.kullaniciBulById(uyeId)).thenReturn(Optional.of(testUye));
+		when(kullaniciRepository.aktifOduncArttir(uyeId, 3)).thenReturn(1);
+		when(kitapRepository.oduncIcinAyir(kitapId)).thenReturn(0);
+		when(kitapRepository.existsById(kitapId)).thenReturn(true);
 
 		// Aksiyon ve Doğrulama: IsKuraliException fırlatılmalı
 		assertThrows(IsKuraliException.class, () -> {
@@ -131,6 +140,37 @@ class OtomasyonApplicationTests {
 		verify(oduncRepository, never()).save(any(Odunc.class));
 	}
 
+	@Test
+	@DisplayName("Toplu Ödünç Verme: Her Kitap İçin Ayrı Sonuç Testi")
+	void topluOduncVer_KalemBazliSonuc() {
+		// Hazırlık: 10 mevcut, 11 stokta yok, 12 mevcut ama batch sırasında başkası aldı,
+		// 13 veritabanında yok.
+		Kitap stoktaYok = new Kitap();
+		stoktaYok.setId(11L);
+		stoktaYok.setMevcut(false);
+		Kitap kapilan = new Kitap();
+		kapilan.setId(12L);
+
+		when(kullaniciService.kullaniciBulById(uyeId)).thenReturn(Optional.of(testUye));
+		when(kitapRepository.findAllById(List.of(kitapId, 11L, 12L, 13L)))
+				.thenReturn(List.of(testKitap, stoktaYok, kapilan));
+		when(kitapRepository.topluOduncIcinAyir(List.of(kitapId, 12L))).thenReturn(new int[] { 1, 0 });
+		when(kullaniciRepository.aktifOduncEkle(uyeId, 1, 3)).thenReturn(1);
+		when(oduncRepository.saveAll(anyList())).thenAnswer(cagri -> cagri.getArgument(0));
+
+		// Aksiyon (tekrarlanan ID yok sayılır)
+		List<TopluIslemSonucu> sonuclar = oduncService.topluOduncVer(uyeId, List.of(kitapId, 11L, 12L, 13L, kitapId));
+
+		// Doğrulama: Sonuçlar istek sırasıyla döner, sadece ilk kitap verilir.
+		assertEquals(4, sonuclar.size());
+		assertTrue(sonuclar.get(0).isBasarili());
+		assertFalse(sonuclar.get(1).isBasarili());
+		assertFalse(sonuclar.get(2).isBasarili());
+		assertFalse(sonuclar.get(3).isBasarili());
+		assertNull(sonuclar.get(3).getKitapId());
+		verify(kullaniciRepository, times(1)).aktifOduncEkle(uyeId, 1, 3); // Sayaç tek seferde artırıldı
+	}
+
 	/* ------------------- KITAP IADE ALMA (RETURN) TESTLERİ ------------------- */
 
 	@Test
@@ -140,9 +180,10 @@ class OtomasyonApplicationTests {
 		Odunc oduncKaydi = new Odunc();
 		oduncKaydi.setId(oduncId);
 		oduncKaydi.setKitap(testKitap);
+		oduncKaydi.setKullanici(testUye);
 		testKitap.setMevcut(false); // Kitap mevcut değil olmalı ki iade sonrası true olsun.
 
-		when(oduncRepository.findById(oduncId)).thenReturn(Optional.of(oduncKaydi));
+		when(oduncRepository.findForUpdateById(oduncId)).thenReturn(Optional.of(oduncKaydi));
 		when(oduncRepository.save(any(Odunc.class))).thenReturn(oduncKaydi);
 
 		// Aksiyon
@@ -152,6 +193,7 @@ class OtomasyonApplicationTests {
 		assertNotNull(sonuc.getTeslimTarihi());
 		assertTrue(testKitap.isMevcut()); // Kitabın mevcut durumu true oldu mu?
 		verify(kitapRepository, times(1)).save(testKitap);
+		verify(kullaniciRepository, times(1)).aktifOduncAzalt(uyeId); // Aktif ödünç sayacı düştü mü?
 		verify(oduncRepository, times(1)).save(oduncKaydi);
 	}
 
@@ -163,7 +205,7 @@ class OtomasyonApplicationTests {
 		oduncKaydi.setId(oduncId);
 		oduncKaydi.setTeslimTarihi(LocalDate.now().minusDays(5)); // Zaten iade edilmiş
 
-		when(oduncRepository.findById(oduncId)).thenReturn(Optional.of(oduncKaydi));
+		when(oduncRepository.findForUpdateById(oduncId)).thenReturn(Optional.of(oduncKaydi));
 
 		// Aksiyon ve Doğrulama: IsKuraliException fırlatılmalı
 		assertThrows(IsKuraliException.class, () -> {
@@ -178,7 +220,7 @@ class OtomasyonApplicationTests {
 	@DisplayName("Geçersiz Ödünç ID'si ile İade Testi")
 	void kitapIadeAl_GecersizOduncId_HataFirlat() {
 		// Hazırlık: Odunc kaydı bulunamadı.
-		when(oduncRepository.findById(anyLong())).thenReturn(Optional.empty());
+		when(oduncRepository.findForUpdateById(anyLong())).thenReturn(Optional.empty());
 
 		// Aksiyon ve Doğrulama: KaynakBulunamadiException fırlatılmalı
 		assertThrows(KaynakBulunamadiException.class, () -> {
@@ -0,0 +1,201 @@
+package com.kutuphane.otomasyon.akis;
+
+import com.kutuphane.otomasyon.dto.StokDegisikligi;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import com.kutuphane.otomasyon.service.KitapService;
+import com.kutuphane.otomasyon.service.OduncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Stok akışının ödünç/iade sonrasında abonelere olay gönderdiğini; abone
+// tamponunun kitap bazında birleştirdiğini, taşınca "yenile" gönderdiğini;
+// yazması tıkanan abonelerin tahliye edildiğini, gönderici thread'leri
+// tutmadığını ve süren yazmalarının abone sınırından düşüldüğünü doğrular.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StokAkisiTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private KitapService kitapService;
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Test
+	@DisplayName("Stok Akışı - Ödünç ve iade commit sonrasında SSE abonesine iletilmeli")
+	void testOduncVeIadeOlaylari() throws Exception {
+		Kitap kitap = new Kitap();
+		kitap.setBaslik("Akış Kitabı");
+		kitap.setYazar("Yazar");
+		kitap.setIsbn("AKIS-1");
+		kitap = kitapService.kitapEkle(kitap);
+		Personel personel = kullaniciRepository
+				.save(new Personel("Akış Personel", "akis@kutuphane.com", null, "Test"));
+
+		MockHttpServletResponse yanit = mockMvc.perform(get("/api/kitaplar/stok-akisi")
+				.with(httpBasic("user", "sifre")))
+				.andExpect(request().asyncStarted())
+				.andReturn().getResponse();
+
+		Odunc odunc = oduncService.kitapOduncVer(personel.getId(), kitap.getId());
+		bekle(yanit, "\"kitapId\":" + kitap.getId() + ",\"mevcut\":false");
+		oduncService.kitapIadeAl(odunc.getId());
+		bekle(yanit, "\"kitapId\":" + kitap.getId() + ",\"mevcut\":true");
+		assertTrue(yanit.getContentAsString().contains("event:stok"));
+	}
+
+	@Test
+	@DisplayName("Stok Abonesi - Aynı kitabın olayları birleşmeli, taşan tampon 'yenile' göndermeli")
+	void testTampon() {
+		KaydedenEmitter emitter = new KaydedenEmitter(0);
+		StokAbonesi abone = new StokAbonesi(emitter, 2, Runnable::run, TimeUnit.SECONDS.toNanos(1));
+
+		abone.ekle(List.of(olay(1, false), olay(2, false), olay(1, true)));
+		assertTrue(abone.planla());
+		assertFalse(abone.planla()); // Zaten planlı
+		assertEquals(StokAbonesi.Sonuc.GONDERILDI, abone.gonder());
+		assertEquals(1, emitter.olaylar.size());
+		assertTrue(emitter.olaylar.get(0).contains("event:stok"));
+		assertTrue(emitter.olaylar.get(0).contains("kitapId=1, mevcut=true"), emitter.olaylar.get(0));
+
+		// Üç farklı kitap tampona (2) sığmaz; ayrıntı yerine tek "yenile" gider.
+		abone.ekle(List.of(olay(1, false), olay(2, true), olay(3, false)));
+		assertTrue(abone.planla());
+		assertEquals(StokAbonesi.Sonuc.GONDERILDI, abone.gonder());
+		assertEquals(2, emitter.olaylar.size());
+		assertTrue(emitter.olaylar.get(1).contains("event:yenile"));
+	}
+
+	@Test
+	@DisplayName("Stok Akışı - Yazması hiç bitmeyen aboneler tahliye edilmeli, diğer aboneler olayları almaya devam etmeli")
+	void testTikaliAboneGondericiTutmaz() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		// Gönderici sayısı kadar tıkalı abone: yazmalar sınırsız beklenseydi
+		// tüm göndericiler kilitlenir, diğer abonelere hiçbir olay gitmezdi.
+		// Abone sınırı (5) tam dolu başlar.
+		StokAkisi akis = new StokAkisi(registry, 256, 5, Duration.ofMinutes(30), Duration.ofHours(1),
+				Duration.ofMillis(200), 2);
+		try {
+			List<KaydedenEmitter> tikalilar = List.of(new KaydedenEmitter(1), new KaydedenEmitter(1));
+			List<KaydedenEmitter> saglamlar = List.of(new KaydedenEmitter(0), new KaydedenEmitter(0),
+					new KaydedenEmitter(0));
+			tikalilar.forEach(akis::aboneOl);
+			saglamlar.forEach(akis::aboneOl);
+			assertEquals(5, akis.aboneSayisi());
+
+			akis.yayinla(List.of(olay(1, false)));
+			for (KaydedenEmitter tikali : tikalilar) {
+				assertTrue(tikali.yazmada.await(5, TimeUnit.SECONDS)); // Serbest bırakılmaz
+			}
+			for (int kitapId = 2; kitapId <= 4; kitapId++) {
+				akis.yayinla(List.of(olay(kitapId, true)));
+				for (KaydedenEmitter saglam : saglamlar) {
+					bekle(saglam, "kitapId=" + kitapId);
+				}
+			}
+
+			assertEquals(3, akis.aboneSayisi());
+			assertEquals(2.0, registry.get("kutuphane.stok.akisi.tahliye").counter().count());
+			assertTrue(saglamlar.stream().noneMatch(e -> e.tamamlandi));
+			// Terk edilen iki yazma hâlâ yazıcı thread tutuyor; bitene kadar
+			// abone sınırından düşülür.
+			assertEquals(2.0, registry.get("kutuphane.stok.akisi.terk.edilen.yazmalar").gauge().value());
+			assertTrue(akis.aboneOl().isEmpty());
+		} finally {
+			akis.kapat();
+		}
+	}
+
+	private static void bekle(MockHttpServletResponse yanit, String beklenen) throws Exception {
+		long bitis = System.currentTimeMillis() + 5000;
+		while (!yanit.getContentAsString().contains(beklenen)) {
+			assertTrue(System.currentTimeMillis() < bitis, "Olay gelmedi: " + beklenen);
+			Thread.sleep(20);
+		}
+	}
+
+	private static void bekle(KaydedenEmitter emitter, String beklenen) throws Exception {
+		long bitis = System.currentTimeMillis() + 5000;
+		while (emitter.olaylar.stream().noneMatch(olay -> olay.contains(beklenen))) {
+			assertTrue(System.currentTimeMillis() < bitis, "Olay gelmedi: " + beklenen);
+			Thread.sleep(20);
+		}
+	}
+
+	private static StokDegisikligi olay(long kitapId, boolean mevcut) {
+		return new StokDegisikligi(kitapId, mevcut, false) {
+			@Override
+			public String toString() {
+				return "kitapId=" + kitapId + ", mevcut=" + mevcut;
+			}
+		};
+	}
+
+	// Gönderilen olayları metin olarak kaydeden emitter. Verilen sayıda yazmadan
+	// sonraki yazmalar, istemcisi okumayan bir bağlantı gibi süresiz bekler.
+	private static class KaydedenEmitter extends SseEmitter {
+
+		private final List<String> olaylar = new CopyOnWriteArrayList<>();
+		private final int takilmadanOnce;
+		private final CountDownLatch yazmada = new CountDownLatch(1);
+		private volatile boolean tamamlandi;
+
+		KaydedenEmitter(int takilmadanOnce) {
+			this.takilmadanOnce = takilmadanOnce;
+		}
+
+		@Override
+		public void send(SseEventBuilder olay) throws IOException {
+			StringBuilder metin = new StringBuilder();
+			for (ResponseBodyEmitter.DataWithMediaType parca : olay.build()) {
+				metin.append(parca.getData());
+			}
+			olaylar.add(metin.toString());
+			if (takilmadanOnce > 0 && olaylar.size() > takilmadanOnce) {
+				yazmada.countDown();
+				try {
+					new CountDownLatch(1).await(); // Yalnızca kapanışta (shutdownNow) kesilir
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Yazma kesildi", e);
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			tamamlandi = true;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.kutuphane.otomasyon.arama;
+
+import com.kutuphane.otomasyon.dto.AramaSonucu;
+import com.kutuphane.otomasyon.model.Kitap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bellek içi arama indeksinin (Türkçe katlama, sıralama, artımlı güncelleme)
+// unit testleri. Veritabanı gerekmez.
+class KitapAramaIndeksiTest {
+
+	private KitapAramaIndeksi indeks;
+
+	@BeforeEach
+	void setUp() {
+		indeks = new KitapAramaIndeksi();
+		indeks.ekle(kitap(1L, "Kürk Mantolu Madonna", "Sabahattin Ali"));
+		indeks.ekle(kitap(2L, "İçimizdeki Şeytan", "Sabahattin Ali"));
+		indeks.ekle(kitap(3L, "Işığın Peşinde", "Ayşe Kulin"));
+		indeks.ekle(kitap(4L, "Ali ile Veli", "Orhan Pamuk"));
+	}
+
+	@Test
+	@DisplayName("Türkçe karakterler ve büyük/küçük harf katlanır")
+	void turkceKatlama() {
+		assertEquals("isigin pesinde", TurkceMetinIsleyici.katla("IŞIĞIN Peşinde"));
+		assertEquals(List.of("icimizdeki", "seytan"), TurkceMetinIsleyici.parcala("İÇİMİZDEKİ, şeytan!"));
+
+		List<AramaSonucu> sonuclar = indeks.ara("isigin", 10);
+		assertEquals(1, sonuclar.size());
+		assertEquals(3L, sonuclar.get(0).getId());
+	}
+
+	@Test
+	@DisplayName("Başlıkta geçen terim yazarda geçenden önce sıralanır")
+	void baslikEslesmesiOnde() {
+		List<AramaSonucu> sonuclar = indeks.ara("ali", 10);
+
+		assertEquals(3, sonuclar.size());
+		assertEquals(4L, sonuclar.get(0).getId()); // "Ali ile Veli" başlığında geçer
+	}
+
+	@Test
+	@DisplayName("Silinen ve güncellenen kitaplar indekste doğru yansır")
+	void artimliGuncelleme() {
+		indeks.sil(1L);
+		assertTrue(indeks.ara("madonna", 10).isEmpty());
+
+		indeks.ekle(kitap(2L, "Kuyucaklı Yusuf", "Sabahattin Ali")); // Aynı ID ile güncelleme
+		assertTrue(indeks.ara("seytan", 10).isEmpty());
+		assertEquals(2L, indeks.ara("yusuf", 10).get(0).getId());
+	}
+
+	@Test
+	@DisplayName("Bulanık arama yazım hatalarını tolere eder")
+	void bulanikArama() {
+		assertTrue(indeks.ara("Sabahatin", 10).isEmpty()); // Tam eşleşme yok
+
+		List<AramaSonucu> sonuclar = indeks.ara("Sabahatin", 10, true);
+		assertEquals(2, sonuclar.size());
+
+		// Kiril harfli yazım ("Pamук") Latin karşılığına katlanır.
+		assertEquals(4L, indeks.ara("Pamук", 10, true).get(0).getId());
+	}
+
+	@Test
+	@DisplayName("Kiril harfli yazım Latin karşılığıyla tam eşleşir")
+	void kirilTamEslesme() {
+		assertEquals("pamuk", TurkceMetinIsleyici.katla("Pamук"));
+		List<AramaSonucu> sonuclar = indeks.ara("Pamук", 10);
+		assertEquals(1, sonuclar.size());
+		assertEquals(4L, sonuclar.get(0).getId());
+	}
+
+	private static Kitap kitap(Long id, String baslik, String yazar) {
+		Kitap kitap = new Kitap();
+		kitap.setId(id);
+		kitap.setBaslik(baslik);
+		kitap.setYazar(yazar);
+		kitap.setIsbn("ISBN-" + id);
+		return kitap;
+	}
+}
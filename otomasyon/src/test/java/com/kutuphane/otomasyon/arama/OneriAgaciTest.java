@@ -0,0 +1,122 @@
+package com.kutuphane.otomasyon.arama;
+
+import com.kutuphane.otomasyon.dto.Oneri;
+import com.kutuphane.otomasyon.model.Kitap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Otomatik tamamlama için önek ağacının unit testleri.
+class OneriAgaciTest {
+
+	private OneriAgaci agac;
+
+	@BeforeEach
+	void setUp() {
+		agac = new OneriAgaci();
+		agac.yukle(kitap(1L, "Kürk Mantolu Madonna", "Sabahattin Ali"));
+		agac.yukle(kitap(2L, "Kuyucaklı Yusuf", "Sabahattin Ali"));
+		agac.yukle(kitap(3L, "Sabah Yıldızı", "Ayşe Kulin"));
+		agac.yuklemeyiTamamla();
+	}
+
+	@Test
+	@DisplayName("Önek, başlık ve yazar tamamlamalarını döndürür")
+	void onekTamamlama() {
+		List<Oneri> oneriler = agac.oner("SABA", 5);
+
+		// "Sabahattin Ali" iki kitaba karşılık geldiği için önce gelir.
+		assertEquals(2, oneriler.size());
+		assertEquals("Sabahattin Ali", oneriler.get(0).getMetin());
+		assertEquals(List.of(1L, 2L), oneriler.get(0).getKitapIdleri());
+		assertEquals("Sabah Yıldızı", oneriler.get(1).getMetin());
+	}
+
+	@Test
+	@DisplayName("Başlığın ortasındaki kelimeden de öneri üretilir")
+	void kelimeBasindanTamamlama() {
+		List<Oneri> oneriler = agac.oner("mado", 5);
+
+		assertEquals(1, oneriler.size());
+		assertEquals("Kürk Mantolu Madonna", oneriler.get(0).getMetin());
+	}
+
+	@Test
+	@DisplayName("Ekleme ve silme sonrası öneriler güncellenir")
+	void artimliGuncelleme() {
+		agac.sil(1L);
+		agac.sil(2L);
+		assertEquals(List.of("Sabah Yıldızı"), agac.oner("sab", 5).stream().map(Oneri::getMetin).toList());
+
+		agac.ekle(kitap(4L, "Kürk Mantolu Madonna", "Sabahattin Ali"));
+		assertEquals(List.of(4L), agac.oner("kurk", 5).get(0).getKitapIdleri());
+	}
+
+	@Test
+	@DisplayName("Artımlı ekleme/silme, sıfırdan yüklemeyle aynı önerileri vermeli; silinen yollar ağaçtan kalkmalı")
+	void artimliGuncellemeTamYuklemeyleAyni() {
+		String[] kelimeler = { "kar", "kara", "karadeniz", "kartal", "kurt", "kuyu", "sabah", "saba", "ali", "al" };
+		Random rastgele = new Random(7);
+		OneriAgaci artimli = new OneriAgaci();
+		int bosDugumSayisi = artimli.dugumSayisi();
+		Map<Long, Kitap> kitaplar = new LinkedHashMap<>();
+		for (long id = 1; id <= 300; id++) {
+			Kitap kitap = kitap(id, rastgeleMetin(kelimeler, rastgele), rastgeleMetin(kelimeler, rastgele));
+			kitaplar.put(id, kitap);
+			artimli.ekle(kitap);
+		}
+		for (long id = 1; id <= 300; id += 3) {
+			kitaplar.remove(id);
+			artimli.sil(id);
+		}
+		artimli.ekle(List.of(kitap(2L, "Kara Kartal", "Ali"), kitap(301L, "Kuyu", "Saba Al")));
+		kitaplar.put(2L, kitap(2L, "Kara Kartal", "Ali"));
+		kitaplar.put(301L, kitap(301L, "Kuyu", "Saba Al"));
+
+		OneriAgaci tam = new OneriAgaci();
+		kitaplar.values().forEach(tam::yukle);
+		tam.yuklemeyiTamamla();
+		for (String kelime : kelimeler) {
+			for (int i = 1; i <= kelime.length(); i++) {
+				String onek = kelime.substring(0, i);
+				assertEquals(metinler(tam.oner(onek, 10)), metinler(artimli.oner(onek, 10)), onek);
+			}
+		}
+		assertEquals(tam.dugumSayisi(), artimli.dugumSayisi());
+
+		kitaplar.keySet().forEach(artimli::sil);
+		assertEquals(bosDugumSayisi, artimli.dugumSayisi());
+		assertTrue(artimli.oner("ka", 10).isEmpty());
+	}
+
+	private static String rastgeleMetin(String[] kelimeler, Random rastgele) {
+		int adet = 1 + rastgele.nextInt(3);
+		StringBuilder metin = new StringBuilder();
+		for (int i = 0; i < adet; i++) {
+			metin.append(i == 0 ? "" : " ").append(kelimeler[rastgele.nextInt(kelimeler.length)]);
+		}
+		return metin.toString();
+	}
+
+	// Gösterim metni ve kitap sırası ekleme sırasına bağlıdır; karşılaştırmada yok sayılır.
+	private static List<String> metinler(List<Oneri> oneriler) {
+		return oneriler.stream().map(o -> o.getTur() + ":" + TurkceMetinIsleyici.katla(o.getMetin())
+				+ o.getKitapIdleri().stream().sorted().toList()).toList();
+	}
+
+	private static Kitap kitap(Long id, String baslik, String yazar) {
+		Kitap kitap = new Kitap();
+		kitap.setId(id);
+		kitap.setBaslik(baslik);
+		kitap.setYazar(yazar);
+		kitap.setIsbn("ISBN-" + id);
+		return kitap;
+	}
+}
@@ -0,0 +1,127 @@
+package com.kutuphane.otomasyon.config;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Uye;
+import com.kutuphane.otomasyon.service.KatalogYanitOnbellegi;
+import com.kutuphane.otomasyon.service.KitapService;
+import com.kutuphane.otomasyon.service.KullaniciService;
+import com.kutuphane.otomasyon.service.OduncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Okuma/yazma yönlendirmesini iki ayrı gömülü H2 veritabanıyla doğrular.
+// Replikasyon, ana veritabanının SCRIPT çıktısının kopyada çalıştırılmasıyla
+// taklit edilir; kopyalamadan sonra ana veritabanına yazılanlar kopyada
+// görünmez, böylece hangi okumanın nereye gittiği anlaşılır.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:yonlendirme-yazma;DB_CLOSE_DELAY=-1",
+		"kutuphane.datasource.okuma.jdbc-url=jdbc:h2:mem:yonlendirme-okuma;DB_CLOSE_DELAY=-1",
+		"kutuphane.datasource.okuma.username=sa" })
+@ActiveProfiles("test")
+class OkumaYazmaYonlendirmeTest {
+
+	@Autowired
+	private KitapService kitapService;
+
+	@Autowired
+	private KullaniciService kullaniciService;
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KatalogYanitOnbellegi katalogYanitOnbellegi;
+
+	@Autowired
+	private Replikasyon replikasyon;
+
+	@Test
+	@DisplayName("Okuma/Yazma Yönlendirme - Salt okunur okumalar kopyaya, ödünç işlemleri tutarlı şekilde ana veritabanına gitmeli")
+	void testYonlendirme() {
+		kitapService.kitapEkle(kitap("Kopyada Olan", "978-0000000101"));
+		replikasyon.kopyala();
+
+		// Bu kayıtlar yalnızca ana veritabanında
+		Kitap yeniKitap = kitapService.kitapEkle(kitap("Yalnız Anada", "978-0000000102"));
+		Uye uye = kullaniciService.kullaniciEkle(new Uye("Yönlendirme Üye", "yonlendirme@mail.com", "YY-1"));
+
+		// Salt okunur servis okumaları kopyadan
+		List<String> basliklar = kitapService.tumKitaplariGetir().stream().map(Kitap::getBaslik).toList();
+		assertEquals(List.of("Kopyada Olan"), basliklar);
+		assertTrue(kitapService.kitapBulById(yeniKitap.getId()).isEmpty());
+		assertTrue(kullaniciService.tumUyeleriGetir().isEmpty());
+
+		// ISBN çözümlemesi ve sürümle etiketlenen katalog yanıtı ana veritabanından
+		assertTrue(kitapService.kitapBulByIsbn("978-0000000102").isPresent());
+		String katalog = new String(katalogYanitOnbellegi.getir().json(), StandardCharsets.UTF_8);
+		assertTrue(katalog.contains("Yalnız Anada"), katalog);
+
+		// Ödünç verme transaction'ı (içindeki salt okunur kullanıcı okuması dahil)
+		// tamamen ana veritabanında çalışmalı; kopyada ne üye ne kitap var.
+		Odunc odunc = oduncService.kitapOduncVer(uye.getId(), yeniKitap.getId());
+		assertNotNull(odunc.getId());
+		assertEquals(1, replikasyon.yazma.queryForObject(
+				"SELECT COUNT(*) FROM oduncler WHERE teslim_tarihi IS NULL", Integer.class));
+		assertEquals(0, replikasyon.okuma.queryForObject("SELECT COUNT(*) FROM oduncler", Integer.class));
+
+		// Kopya güncellenince yazılanlar salt okunur yoldan da görünür
+		replikasyon.kopyala();
+		assertFalse(kitapService.kitapBulById(yeniKitap.getId()).orElseThrow().isMevcut());
+		assertEquals(1, kullaniciService.tumUyeleriGetir().size());
+	}
+
+	private static Kitap kitap(String baslik, String isbn) {
+		Kitap kitap = new Kitap();
+		kitap.setBaslik(baslik);
+		kitap.setYazar("Test Yazar");
+		kitap.setIsbn(isbn);
+		kitap.setMevcut(true);
+		return kitap;
+	}
+
+	@TestConfiguration
+	static class ReplikasyonConfig {
+
+		@Bean
+		Replikasyon replikasyon(@Qualifier("yazmaDataSource") DataSource yazma,
+				@Qualifier("okumaDataSource") DataSource okuma) {
+			return new Replikasyon(yazma, okuma);
+		}
+	}
+
+	// Ana veritabanının anlık görüntüsünü kopyaya aktarır. Şema, açılıştaki
+	// katalog yüklemesinden (ApplicationReadyEvent, salt okunur) önce kopyalanır.
+	static class Replikasyon {
+
+		private final JdbcTemplate yazma;
+		private final JdbcTemplate okuma;
+
+		Replikasyon(DataSource yazma, DataSource okuma) {
+			this.yazma = new JdbcTemplate(yazma);
+			this.okuma = new JdbcTemplate(okuma);
+		}
+
+		@EventListener(ContextRefreshedEvent.class)
+		void kopyala() {
+			List<String> komutlar = yazma.queryForList("SCRIPT", String.class);
+			okuma.execute("DROP ALL OBJECTS");
+			komutlar.forEach(okuma::execute);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.kutuphane.otomasyon.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// JDBC eşzamanlılık sınırlayıcısının sınır dolduğunda kısa sürede hata
+// verdiğini ve kapatılan bağlantının iznini (bir kez) iade ettiğini doğrular.
+class SinirliDataSourceTest {
+
+	@Test
+	@DisplayName("JDBC Sınırlayıcı - Sınır dolunca bekleme süresi sonunda hata vermeli, close izni iade etmeli")
+	void testSinirVeIade() throws Exception {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:sinirli;DB_CLOSE_DELAY=-1");
+		SinirliDataSource dataSource = new SinirliDataSource(h2, 2, Duration.ofMillis(100));
+
+		Connection birinci = dataSource.getConnection();
+		Connection ikinci = dataSource.getConnection();
+		assertEquals(2, dataSource.kullanilanSayisi());
+
+		long baslangic = System.nanoTime();
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		assertTrue(System.nanoTime() - baslangic < Duration.ofSeconds(2).toNanos());
+
+		birinci.close();
+		birinci.close(); // İkinci close izni tekrar iade etmemeli
+		assertEquals(1, dataSource.kullanilanSayisi());
+		try (Connection ucuncu = dataSource.getConnection()) {
+			assertTrue(ucuncu.isValid(1));
+		}
+		ikinci.close();
+		assertEquals(0, dataSource.kullanilanSayisi());
+	}
+}
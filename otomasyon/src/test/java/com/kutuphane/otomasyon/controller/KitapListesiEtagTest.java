@@ -0,0 +1,107 @@
+package com.kutuphane.otomasyon.controller;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import com.kutuphane.otomasyon.service.KitapService;
+import com.kutuphane.otomasyon.service.OduncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Kitap listesinin katalog sürümüyle etiketlendiğini; değişiklik yoksa 304,
+// kitap ekleme ve ödünç verme sonrasında yeni etiketle 200 döndüğünü ve gzip
+// isteyen istemciye sıkıştırılmış halin gittiğini doğrular.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KitapListesiEtagTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private KitapService kitapService;
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Test
+	@DisplayName("Kitap Listesi ETag - Değişmeyen katalog 304, ekleme ve ödünç sonrası yeni ETag ile 200 dönmeli")
+	void testKosulluListe() throws Exception {
+		String ilkEtiket = etiketAl(null, 200);
+		assertTrue(ilkEtiket.matches("\"\\d+\""), ilkEtiket); // Güçlü ETag (W/ öneki yok)
+
+		mockMvc.perform(get("/api/kitaplar").with(httpBasic("user", "sifre"))
+				.header(HttpHeaders.IF_NONE_MATCH, ilkEtiket))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, ilkEtiket))
+				.andExpect(content().string(""));
+
+		Kitap kitap = new Kitap();
+		kitap.setBaslik("ETag Kitabı");
+		kitap.setYazar("Yazar");
+		kitap.setIsbn("ETAG-1");
+		kitap = kitapService.kitapEkle(kitap);
+		String eklemeSonrasi = etiketAl(ilkEtiket, 200);
+		assertNotEquals(ilkEtiket, eklemeSonrasi);
+		etiketAl(eklemeSonrasi, 304);
+
+		Personel personel = kullaniciRepository
+				.save(new Personel("ETag Personel", "etag@kutuphane.com", null, "Test"));
+		oduncService.kitapOduncVer(personel.getId(), kitap.getId()); // Stok durumu değişir
+		assertNotEquals(eklemeSonrasi, etiketAl(eklemeSonrasi, 200));
+	}
+
+	@Test
+	@DisplayName("Kitap Listesi - gzip kabul eden istemci aynı JSON'un sıkıştırılmış halini ayrı ETag ile almalı")
+	void testGzipYanit() throws Exception {
+		byte[] json = mockMvc.perform(get("/api/kitaplar").with(httpBasic("user", "sifre")))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		MockHttpServletResponse yanit = mockMvc.perform(get("/api/kitaplar").with(httpBasic("user", "sifre"))
+				.header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andReturn().getResponse();
+		assertTrue(yanit.getHeader(HttpHeaders.ETAG).endsWith("-gz\""));
+		try (GZIPInputStream acilan = new GZIPInputStream(new ByteArrayInputStream(yanit.getContentAsByteArray()))) {
+			assertArrayEquals(json, acilan.readAllBytes());
+		}
+
+		mockMvc.perform(get("/api/kitaplar").with(httpBasic("user", "sifre"))
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	private String etiketAl(String ifNoneMatch, int beklenenDurum) throws Exception {
+		var istek = get("/api/kitaplar").with(httpBasic("user", "sifre"));
+		if (ifNoneMatch != null) {
+			istek.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		return mockMvc.perform(istek)
+				.andExpect(status().is(beklenenDurum))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+}
@@ -0,0 +1,115 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kutuphane.otomasyon.config.OnbellekConfig;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.model.Uye;
+import com.kutuphane.otomasyon.service.KullaniciService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Veritabanındaki kullanıcıların HTTP Basic ile giriş yapabildiğini, tekrar
+// eden girişlerin doğrulama önbelleğinden karşılandığını ve şifre değişikliği
+// ile silmenin önbellekteki girişi geçersiz kıldığını doğrular.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KimlikDogrulamaOnbellegiTest {
+
+	private static final String EMAIL = "giris@mail.com";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private KullaniciService kullaniciService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private KimlikDogrulamaOnbellegi kimlikDogrulamaOnbellegi;
+
+	@Test
+	@DisplayName("Kimlik Doğrulama - Tekrar eden giriş önbellekten karşılanmalı, şifre değişince ve silinince geçersiz olmalı")
+	void testVeritabaniGirisiVeOnbellek() throws Exception {
+		Uye uye = new Uye("Giriş Üye", EMAIL, "GIRIS-1");
+		uye.setSifre("gizli-1");
+		Long id = kullaniciService.kullaniciEkle(uye).getId();
+
+		// Şifre özeti JSON'a yazılmaz
+		mockMvc.perform(get("/api/kullanicilar/" + id).with(httpBasic("admin", "123456")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sifreOzeti").doesNotExist())
+				.andExpect(jsonPath("$.sifre").doesNotExist());
+
+		CacheStats once = istatistik();
+		giris("gizli-1", status().isOk()); // bcrypt, önbelleğe yazılır
+		giris("gizli-1", status().isOk()); // Önbellekten
+		assertEquals(1, istatistik().minus(once).hitCount());
+		giris("yanlis", status().isUnauthorized());
+
+		// Üye USER rolündedir; yönetim yollarına erişemez
+		mockMvc.perform(get("/api/kullanicilar").with(httpBasic(EMAIL, "gizli-1")))
+				.andExpect(status().isForbidden());
+
+		Uye guncellenecek = (Uye) kullaniciService.kullaniciBulById(id).orElseThrow();
+		guncellenecek.setSifre("gizli-2");
+		kullaniciService.kullaniciEkle(guncellenecek);
+		assertEquals(0, kayitSayisi(id));
+		giris("gizli-1", status().isUnauthorized());
+		giris("gizli-2", status().isOk());
+		assertEquals(1, kayitSayisi(id));
+
+		kullaniciService.kullaniciSil(id);
+		assertEquals(0, kayitSayisi(id));
+		giris("gizli-2", status().isUnauthorized());
+	}
+
+	@Test
+	@DisplayName("Kimlik Doğrulama - Personel girişi ADMIN yetkisi almamalı, kullanıcı silememeli")
+	void testPersonelAdminDegil() throws Exception {
+		Personel personel = new Personel("Giriş Personel", "personel.giris@kutuphane.com", "P-GIRIS", "Ödünç");
+		personel.setSifre("gizli-p");
+		kullaniciService.kullaniciEkle(personel);
+		Long uyeId = kullaniciService.kullaniciEkle(new Uye("Silinmeyecek Üye", "silinmeyecek@mail.com", "SIL-1"))
+				.getId();
+
+		mockMvc.perform(get("/api/kitaplar").with(httpBasic("personel.giris@kutuphane.com", "gizli-p")))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/kullanicilar/" + uyeId).with(httpBasic("personel.giris@kutuphane.com", "gizli-p")))
+				.andExpect(status().isForbidden());
+		assertTrue(kullaniciService.kullaniciBulById(uyeId).isPresent());
+	}
+
+	private void giris(String sifre, ResultMatcher beklenen) throws Exception {
+		mockMvc.perform(get("/api/kitaplar").with(httpBasic(EMAIL, sifre))).andExpect(beklenen);
+	}
+
+	private com.github.benmanes.caffeine.cache.Cache<Object, Object> onbellek() {
+		return ((CaffeineCache) cacheManager.getCache(OnbellekConfig.KIMLIK_DOGRULAMALARI)).getNativeCache();
+	}
+
+	private CacheStats istatistik() {
+		return onbellek().stats();
+	}
+
+	private long kayitSayisi(Long kullaniciId) {
+		return kimlikDogrulamaOnbellegi.kayitSayisi(kullaniciId);
+	}
+}
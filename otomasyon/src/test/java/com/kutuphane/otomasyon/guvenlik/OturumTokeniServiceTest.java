@@ -0,0 +1,131 @@
+package com.kutuphane.otomasyon.guvenlik;
+
+import com.kutuphane.otomasyon.dto.GirisIstegi;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// İmzalı oturum tokenlerinin üretimini, anahtar döndürmeyi, süre dolumunu ve
+// HTTP üzerinden giriş + Bearer ile erişimi doğrular.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OturumTokeniServiceTest {
+
+	private static final String K1 = "k1:" + Base64.getEncoder().encodeToString(new byte[32]);
+	private static final String K2 = "k2:" + Base64.getEncoder().encodeToString("iki".repeat(11).getBytes());
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	@DisplayName("Oturum Tokeni - Döndürülen anahtarla eski tokenler kabul edilmeli, süre dolunca ve imza bozulunca reddedilmeli")
+	void testAnahtarDondurmeVeSure() {
+		Instant simdi = Instant.parse("2026-01-01T10:00:00Z");
+		OturumTokeniService eski = servis(K1, simdi);
+		String eskiToken = eski.girisYap(giris("uye@mail.com")).getToken();
+
+		Authentication kimlik = eski.dogrula(eskiToken);
+		assertEquals("uye@mail.com", kimlik.getName());
+		assertEquals("ROLE_USER", kimlik.getAuthorities().iterator().next().getAuthority());
+
+		// Yeni anahtar başa eklendi: yeni tokenler k2 ile imzalanır, k1 tokenleri geçerli kalır
+		OturumTokeniService donmus = servis(K2 + "," + K1, simdi);
+		assertTrue(donmus.girisYap(giris("uye@mail.com")).getToken().startsWith("k2."));
+		assertEquals("uye@mail.com", donmus.dogrula(eskiToken).getName());
+
+		// Eski anahtar çıkarıldı
+		assertThrows(BadCredentialsException.class, () -> servis(K2, simdi).dogrula(eskiToken));
+
+		// Gövdesi değiştirilmiş (ör. rolü yükseltilmiş) token
+		String[] parcalar = eskiToken.split("\\.");
+		String sahteGovde = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("uye@mail.com\n9999999999\nROLE_ADMIN".getBytes());
+		assertThrows(BadCredentialsException.class,
+				() -> eski.dogrula(parcalar[0] + "." + sahteGovde + "." + parcalar[2]));
+
+		// Geçerlilik süresi (1 saat) doldu
+		assertThrows(CredentialsExpiredException.class,
+				() -> servis(K1, simdi.plus(Duration.ofHours(1))).dogrula(eskiToken));
+	}
+
+	@Test
+	@DisplayName("Oturum Tokeni - Girişte alınan token ile Bearer erişimi çalışmalı, hatalı token ve şifre 401 dönmeli")
+	void testGirisVeBearerErisimi() throws Exception {
+		String yanit = mockMvc.perform(post("/api/oturum/giris").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"kullaniciAdi\":\"admin\",\"sifre\":\"123456\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode govde = JsonMapper.builder().build().readTree(yanit);
+		String token = govde.get("token").asString();
+		assertEquals("Bearer", govde.get("tur").asString());
+
+		mockMvc.perform(get("/api/kullanicilar").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+		// Asenkron yanıtın tamamlanma dispatch'i de tokenle yetkilendirilmeli
+		MvcResult akis = mockMvc.perform(get("/api/kitaplar/admin/disa-aktar").header("Authorization", "Bearer " + token))
+				.andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(akis)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/kullanicilar").header("Authorization", "Bearer " + token + "x"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(header().string("WWW-Authenticate", "Bearer error=\"invalid_token\""));
+		mockMvc.perform(post("/api/oturum/giris").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"kullaniciAdi\":\"admin\",\"sifre\":\"yanlis\"}"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	private static OturumTokeniService servis(String anahtarlar, Instant an) {
+		return new OturumTokeniService(new SabitKimlikDogrulayici(), anahtarlar, Duration.ofHours(1),
+				Clock.fixed(an, ZoneOffset.UTC));
+	}
+
+	private static GirisIstegi giris(String kullaniciAdi) {
+		GirisIstegi istek = new GirisIstegi();
+		istek.setKullaniciAdi(kullaniciAdi);
+		istek.setSifre("sifre");
+		return istek;
+	}
+
+	// Her kullanıcıyı USER rolüyle doğrulayan test yardımcısı.
+	private static class SabitKimlikDogrulayici implements AuthenticationProvider {
+
+		@Override
+		public Authentication authenticate(Authentication kimlik) {
+			return UsernamePasswordAuthenticationToken.authenticated(kimlik.getName(), null,
+					AuthorityUtils.createAuthorityList("ROLE_USER"));
+		}
+
+		@Override
+		public boolean supports(Class<?> tur) {
+			return true;
+		}
+	}
+}
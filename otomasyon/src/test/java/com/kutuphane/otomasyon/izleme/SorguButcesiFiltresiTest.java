@@ -0,0 +1,79 @@
+package com.kutuphane.otomasyon.izleme;
+
+import com.kutuphane.otomasyon.dto.SorguIstatistigi;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Uye;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sorgu bütçesini aşan endpoint'in test profilinde hatayla sonlandığını ve
+// yönetim endpoint'inde en kötüler arasında listelendiğini doğrular.
+@SpringBootTest(properties = "kutuphane.izleme.sorgu-butcesi.varsayilan=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SorguButcesiFiltresiTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private SorguIstatistikleri sorguIstatistikleri;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Test
+	@DisplayName("Sorgu Bütçesi - Bütçeyi aşan istek hata vermeli ve en kötüler listesinde görünmeli")
+	void testButceAsimi() throws Exception {
+		sorguIstatistikleri.sifirla();
+		Kitap kitap = new Kitap();
+		kitap.setBaslik("Bütçe Kitabı");
+		kitap.setYazar("Yazar");
+		kitap.setIsbn("BUTCE-1");
+		kitap = kitapRepository.save(kitap);
+		Uye uye = kullaniciRepository.save(new Uye("Bütçe Üye", "butce@mail.com", "BUTCE-1"));
+
+		// Tek sorguluk okuma bütçe içinde kalır.
+		mockMvc.perform(get("/api/kitaplar/isbn/BUTCE-1").with(httpBasic("admin", "123456")))
+				.andExpect(status().isOk());
+
+		// Ödünç verme; kullanıcı, sayaç, stok, kitap ve INSERT ile bütçeyi (3) aşar.
+		String url = "/api/odunc/ver?kitapId=" + kitap.getId() + "&userId=" + uye.getId();
+		Exception hata = assertThrows(Exception.class,
+				() -> mockMvc.perform(post(url).with(httpBasic("admin", "123456"))));
+		assertTrue(NestedExceptionUtils.getMostSpecificCause(hata).getMessage().contains("Sorgu bütçesi aşıldı"));
+
+		List<SorguIstatistigi> enKotuler = sorguIstatistikleri.enKotuler(10);
+		SorguIstatistigi odunc = enKotuler.get(0);
+		assertEquals("POST /api/odunc/ver", odunc.getUcNokta());
+		assertEquals(1, odunc.getButceAsimi());
+		assertTrue(odunc.getEnFazlaSorgu() > 3);
+		assertTrue(odunc.getOrtalamaEntityYukleme() >= 1);
+		assertTrue(enKotuler.stream().anyMatch(i -> i.getUcNokta().equals("GET /api/kitaplar/isbn/{isbn}")
+				&& i.getButceAsimi() == 0));
+
+		mockMvc.perform(get("/api/admin/sorgular").with(httpBasic("admin", "123456")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].ucNokta").value("POST /api/odunc/ver"));
+	}
+}
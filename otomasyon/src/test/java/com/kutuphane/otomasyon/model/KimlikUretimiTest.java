@@ -0,0 +1,59 @@
+package com.kutuphane.otomasyon.model;
+
+import com.kutuphane.otomasyon.izleme.SorguSayaci;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sequence (pooled-lo) kimlik üretimiyle INSERT'lerin JDBC batch'i olarak
+// gönderildiğini doğrular. IDENTITY ile karşılaştırmalı hız ölçümü
+// otomasyon-jmh modülündedir (KimlikUretimiBenchmark).
+@SpringBootTest
+@ActiveProfiles("test")
+class KimlikUretimiTest {
+
+	private static final int KAYIT_SAYISI = 200;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	@DisplayName("Kimlik Üretimi - Sequence (pooled-lo) ile INSERT'ler batch halinde gönderilmeli")
+	void testEklemelerBatchHalinde() {
+		SorguSayaci.baslat();
+		SorguSayaci.Olcum olcum;
+		try {
+			new TransactionTemplate(transactionManager).executeWithoutResult(durum -> {
+				for (int i = 0; i < KAYIT_SAYISI; i++) {
+					Kitap kitap = new Kitap();
+					kitap.setBaslik("Kimlik " + i);
+					kitap.setYazar("Yazar");
+					kitap.setIsbn("KIMLIK-" + i);
+					entityManager.persist(kitap);
+				}
+			});
+		} finally {
+			olcum = SorguSayaci.bitir();
+			kitapRepository.deleteAll(kitapRepository.findAll().stream()
+					.filter(k -> k.getIsbn().startsWith("KIMLIK-")).toList());
+		}
+
+		// Her 50 kayıtta bir sequence çağrısı ve bir INSERT batch'i; IDENTITY'de
+		// her satır ayrı bir INSERT olurdu.
+		assertTrue(olcum.getSorgu() <= 2 * (KAYIT_SAYISI / 50) + 2, "SQL cümlesi: " + olcum.getSorgu());
+	}
+}
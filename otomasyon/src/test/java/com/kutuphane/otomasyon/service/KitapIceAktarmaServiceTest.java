@@ -0,0 +1,107 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.dto.IceAktarmaRaporu;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Uye;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import com.kutuphane.otomasyon.repository.OduncRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Toplu içe aktarmanın gerçek bir veritabanı (H2) üzerinde hatalı ve
+// tekrarlanan kayıtları ayıklayıp geri kalanları yazdığını doğrular.
+@SpringBootTest
+@ActiveProfiles("test")
+class KitapIceAktarmaServiceTest {
+
+	@Autowired
+	private KitapIceAktarmaService kitapIceAktarmaService;
+
+	@Autowired
+	private KitapService kitapService;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Autowired
+	private OduncRepository oduncRepository;
+
+	@Autowired
+	private OduncService oduncService;
+
+	@BeforeEach
+	void setUp() {
+		oduncRepository.deleteAll();
+		kitapRepository.deleteAll();
+		kullaniciRepository.deleteAll();
+
+		Kitap kayitli = new Kitap();
+		kayitli.setBaslik("Kayıtlı Kitap");
+		kayitli.setYazar("Eski Yazar");
+		kayitli.setIsbn("111");
+		kitapRepository.save(kayitli);
+	}
+
+	@Test
+	@DisplayName("CSV İçe Aktarma - Tırnaklı alanlar okunmalı, tekrarlanan ve eksik kayıtlar reddedilmeli, kitaplar rafta eklenmeli")
+	void testCsvIceAktar() {
+		String csv = "id,baslik,yazar,isbn,mevcut\n"
+				+ "7,\"Suç ve Ceza, Cilt 1\",Dostoyevski,222,true\n"
+				+ ",Kürk Mantolu Madonna,Sabahattin Ali,333,false\n"
+				+ ",Aynı ISBN,Biri,333,true\n" // Dosyada tekrar
+				+ ",Zaten Var,Biri,111,true\n" // Veritabanında mevcut
+				+ ",,Başlıksız,444,true\n";
+
+		IceAktarmaRaporu rapor = kitapIceAktarmaService.iceAktar(KitapDisaAktarmaService.Bicim.CSV,
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(5, rapor.getOkunanKayit());
+		assertEquals(2, rapor.getEklenenKayit());
+		assertEquals(3, rapor.getReddedilenKayit());
+		assertEquals(4, rapor.getReddedilenler().get(0).getSatir());
+
+		Kitap suc = kitapRepository.findByIsbn("222").orElseThrow();
+		assertEquals("Suç ve Ceza, Cilt 1", suc.getBaslik());
+		assertNotEquals(7L, suc.getId()); // Dosyadaki ID yok sayılır
+		// Dışa aktarmadaki "ödünçte" durumu taşınmaz; açık ödünç kaydı olmayan
+		// kitap rafta eklenir ve ödünç verilebilir.
+		Kitap madonna = kitapRepository.findByIsbn("333").orElseThrow();
+		assertTrue(madonna.isMevcut());
+		Uye uye = kullaniciRepository.save(new Uye("İçe Aktarma Üye", "ice.aktarma@mail.com", "IA-1"));
+		oduncService.kitapIadeAl(oduncService.kitapOduncVer(uye.getId(), madonna.getId()).getId());
+
+		// Eklenen kitaplar arama indeksine de işlenmiş olmalı.
+		assertFalse(kitapService.kitapAra("madonna", 10, false).isEmpty());
+	}
+
+	@Test
+	@DisplayName("NDJSON İçe Aktarma - Geçersiz satır reddedilmeli, diğerleri eklenmeli")
+	void testNdjsonIceAktar() {
+		String ndjson = "{\"baslik\":\"Tutunamayanlar\",\"yazar\":\"Oğuz Atay\",\"isbn\":\"555\",\"mevcut\":false}\n"
+				+ "\n"
+				+ "{bozuk json\n"
+				+ "{\"baslik\":\"Saatleri Ayarlama Enstitüsü\",\"yazar\":\"Tanpınar\",\"isbn\":\"666\"}\n";
+
+		IceAktarmaRaporu rapor = kitapIceAktarmaService.iceAktar(KitapDisaAktarmaService.Bicim.NDJSON,
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(3, rapor.getOkunanKayit());
+		assertEquals(2, rapor.getEklenenKayit());
+		assertEquals(3, rapor.getReddedilenler().get(0).getSatir());
+		assertEquals(3, kitapRepository.count());
+		assertTrue(kitapRepository.findByIsbn("555").orElseThrow().isMevcut()); // "mevcut" alanı yok sayılır
+	}
+}
@@ -0,0 +1,106 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+// ISBN önbelleğinin negatif kayıtları tuttuğunu ve kitap ekleme, ödünç/iade ve
+// silme sonrasında eski sonucu döndürmediğini doğrular. Okuma ile eşzamanlı
+// commit edilen bir değişikliğin, okunan eski hali önbellekte bırakmadığını da
+// doğrular.
+// Spy bean ayrı bir uygulama bağlamı başlattığından kendi veritabanını kullanır:
+// ortak veritabanında create-drop şemayı (ve sequence'leri) diğer bağlamların
+// altından sıfırlar, bellekteki ID blokları çakışırdı.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:isbn-onbellek;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+class KitapServiceIsbnOnbellekTest {
+
+	private static final String ISBN = "OB-978-0001";
+	private static final String YARIS_ISBN = "OB-978-0002";
+
+	@Autowired
+	private KitapService kitapService;
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@MockitoSpyBean
+	private KitapRepository kitapRepository;
+
+	@Test
+	@DisplayName("ISBN Önbelleği - Negatif kayıt eklemeyle, stok kaydı ödünç/iade ile temizlenmeli")
+	void testIsbnOnbellegiTemizleme() {
+		// Bulunamayan ISBN önbelleğe "yok" olarak yazılır ve tekrar sorgulanır.
+		assertTrue(kitapService.kitapBulByIsbn(ISBN).isEmpty());
+		assertTrue(kitapService.kitapBulByIsbn(ISBN).isEmpty());
+
+		Kitap kitap = new Kitap();
+		kitap.setBaslik("Önbellek Kitabı");
+		kitap.setYazar("Yazar");
+		kitap.setIsbn(ISBN);
+		kitap = kitapService.kitapEkle(kitap);
+		assertTrue(kitapService.kitapBulByIsbn(ISBN).orElseThrow().isMevcut());
+
+		Personel personel = kullaniciRepository
+				.save(new Personel("Önbellek Personel", "onbellek.isbn@kutuphane.com", null, "Test"));
+		Odunc odunc = oduncService.kitapOduncVer(personel.getId(), kitap.getId());
+		assertFalse(kitapService.kitapBulByIsbn(ISBN).orElseThrow().isMevcut());
+
+		oduncService.kitapIadeAl(odunc.getId());
+		assertTrue(kitapService.kitapBulByIsbn(ISBN).orElseThrow().isMevcut());
+
+		kitapService.kitapSil(kitap.getId());
+		assertTrue(kitapService.kitapBulByIsbn(ISBN).isEmpty());
+	}
+
+	@Test
+	@DisplayName("ISBN Önbelleği - Okuma sırasında commit edilen ödünç, eski stok durumunu önbellekte bırakmamalı")
+	void testEszamanliDegisiklikEskiHaliOnbellegeYazmaz() {
+		Kitap kitap = new Kitap();
+		kitap.setBaslik("Yarış Kitabı");
+		kitap.setYazar("Yazar");
+		kitap.setIsbn(YARIS_ISBN);
+		Long kitapId = kitapService.kitapEkle(kitap).getId();
+		Personel personel = kullaniciRepository
+				.save(new Personel("Yarış Personel", "yaris.isbn@kutuphane.com", null, "Test"));
+
+		// Okuma "mevcut" hali gördükten sonra, sonuç önbelleğe yazılmadan önce
+		// başka bir thread kitabı ödünç verir (commit ve önbellek atma biter).
+		// (Repository proxy'sinin gerçek metodu çağrılamadığından okuma aynı
+		// transaction'daki EntityManager ile yapılır.)
+		doAnswer(cagri -> {
+			Optional<Kitap> okunan = isbnIleOku();
+			CompletableFuture.runAsync(() -> oduncService.kitapOduncVer(personel.getId(), kitapId)).join();
+			return okunan;
+		}).doAnswer(cagri -> isbnIleOku()).when(kitapRepository).findByIsbn(YARIS_ISBN);
+
+		assertTrue(kitapService.kitapBulByIsbn(YARIS_ISBN).orElseThrow().isMevcut()); // Okunduğu anki hal
+		assertFalse(kitapService.kitapBulByIsbn(YARIS_ISBN).orElseThrow().isMevcut());
+	}
+
+	private Optional<Kitap> isbnIleOku() {
+		return entityManager.createQuery("SELECT k FROM Kitap k WHERE k.isbn = :isbn", Kitap.class)
+				.setParameter("isbn", YARIS_ISBN).getResultStream().findFirst();
+	}
+}
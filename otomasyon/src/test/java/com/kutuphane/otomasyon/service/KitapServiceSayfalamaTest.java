@@ -0,0 +1,141 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.dto.KitapSayfasi;
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.model.Kitap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Keyset sayfalamanın sayfa sınırlarında kayıt atlamadan/tekrarlamadan devam
+// ettiğini, son sayfada devam anahtarı dönmediğini, mevcut/yazar filtrelerini
+// uyguladığını ve geçersiz devam anahtarı ile boyutu 400 ile reddettiğini doğrular.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KitapServiceSayfalamaTest {
+
+	// Diğer testlerin kitaplarından ayırmak için bu teste özgü yazar
+	private static final String YAZAR = "Sayfalama Yazarı";
+
+	@Autowired
+	private KitapService kitapService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final List<Long> kitapIdleri = new ArrayList<>(); // Eklenme (ID) sırasıyla
+
+	@BeforeEach
+	void kitaplariEkle() {
+		// 2. ve 4. kitaplar ödünçte (mevcut=false)
+		for (int i = 1; i <= 5; i++) {
+			Kitap kitap = new Kitap();
+			kitap.setBaslik("Sayfa Kitabı " + i);
+			kitap.setYazar(YAZAR);
+			kitap.setIsbn("SAYFA-" + i);
+			kitap.setMevcut(i % 2 == 1);
+			kitapIdleri.add(kitapService.kitapEkle(kitap).getId());
+		}
+	}
+
+	@AfterEach
+	void kitaplariSil() {
+		kitapIdleri.forEach(kitapService::kitapSil); // Arama indeksi ve önbellekler de temizlenir
+	}
+
+	@Test
+	@DisplayName("Keyset Sayfalama - Sayfalar sınırda atlamadan devam etmeli, son sayfada devam anahtarı olmamalı")
+	void testSayfaSinirlari() {
+		KitapSayfasi ilk = kitapService.kitapSayfasiGetir(null, 2, null, YAZAR);
+		assertEquals(kitapIdleri.subList(0, 2), idler(ilk));
+		assertNotNull(ilk.getDevam());
+
+		KitapSayfasi ikinci = kitapService.kitapSayfasiGetir(ilk.getDevam(), 2, null, YAZAR);
+		assertEquals(kitapIdleri.subList(2, 4), idler(ikinci));
+		assertNotNull(ikinci.getDevam());
+
+		KitapSayfasi son = kitapService.kitapSayfasiGetir(ikinci.getDevam(), 2, null, YAZAR);
+		assertEquals(kitapIdleri.subList(4, 5), idler(son));
+		assertNull(son.getDevam());
+		assertTrue(son.isSonSayfa());
+
+		// Kalan kayıt sayısı sayfa boyutuna tam eşitse de son sayfadır.
+		KitapSayfasi tam = kitapService.kitapSayfasiGetir(null, 5, null, YAZAR);
+		assertEquals(kitapIdleri, idler(tam));
+		assertNull(tam.getDevam());
+	}
+
+	@Test
+	@DisplayName("Keyset Sayfalama - mevcut ve yazar filtreleri tek başına ve birlikte uygulanmalı")
+	void testFiltreler() {
+		KitapSayfasi odunctekiler = kitapService.kitapSayfasiGetir(null, 1, false, YAZAR);
+		assertEquals(List.of(kitapIdleri.get(1)), idler(odunctekiler));
+		odunctekiler = kitapService.kitapSayfasiGetir(odunctekiler.getDevam(), 1, false, YAZAR);
+		assertEquals(List.of(kitapIdleri.get(3)), idler(odunctekiler));
+		assertNull(odunctekiler.getDevam());
+
+		assertEquals(List.of(kitapIdleri.get(0), kitapIdleri.get(2), kitapIdleri.get(4)),
+				idler(kitapService.kitapSayfasiGetir(null, 10, true, YAZAR)));
+
+		// Yalnızca mevcut filtresi: diğer testlerin kitapları da gelebilir.
+		List<Kitap> tumOdunctekiler = new ArrayList<>();
+		String devam = null;
+		do {
+			KitapSayfasi sayfa = kitapService.kitapSayfasiGetir(devam, 500, false, null);
+			tumOdunctekiler.addAll(sayfa.getKitaplar());
+			devam = sayfa.getDevam();
+		} while (devam != null);
+		assertTrue(tumOdunctekiler.stream().noneMatch(Kitap::isMevcut));
+		List<Long> idSirasi = tumOdunctekiler.stream().map(Kitap::getId).toList();
+		assertEquals(idSirasi.stream().sorted().toList(), idSirasi);
+		assertTrue(idSirasi.containsAll(List.of(kitapIdleri.get(1), kitapIdleri.get(3))));
+
+		// Yalnızca yazar filtresi; boşluktan oluşan yazar filtre sayılmaz.
+		assertEquals(kitapIdleri, idler(kitapService.kitapSayfasiGetir(null, 10, null, YAZAR)));
+		assertFalse(kitapService.kitapSayfasiGetir(null, 10, null, " ").getKitaplar().isEmpty());
+	}
+
+	@Test
+	@DisplayName("Keyset Sayfalama - Geçersiz devam anahtarı ve sayfa boyutu 400 ile reddedilmeli")
+	void testGecersizIstekler() throws Exception {
+		// Base64 olmayan, önek sürümü farklı ve sayısal olmayan anahtarlar
+		for (String devam : List.of("%%%", anahtar("k2:5"), anahtar("k1:abc"), anahtar("5"))) {
+			assertThrows(IsKuraliException.class, () -> kitapService.kitapSayfasiGetir(devam, 2, null, YAZAR),
+					devam);
+		}
+		assertThrows(IsKuraliException.class, () -> kitapService.kitapSayfasiGetir(null, 0, null, YAZAR));
+		assertThrows(IsKuraliException.class, () -> kitapService.kitapSayfasiGetir(null, -1, null, YAZAR));
+
+		mockMvc.perform(get("/api/kitaplar/sayfa").param("devam", anahtar("k2:5"))
+				.with(httpBasic("user", "sifre")))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/kitaplar/sayfa").param("boyut", "0")
+				.with(httpBasic("user", "sifre")))
+				.andExpect(status().isBadRequest());
+	}
+
+	private static List<Long> idler(KitapSayfasi sayfa) {
+		return sayfa.getKitaplar().stream().map(Kitap::getId).toList();
+	}
+
+	private static String anahtar(String ham) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(ham.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,56 @@
+package com.kutuphane.otomasyon.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kutuphane.otomasyon.config.OnbellekConfig;
+import com.kutuphane.otomasyon.model.Kullanici;
+import com.kutuphane.otomasyon.model.Uye;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Kullanıcı önbelleğinin okumaları karşıladığını ve güncelleme/silme
+// sonrasında eski kaydı döndürmediğini doğrular.
+@SpringBootTest
+@ActiveProfiles("test")
+class KullaniciServiceOnbellekTest {
+
+	@Autowired
+	private KullaniciService kullaniciService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	@DisplayName("Kullanıcı Önbelleği - Tekrarlanan okuma isabet etmeli, güncelleme ve silme önbelleği temizlemeli")
+	void testOnbellekIsabetVeTemizleme() {
+		Uye uye = kullaniciService.kullaniciEkle(new Uye("Önbellek Üye", "onbellek@mail.com", "OB-1"));
+		Long id = uye.getId();
+		CacheStats once = istatistik();
+
+		kullaniciService.kullaniciBulById(id); // Iskalama: veritabanından yüklenir
+		Kullanici ikinci = kullaniciService.kullaniciBulById(id).orElseThrow(); // İsabet
+		assertEquals(1, istatistik().minus(once).hitCount());
+		assertEquals(1, istatistik().minus(once).missCount());
+
+		// Güncelleme, KullaniciController'daki akışla aynı şekilde yapılır.
+		Uye guncellenecek = (Uye) ikinci;
+		guncellenecek.setAdSoyad("Yeni Ad");
+		kullaniciService.kullaniciEkle(guncellenecek);
+		assertEquals("Yeni Ad", kullaniciService.kullaniciBulById(id).orElseThrow().getAdSoyad());
+		assertEquals(2, istatistik().minus(once).missCount()); // Güncelleme sonrası tekrar yüklendi
+
+		kullaniciService.kullaniciSil(id);
+		assertTrue(kullaniciService.kullaniciBulById(id).isEmpty());
+	}
+
+	private CacheStats istatistik() {
+		CaffeineCache cache = (CaffeineCache) cacheManager.getCache(OnbellekConfig.KULLANICILAR);
+		return cache.getNativeCache().stats();
+	}
+}
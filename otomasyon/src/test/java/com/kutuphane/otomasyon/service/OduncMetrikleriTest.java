@@ -0,0 +1,88 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.exception.KaynakBulunamadiException;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Uye;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Ödünç/iade zamanlayıcılarının sonuçlara göre etiketlendiğini ve
+// göstergelerin veritabanındaki sayılarla aynı olduğunu doğrular.
+@SpringBootTest
+@ActiveProfiles("test")
+class OduncMetrikleriTest {
+
+	@Autowired
+	private OduncMetrikleri oduncMetrikleri;
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("Ödünç Metrikleri - Süreler sonuca göre etiketlenmeli, göstergeler güncel olmalı")
+	void testSonucEtiketleriVeGostergeler() {
+		Uye uye = kullaniciRepository.save(new Uye("Metrik Üye", "metrik@mail.com", "MET-1"));
+		Long[] kitaplar = new Long[4];
+		for (int i = 0; i < kitaplar.length; i++) {
+			Kitap kitap = new Kitap();
+			kitap.setBaslik("Metrik Kitabı " + i);
+			kitap.setYazar("Yazar");
+			kitap.setIsbn("MET-" + i);
+			kitaplar[i] = kitapRepository.save(kitap).getId();
+		}
+
+		Odunc odunc = ver(uye.getId(), kitaplar[0]);
+		assertThrows(IsKuraliException.class, () -> ver(uye.getId(), kitaplar[0])); // Stokta yok
+		assertThrows(KaynakBulunamadiException.class, () -> ver(uye.getId(), -1L));
+		ver(uye.getId(), kitaplar[1]);
+		ver(uye.getId(), kitaplar[2]);
+		assertThrows(IsKuraliException.class, () -> ver(uye.getId(), kitaplar[3])); // Üye limiti 3
+
+		oduncMetrikleri.olc(OduncMetrikleri.IADE_AL, () -> oduncService.kitapIadeAl(odunc.getId()));
+		assertThrows(IsKuraliException.class,
+				() -> oduncMetrikleri.olc(OduncMetrikleri.IADE_AL, () -> oduncService.kitapIadeAl(odunc.getId())));
+
+		assertEquals(3, sayi(OduncMetrikleri.ODUNC_VER, "basarili"));
+		assertEquals(1, sayi(OduncMetrikleri.ODUNC_VER, "stokta_yok"));
+		assertEquals(1, sayi(OduncMetrikleri.ODUNC_VER, "bulunamadi"));
+		assertEquals(1, sayi(OduncMetrikleri.ODUNC_VER, "limit_dolu"));
+		assertEquals(1, sayi(OduncMetrikleri.IADE_AL, "basarili"));
+		assertEquals(1, sayi(OduncMetrikleri.IADE_AL, "zaten_iade_edilmis"));
+
+		assertEquals(kullaniciRepository.toplamAktifOduncSayisi(),
+				meterRegistry.get("kutuphane.odunc.aktif").gauge().value());
+		assertEquals(kitapRepository.countByMevcutFalse(),
+				meterRegistry.get("kutuphane.kitap.rafta.olmayan").gauge().value());
+		// Repository metotları da Spring Data metrikleriyle ölçülmeli.
+		assertFalse(meterRegistry.find("spring.data.repository.invocations").timers().isEmpty());
+	}
+
+	private Odunc ver(Long kullaniciId, Long kitapId) {
+		return oduncMetrikleri.olc(OduncMetrikleri.ODUNC_VER, () -> oduncService.kitapOduncVer(kullaniciId, kitapId));
+	}
+
+	private long sayi(String metrik, String sonuc) {
+		Timer timer = meterRegistry.find(metrik).tag("sonuc", sonuc).timer();
+		return timer == null ? 0 : timer.count();
+	}
+}
@@ -0,0 +1,131 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.exception.IsKuraliException;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import com.kutuphane.otomasyon.repository.OduncRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Aynı kitaplar için yüzlerce thread'in eşzamanlı ödünç alıp iade ettiği
+// yük testi. Gerçek bir veritabanı (H2) üzerinde çift ödünç oluşmadığını
+// doğrular ve ulaşılan işlem hızını yazdırır.
+@SpringBootTest
+@ActiveProfiles("test")
+class OduncServiceEszamanlilikTest {
+
+	private static final int THREAD_SAYISI = 200;
+	private static final int THREAD_BASINA_ISLEM = 10;
+	private static final int KITAP_SAYISI = 20; // Az kitap = yüksek çakışma
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Autowired
+	private OduncRepository oduncRepository;
+
+	private final List<Long> kitapIdleri = new ArrayList<>();
+	private final List<Long> kullaniciIdleri = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		oduncRepository.deleteAll();
+		kitapRepository.deleteAll();
+		kullaniciRepository.deleteAll();
+
+		for (int i = 0; i < KITAP_SAYISI; i++) {
+			Kitap kitap = new Kitap();
+			kitap.setBaslik("Kitap " + i);
+			kitap.setYazar("Yazar " + i);
+			kitap.setIsbn("ES-" + i);
+			kitapIdleri.add(kitapRepository.save(kitap).getId());
+		}
+		// Her thread kendi kullanıcısıyla çalışır (limit çakışmaları testin konusu değil).
+		for (int i = 0; i < THREAD_SAYISI; i++) {
+			Personel personel = new Personel("Personel " + i, "p" + i + "@kutuphane.com", "S" + i, "Test");
+			kullaniciIdleri.add(kullaniciRepository.save(personel).getId());
+		}
+	}
+
+	@Test
+	@DisplayName("Eşzamanlı ödünç alma işlemlerinde aynı kitap iki kişiye verilmez")
+	void eszamanliOduncAlma_CiftOduncOlusmaz() throws InterruptedException {
+		// Her kitabı o an elinde tutan thread sayısı; 1'i geçerse çift ödünç vardır.
+		AtomicIntegerArray eldekiler = new AtomicIntegerArray(KITAP_SAYISI);
+		AtomicInteger ciftOdunc = new AtomicInteger();
+		AtomicInteger basarili = new AtomicInteger();
+		AtomicInteger reddedilen = new AtomicInteger();
+		AtomicInteger beklenmedik = new AtomicInteger();
+
+		ExecutorService havuz = Executors.newFixedThreadPool(THREAD_SAYISI);
+		CountDownLatch baslat = new CountDownLatch(1);
+
+		for (int t = 0; t < THREAD_SAYISI; t++) {
+			Long kullaniciId = kullaniciIdleri.get(t);
+			havuz.submit(() -> {
+				baslat.await();
+				for (int i = 0; i < THREAD_BASINA_ISLEM; i++) {
+					int sira = ThreadLocalRandom.current().nextInt(KITAP_SAYISI);
+					try {
+						Odunc odunc = oduncService.kitapOduncVer(kullaniciId, kitapIdleri.get(sira));
+						basarili.incrementAndGet();
+						if (eldekiler.incrementAndGet(sira) > 1) {
+							ciftOdunc.incrementAndGet();
+						}
+						// Kitap bırakılmadan önce sayaç düşürülür; iade commit edilmeden
+						// başka bir thread kitabı alamaz.
+						eldekiler.decrementAndGet(sira);
+						oduncService.kitapIadeAl(odunc.getId());
+					} catch (IsKuraliException e) {
+						reddedilen.incrementAndGet(); // Kitap başkasında (beklenen durum)
+					} catch (RuntimeException e) {
+						beklenmedik.incrementAndGet();
+					}
+				}
+				return null;
+			});
+		}
+
+		baslat.countDown();
+		havuz.shutdown();
+		assertTrue(havuz.awaitTermination(5, TimeUnit.MINUTES), "Yük testi zamanında bitmedi.");
+
+		assertEquals(0, ciftOdunc.get(), "Aynı kitap eşzamanlı olarak iki kullanıcıya verildi.");
+		assertEquals(0, beklenmedik.get(), "Beklenmedik hata oluştu.");
+		assertTrue(basarili.get() > 0);
+
+		// Tüm kitaplar iade edildi; veritabanında açık ödünç ve rafta olmayan kitap kalmamalı.
+		for (Long kitapId : kitapIdleri) {
+			assertTrue(kitapRepository.findById(kitapId).orElseThrow().isMevcut());
+		}
+		assertEquals(basarili.get(), oduncRepository.count());
+		assertTrue(oduncRepository.findAll().stream().allMatch(o -> o.getTeslimTarihi() != null));
+		// Aktif ödünç sayaçları da sıfıra dönmüş olmalı.
+		assertTrue(kullaniciRepository.findAll().stream().allMatch(k -> k.getAktifOduncSayisi() == 0));
+	}
+}
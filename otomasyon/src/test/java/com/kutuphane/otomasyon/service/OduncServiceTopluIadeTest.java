@@ -0,0 +1,167 @@
+package com.kutuphane.otomasyon.service;
+
+import com.kutuphane.otomasyon.dto.TopluIslemSonucu;
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Odunc;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import com.kutuphane.otomasyon.repository.OduncRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Toplu iadenin (küme tabanlı UPDATE'ler, IN parçalama ve JDBC batch ile sayaç
+// azaltma) gerçek bir veritabanı (H2) üzerinde kayıtları, stok durumlarını ve
+// kullanıcı sayaçlarını doğru güncellediğini doğrular.
+@SpringBootTest
+@ActiveProfiles("test")
+class OduncServiceTopluIadeTest {
+
+	@Autowired
+	private OduncService oduncService;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Autowired
+	private OduncRepository oduncRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		oduncRepository.deleteAll();
+		kitapRepository.deleteAll();
+		kullaniciRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("Toplu İade - Geçerli, bilinmeyen, zaten iade edilmiş ve tekrarlanan kalemler ayrı sonuç almalı, sayaçlar doğru düşmeli")
+	void testKarisikKalemler() {
+		Long ayse = personel("ayse").getId();
+		Long mehmet = personel("mehmet").getId();
+		Odunc a1 = oduncService.kitapOduncVer(ayse, kitap("TI-A1").getId());
+		Odunc a2 = oduncService.kitapOduncVer(ayse, kitap("TI-A2").getId());
+		Odunc a3 = oduncService.kitapOduncVer(ayse, kitap("TI-A3").getId());
+		Odunc a4 = oduncService.kitapOduncVer(ayse, kitap("TI-A4").getId());
+		Odunc m1 = oduncService.kitapOduncVer(mehmet, kitap("TI-M1").getId());
+		oduncService.kitapIadeAl(a4.getId()); // Daha önce iade edilmiş
+		assertEquals(3, sayac(ayse));
+
+		List<TopluIslemSonucu> sonuclar = oduncService.topluIadeAl(
+				List.of(a1.getId(), -1L, a4.getId(), a2.getId(), m1.getId(), a1.getId()));
+
+		assertEquals(5, sonuclar.size()); // Tekrarlanan a1 bir kez işlenir
+		assertEquals(List.of(String.valueOf(a1.getId()), "-1", String.valueOf(a4.getId()),
+				String.valueOf(a2.getId()), String.valueOf(m1.getId())),
+				sonuclar.stream().map(TopluIslemSonucu::getReferans).toList()); // İstek sırası
+		assertEquals(List.of(true, false, false, true, true),
+				sonuclar.stream().map(TopluIslemSonucu::isBasarili).toList());
+
+		assertEquals(1, sayac(ayse)); // a1 ve a2 iade edildi; a3 hâlâ onda, a4 ikinci kez düşülmedi
+		assertEquals(0, sayac(mehmet));
+		assertTrue(kitapRepository.findByIsbn("TI-A1").orElseThrow().isMevcut());
+		assertFalse(kitapRepository.findByIsbn("TI-A3").orElseThrow().isMevcut());
+		assertNotNull(oduncRepository.findById(a2.getId()).orElseThrow().getTeslimTarihi());
+		assertNull(oduncRepository.findById(a3.getId()).orElseThrow().getTeslimTarihi());
+	}
+
+	@Test
+	@DisplayName("Toplu İade (ISBN) - Tekrarlanan ISBN bir kez iade edilmeli, açık ödüncü olmayan ISBN reddedilmeli")
+	void testTekrarlananIsbnler() {
+		Long ayse = personel("ayse").getId();
+		oduncService.kitapOduncVer(ayse, kitap("TI-B1").getId());
+		oduncService.kitapOduncVer(ayse, kitap("TI-B2").getId());
+		kitap("TI-RAFTA"); // Ödünçte değil
+
+		List<TopluIslemSonucu> sonuclar = oduncService.topluIadeAlIsbn(
+				List.of("TI-B1", "TI-B1", "TI-RAFTA", "TI-YOK", "TI-B1"));
+
+		assertEquals(3, sonuclar.size());
+		assertEquals(List.of(true, false, false), sonuclar.stream().map(TopluIslemSonucu::isBasarili).toList());
+		assertEquals(1, sayac(ayse));
+		assertEquals(1, oduncRepository.findAll().stream().filter(o -> o.getTeslimTarihi() == null).count());
+	}
+
+	@Test
+	@DisplayName("Toplu İade - 500'den fazla kalem IN parçalarına bölünerek eksiksiz iade edilmeli")
+	void testParcalama() {
+		int adet = 520; // IN_PARCA_BOYUTU (500) üstü
+		Long ayse = personel("ayse").getId();
+		Long mehmet = personel("mehmet").getId();
+		List<Odunc> idIle = oduncOlustur("TP-ID-", adet, ayse, mehmet);
+		List<Odunc> isbnIle = oduncOlustur("TP-ISBN-", adet, ayse, mehmet);
+		assertEquals(adet, sayac(ayse));
+		assertEquals(adet, sayac(mehmet));
+
+		List<TopluIslemSonucu> sonuclar = oduncService.topluIadeAl(idIle.stream().map(Odunc::getId).toList());
+		assertEquals(adet, sonuclar.stream().filter(TopluIslemSonucu::isBasarili).count());
+		assertEquals(adet / 2, sayac(ayse));
+		assertEquals(adet / 2, sayac(mehmet));
+
+		sonuclar = oduncService.topluIadeAlIsbn(isbnIle.stream().map(o -> o.getKitap().getIsbn()).toList());
+		assertEquals(adet, sonuclar.stream().filter(TopluIslemSonucu::isBasarili).count());
+		assertEquals(0, sayac(ayse));
+		assertEquals(0, sayac(mehmet));
+
+		assertEquals(0, kitapRepository.countByMevcutFalse());
+		assertTrue(oduncRepository.findAll().stream().allMatch(o -> o.getTeslimTarihi() != null));
+	}
+
+	// Verilen sayıda açık ödünç kaydını, limit kontrolüne takılmadan ve
+	// kullanıcılar arasında sırayla paylaştırarak doğrudan oluşturur.
+	private List<Odunc> oduncOlustur(String isbnOneki, int adet, Long... kullaniciIdleri) {
+		return new TransactionTemplate(transactionManager).execute(durum -> {
+			List<Odunc> oduncler = new ArrayList<>(adet);
+			for (int i = 0; i < adet; i++) {
+				Kitap kitap = new Kitap();
+				kitap.setBaslik("Parça " + i);
+				kitap.setYazar("Yazar");
+				kitap.setIsbn(isbnOneki + i);
+				kitap.setMevcut(false);
+				Long kullaniciId = kullaniciIdleri[i % kullaniciIdleri.length];
+				Odunc odunc = new Odunc();
+				odunc.setKitap(kitapRepository.save(kitap));
+				odunc.setKullanici(kullaniciRepository.getReferenceById(kullaniciId));
+				odunc.setOduncTarihi(LocalDate.now());
+				oduncler.add(odunc);
+			}
+			for (Long kullaniciId : kullaniciIdleri) {
+				kullaniciRepository.aktifOduncEkle(kullaniciId, adet / kullaniciIdleri.length, Integer.MAX_VALUE);
+			}
+			return oduncRepository.saveAll(oduncler);
+		});
+	}
+
+	private Personel personel(String ad) {
+		return kullaniciRepository.save(new Personel(ad, ad + ".toplu@kutuphane.com", null, "Test"));
+	}
+
+	private Kitap kitap(String isbn) {
+		Kitap kitap = new Kitap();
+		kitap.setBaslik("Kitap " + isbn);
+		kitap.setYazar("Yazar");
+		kitap.setIsbn(isbn);
+		return kitapRepository.save(kitap);
+	}
+
+	private int sayac(Long kullaniciId) {
+		return kullaniciRepository.aktifOduncSayisiGetir(kullaniciId);
+	}
+}
@@ -0,0 +1,103 @@
+package com.kutuphane.otomasyon.yuk;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Bir endpoint için toplanan gecikme örneklerinden yüzdelik değerleri ve
+// metin tabanlı bir histogram üretir. Örnekler mikrosaniye cinsindendir; her
+// iş parçacığı kendi kaydedicisine yazar, sonuçlar test sonunda birleştirilir.
+class GecikmeRaporu {
+
+	// Histogram kova üst sınırları (milisaniye)
+	private static final long[] KOVA_SINIRLARI_MS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+	private static final int CUBUK_GENISLIGI = 40;
+
+	private final String ad;
+	private long[] ornekler = new long[1024];
+	private int adet;
+	private long basarili;
+	private long isKurali; // 4xx: stok/limit çakışması gibi beklenen retler
+	private long hatali; // 5xx ve bağlantı hataları
+
+	GecikmeRaporu(String ad) {
+		this.ad = ad;
+	}
+
+	void kaydet(long mikrosaniye, int durumKodu) {
+		if (adet == ornekler.length) {
+			ornekler = Arrays.copyOf(ornekler, adet * 2);
+		}
+		ornekler[adet++] = mikrosaniye;
+		if (durumKodu >= 200 && durumKodu < 300) {
+			basarili++;
+		} else if (durumKodu >= 400 && durumKodu < 500) {
+			isKurali++;
+		} else {
+			hatali++;
+		}
+	}
+
+	void birlestir(GecikmeRaporu diger) {
+		for (int i = 0; i < diger.adet; i++) {
+			if (adet == ornekler.length) {
+				ornekler = Arrays.copyOf(ornekler, adet * 2);
+			}
+			ornekler[adet++] = diger.ornekler[i];
+		}
+		basarili += diger.basarili;
+		isKurali += diger.isKurali;
+		hatali += diger.hatali;
+	}
+
+	long getHatali() {
+		return hatali;
+	}
+
+	long getAdet() {
+		return adet;
+	}
+
+	String yazdir(double sureSn) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "%n== %s ==%n", ad));
+		if (adet == 0) {
+			return sb.append("  (istek yok)\n").toString();
+		}
+		long[] sirali = Arrays.copyOf(ornekler, adet);
+		Arrays.sort(sirali);
+		sb.append(String.format(Locale.ROOT,
+				"  istek: %d (2xx: %d, 4xx: %d, hata: %d)  verim: %.1f istek/sn%n", adet, basarili, isKurali,
+				hatali, adet / sureSn));
+		sb.append(String.format(Locale.ROOT,
+				"  gecikme (ms)  p50: %.2f  p90: %.2f  p99: %.2f  p99.9: %.2f  en fazla: %.2f%n",
+				yuzdelik(sirali, 50) / 1000.0, yuzdelik(sirali, 90) / 1000.0, yuzdelik(sirali, 99) / 1000.0,
+				yuzdelik(sirali, 99.9) / 1000.0, sirali[adet - 1] / 1000.0));
+
+		long[] kovalar = new long[KOVA_SINIRLARI_MS.length + 1];
+		for (long ornek : sirali) {
+			int k = 0;
+			while (k < KOVA_SINIRLARI_MS.length && ornek > KOVA_SINIRLARI_MS[k] * 1000) {
+				k++;
+			}
+			kovalar[k]++;
+		}
+		long enBuyuk = Arrays.stream(kovalar).max().orElse(1);
+		long onceki = 0;
+		for (int k = 0; k < kovalar.length; k++) {
+			String etiket = k < KOVA_SINIRLARI_MS.length ? onceki + "-" + KOVA_SINIRLARI_MS[k] + " ms"
+					: "> " + onceki + " ms";
+			int cubuk = (int) (kovalar[k] * CUBUK_GENISLIGI / enBuyuk);
+			sb.append(String.format(Locale.ROOT, "  %12s | %-" + CUBUK_GENISLIGI + "s %d%n", etiket,
+					"#".repeat(cubuk), kovalar[k]));
+			if (k < KOVA_SINIRLARI_MS.length) {
+				onceki = KOVA_SINIRLARI_MS[k];
+			}
+		}
+		return sb.toString();
+	}
+
+	private long yuzdelik(long[] sirali, double yuzde) {
+		int sira = (int) Math.ceil(yuzde / 100.0 * sirali.length) - 1;
+		return sirali[Math.max(0, Math.min(sira, sirali.length - 1))];
+	}
+}
@@ -0,0 +1,307 @@
+package com.kutuphane.otomasyon.yuk;
+
+import com.kutuphane.otomasyon.model.Kitap;
+import com.kutuphane.otomasyon.model.Kullanici;
+import com.kutuphane.otomasyon.model.Personel;
+import com.kutuphane.otomasyon.repository.KitapRepository;
+import com.kutuphane.otomasyon.repository.KullaniciRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.ObjectMapper;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Uygulamayı gömülü H2 (SQL Server modu) ile gerçek bir HTTP portunda başlatıp
+// GET /api/kitaplar, POST /api/odunc/ver ve PUT /api/odunc/iade/{id}
+// endpoint'lerine karışık yük uygular; verim ve gecikme histogramını yazdırır.
+// İstekler SecurityConfig'teki HTTP Basic kimlik doğrulamasından geçer.
+//
+// Varsayılan "mvn test" çalıştırmasına dahil değildir:
+//   mvn -B test -Pyuk-testi -Dyuk.sure=60s -Dyuk.eszamanlilik=64 -Dyuk.okuma-orani=0.7
+//
+// Sanal iş parçacığı modunu (application-sanal.properties) platform iş
+// parçacıklarıyla karşılaştırmak için aynı yük Java 21 ile iki kez çalıştırılır;
+// rapordaki tepe iş parçacığı ve heap değerleri iki modun bellek maliyetini verir:
+//   mvn -B test -Pyuk-testi -Dyuk.eszamanlilik=400
+//   mvn -B test -Pyuk-testi -Dyuk.eszamanlilik=400 -Dspring.threads.virtual.enabled=true \
+//       -Dkutuphane.jdbc.eszamanlilik-siniri.aktif=true
+@Tag("yuk")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("yuk")
+class HttpYukTest {
+
+	private static final int KISI_BASI_EN_FAZLA_ACIK_ODUNC = 3;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private KitapRepository kitapRepository;
+
+	@Autowired
+	private KullaniciRepository kullaniciRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${yuk.sure}")
+	private Duration sure;
+
+	@Value("${yuk.isinma}")
+	private Duration isinma;
+
+	@Value("${yuk.eszamanlilik}")
+	private int eszamanlilik;
+
+	@Value("${yuk.kitap-sayisi}")
+	private int kitapSayisi;
+
+	@Value("${yuk.okuma-orani}")
+	private double okumaOrani;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean sanalIsParcacigi;
+
+	@Value("${yuk.kullanici:admin}")
+	private String kullaniciAdi;
+
+	@Value("${yuk.sifre:123456}")
+	private String sifre;
+
+	private HttpClient httpClient;
+	private String yetki;
+	private final List<Long> kitapIdleri = new ArrayList<>();
+	private final List<Long> kullaniciIdleri = new ArrayList<>();
+
+	@Test
+	@DisplayName("HTTP Yük Testi - Karışık okuma/ödünç/iade yükü altında sunucu hatası oluşmamalı")
+	void karisikYuk() throws Exception {
+		verileriHazirla();
+		httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		yetki = "Basic " + Base64.getEncoder()
+				.encodeToString((kullaniciAdi + ":" + sifre).getBytes(StandardCharsets.UTF_8));
+
+		System.out.printf("%nYük testi: %d eşzamanlı istemci, ısınma %s, ölçüm %s, %d kitap, okuma oranı %.2f%n",
+				eszamanlilik, isinma, sure, kitapSayisi, okumaOrani);
+		calistir(isinma); // Isınma turu; sonuçları atılır (JIT, bağlantı havuzu, önbellekler)
+		KaynakOlcumu kaynak = new KaynakOlcumu();
+		Sonuc sonuc = calistir(sure);
+		kaynak.bitir();
+
+		double sureSn = sure.toMillis() / 1000.0;
+		StringBuilder rapor = new StringBuilder("\n======== HTTP YÜK TESTİ RAPORU ========");
+		long toplam = sonuc.okuma.getAdet() + sonuc.ver.getAdet() + sonuc.iade.getAdet();
+		rapor.append(String.format("%nToplam: %d istek, %.1f istek/sn%n", toplam, toplam / sureSn));
+		rapor.append(String.format("İş parçacığı modu: %s (Java %d)%n",
+				sanalIsParcacigi && Runtime.version().feature() >= 21 ? "sanal" : "platform",
+				Runtime.version().feature()));
+		rapor.append(kaynak.yazdir());
+		rapor.append(sonuc.okuma.yazdir(sureSn));
+		rapor.append(sonuc.ver.yazdir(sureSn));
+		rapor.append(sonuc.iade.yazdir(sureSn));
+		System.out.println(rapor);
+
+		assertTrue(toplam > 0, "Hiç istek tamamlanamadı.");
+		assertEquals(0, sonuc.okuma.getHatali() + sonuc.ver.getHatali() + sonuc.iade.getHatali(),
+				"Sunucu hatası (5xx) veya bağlantı hatası alındı.");
+	}
+
+	// Katalog ve her sanal istemci için bir personel oluşturur.
+	private void verileriHazirla() {
+		nullDegerliTekilKisitlariDuzelt();
+		List<Kitap> kitaplar = new ArrayList<>(kitapSayisi);
+		for (int i = 0; i < kitapSayisi; i++) {
+			Kitap kitap = new Kitap();
+			kitap.setBaslik("Yük Kitabı " + i);
+			kitap.setYazar("Yazar " + (i % 50));
+			kitap.setIsbn("YUK-" + i);
+			kitaplar.add(kitap);
+		}
+		kitapRepository.saveAll(kitaplar).forEach(kitap -> kitapIdleri.add(kitap.getId()));
+
+		List<Kullanici> personeller = new ArrayList<>(eszamanlilik);
+		for (int i = 0; i < eszamanlilik; i++) {
+			personeller.add(new Personel("Yük Personeli " + i, "yuk" + i + "@kutuphane.com", "YUK-" + i, "Test"));
+		}
+		kullaniciRepository.saveAll(personeller).forEach(kullanici -> kullaniciIdleri.add(kullanici.getId()));
+	}
+
+	// SQL Server modunda UNIQUE sütunlarda yalnızca tek NULL'a izin verilir; tek
+	// tabloda tutulan Uye/Personel kayıtlarında uye_no/sicil_no'dan biri hep NULL
+	// olduğundan bu kısıtlar, SQL Server'daki filtreli (WHERE ... IS NOT NULL)
+	// benzersiz indekslerin karşılığı olan NULLS DISTINCT ile yeniden tanımlanır.
+	private void nullDegerliTekilKisitlariDuzelt() {
+		for (String sutun : List.of("UYE_NO", "SICIL_NO")) {
+			List<String> kisitlar = jdbcTemplate.queryForList(
+					"SELECT tc.CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc"
+							+ " JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME"
+							+ " WHERE tc.TABLE_NAME = 'KULLANICILAR' AND tc.CONSTRAINT_TYPE = 'UNIQUE'"
+							+ " AND k.COLUMN_NAME = ?",
+					String.class, sutun);
+			for (String kisit : kisitlar) {
+				jdbcTemplate.execute("ALTER TABLE kullanicilar DROP CONSTRAINT \"" + kisit + "\"");
+			}
+			jdbcTemplate.execute("ALTER TABLE kullanicilar ADD UNIQUE NULLS DISTINCT (" + sutun + ")");
+		}
+	}
+
+	// Ölçüm turu boyunca JVM'in tepe platform iş parçacığı sayısını, heap
+	// havuzlarının tepe kullanımını ve GC sayısı/süresini toplar. İstemci
+	// havuzunun iş parçacıkları (eszamanlilik kadar) her iki modda da sayılır.
+	private final class KaynakOlcumu {
+		private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		private final long gcSayisiBaslangic = gcSayisi();
+		private final long gcSuresiBaslangic = gcSuresi();
+		private int tepeIsParcacigi;
+		private long tepeHeap;
+		private long gcSayisi;
+		private long gcSuresi;
+
+		KaynakOlcumu() {
+			threadMXBean.resetPeakThreadCount();
+			heapHavuzlari().forEach(MemoryPoolMXBean::resetPeakUsage);
+		}
+
+		void bitir() {
+			tepeIsParcacigi = threadMXBean.getPeakThreadCount();
+			tepeHeap = heapHavuzlari().stream().mapToLong(havuz -> havuz.getPeakUsage().getUsed()).sum();
+			gcSayisi = gcSayisi() - gcSayisiBaslangic;
+			gcSuresi = gcSuresi() - gcSuresiBaslangic;
+		}
+
+		String yazdir() {
+			return String.format("Tepe platform iş parçacığı: %d (istemci havuzu %d dahil), tepe heap: %d MB, "
+					+ "GC: %d kez / %d ms%n", tepeIsParcacigi, eszamanlilik, tepeHeap / (1024 * 1024), gcSayisi,
+					gcSuresi);
+		}
+
+		private static List<MemoryPoolMXBean> heapHavuzlari() {
+			return ManagementFactory.getMemoryPoolMXBeans().stream()
+					.filter(havuz -> havuz.getType() == MemoryType.HEAP)
+					.toList();
+		}
+
+		private static long gcSayisi() {
+			return ManagementFactory.getGarbageCollectorMXBeans().stream()
+					.mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+		}
+
+		private static long gcSuresi() {
+			return ManagementFactory.getGarbageCollectorMXBeans().stream()
+					.mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+		}
+	}
+
+	// Verilen süre boyunca tüm sanal istemcileri çalıştırır ve sonuçlarını birleştirir.
+	private Sonuc calistir(Duration calismaSuresi) throws Exception {
+		long bitis = System.nanoTime() + calismaSuresi.toNanos();
+		ExecutorService havuz = Executors.newFixedThreadPool(eszamanlilik);
+		List<Future<Sonuc>> isler = new ArrayList<>();
+		for (int i = 0; i < eszamanlilik; i++) {
+			Long kullaniciId = kullaniciIdleri.get(i);
+			SplittableRandom rastgele = new SplittableRandom(i);
+			isler.add(havuz.submit(() -> sanalIstemci(kullaniciId, rastgele, bitis)));
+		}
+		Sonuc toplam = new Sonuc();
+		for (Future<Sonuc> is : isler) {
+			toplam.birlestir(is.get());
+		}
+		havuz.shutdown();
+		return toplam;
+	}
+
+	// Tek bir sanal istemci: okuma oranına göre kataloğu listeler, aksi halde
+	// kitap ödünç alır veya elindeki bir kitabı iade eder.
+	private Sonuc sanalIstemci(Long kullaniciId, SplittableRandom rastgele, long bitis) throws Exception {
+		Sonuc sonuc = new Sonuc();
+		List<Long> acikOduncler = new ArrayList<>();
+		while (System.nanoTime() < bitis) {
+			if (rastgele.nextDouble() < okumaOrani) {
+				istekGonder(istek("/api/kitaplar").GET(), sonuc.okuma);
+			} else if (acikOduncler.isEmpty()
+					|| (acikOduncler.size() < KISI_BASI_EN_FAZLA_ACIK_ODUNC && rastgele.nextBoolean())) {
+				Long kitapId = kitapIdleri.get(rastgele.nextInt(kitapIdleri.size()));
+				HttpResponse<String> yanit = istekGonder(
+						istek("/api/odunc/ver?kitapId=" + kitapId + "&userId=" + kullaniciId)
+								.POST(HttpRequest.BodyPublishers.noBody()),
+						sonuc.ver);
+				if (yanit != null && yanit.statusCode() / 100 == 2) {
+					acikOduncler.add(objectMapper.readTree(yanit.body()).get("id").asLong());
+				}
+			} else {
+				Long oduncId = acikOduncler.remove(acikOduncler.size() - 1);
+				istekGonder(istek("/api/odunc/iade/" + oduncId).PUT(HttpRequest.BodyPublishers.noBody()),
+						sonuc.iade);
+			}
+		}
+		// Sonraki tur temiz başlasın diye açık ödünçler ölçüm dışında iade edilir.
+		for (Long oduncId : acikOduncler) {
+			istekGonder(istek("/api/odunc/iade/" + oduncId).PUT(HttpRequest.BodyPublishers.noBody()),
+					new GecikmeRaporu("temizlik"));
+		}
+		return sonuc;
+	}
+
+	private HttpRequest.Builder istek(String yol) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + yol))
+				.header("Authorization", yetki)
+				.timeout(Duration.ofSeconds(30));
+	}
+
+	private HttpResponse<String> istekGonder(HttpRequest.Builder istek, GecikmeRaporu rapor) {
+		long baslangic = System.nanoTime();
+		try {
+			HttpResponse<String> yanit = httpClient.send(istek.build(), HttpResponse.BodyHandlers.ofString());
+			rapor.kaydet((System.nanoTime() - baslangic) / 1000, yanit.statusCode());
+			return yanit;
+		} catch (Exception e) {
+			rapor.kaydet((System.nanoTime() - baslangic) / 1000, -1);
+			return null;
+		}
+	}
+
+	// Bir istemcinin (veya birleştirilmiş tüm istemcilerin) endpoint bazında sonuçları.
+	private static final class Sonuc {
+		final GecikmeRaporu okuma = new GecikmeRaporu("GET /api/kitaplar");
+		final GecikmeRaporu ver = new GecikmeRaporu("POST /api/odunc/ver");
+		final GecikmeRaporu iade = new GecikmeRaporu("PUT /api/odunc/iade/{id}");
+
+		void birlestir(Sonuc diger) {
+			okuma.birlestir(diger.okuma);
+			ver.birlestir(diger.ver);
+			iade.birlestir(diger.iade);
+		}
+	}
+}